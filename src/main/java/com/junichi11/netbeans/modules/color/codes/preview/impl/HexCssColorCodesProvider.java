@@ -19,20 +19,27 @@ import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.HexCssColo
 import com.junichi11.netbeans.modules.color.codes.preview.impl.ui.options.HexCssOptionsPanel;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.ColorsUtils;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.HexCssColorType;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.LineLocator;
 import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodeFormatter;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodeGeneratorItem;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesPreviewOptionsPanel;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
+import javax.swing.text.Segment;
 import org.netbeans.modules.editor.NbEditorUtilities;
 import org.openide.util.NbBundle;
 import org.openide.util.lookup.ServiceProvider;
@@ -43,6 +50,9 @@ public class HexCssColorCodesProvider implements ColorCodesProvider {
     // check sass and less variables e.g. $green: #0f0;, @green: #0f0;
     private static final Pattern CSS_VARIABLE_PATTERN = Pattern.compile("(?<var>[\\$@][^ ]+)\\s*:\\s*(?<value>).+\\s*;"); // NOI18N
     private static final Pattern DEFAULT_PATTERN = Pattern.compile(ColorCodesPreviewOptions.HEX_CSS_DEFAULT_MIME_TYPE_REGEX);
+    private static final Logger LOGGER = Logger.getLogger(HexCssColorCodesProvider.class.getName());
+    // hex, rgb(a) and hsl(a)
+    private static final List<String> TRIGGERS = Arrays.asList("#", "rgb", "hsl"); // NOI18N
 
     @Override
     public String getId() {
@@ -65,29 +75,60 @@ public class HexCssColorCodesProvider implements ColorCodesProvider {
     public boolean isProviderEnabled(Document document) {
         String mimeType = NbEditorUtilities.getMimeType(document);
         return ColorCodesPreviewOptions.getInstance().isEnabled(getId())
-                && mimeType.matches(ColorCodesPreviewOptions.getInstance().getMimeTypeRegex());
+                && ColorCodesPreviewOptions.getInstance().getMimeTypePattern().matcher(mimeType).matches();
     }
 
     @Override
     public List<ColorValue> getColorValues(Document document, String line, int lineNumber, Map<String, List<ColorValue>> variableColorValues) {
+        return getColorValues(document, line, 0, line.length(), lineNumber, variableColorValues);
+    }
+
+    @Override
+    public List<ColorValue> getColorValues(Document document, CharSequence text, int start, int end, int lineNumber, Map<String, List<ColorValue>> variableColorValues) {
         List<ColorValue> colorValues = new ArrayList<>();
-        colorValues.addAll(ColorsUtils.getHexColorCodes(line, lineNumber));
-        colorValues.addAll(ColorsUtils.getCssIntRGBs(line, lineNumber));
-        colorValues.addAll(ColorsUtils.getCssIntRGBAs(line, lineNumber));
-        colorValues.addAll(ColorsUtils.getCssPercentRGBs(line, lineNumber));
-        colorValues.addAll(ColorsUtils.getCssPercentRGBAs(line, lineNumber));
-        colorValues.addAll(ColorsUtils.getCssHSLs(line, lineNumber));
-        colorValues.addAll(ColorsUtils.getCssHSLAs(line, lineNumber));
-        ColorCodesPreviewOptions options = ColorCodesPreviewOptions.getInstance();
-        if (options.useNamedColors()) {
-            colorValues.addAll(ColorsUtils.getNamedColors(line, lineNumber));
-        }
+        boolean namedColors = ColorCodesPreviewOptions.getInstance().useNamedColors();
+        ColorsUtils.scanHexCssColors(text, start, end, LineLocator.singleLine(lineNumber, start), namedColors, (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
 
         // for sass and less variables
-        checkVariables(document, line, variableColorValues, colorValues);
+        checkVariables(document, text, start, end, variableColorValues, colorValues);
         return colorValues;
     }
 
+    @Override
+    public void scan(Document document, int startOffset, int endOffset, ColorValueSink sink) {
+        Segment text = new Segment();
+        try {
+            document.getText(startOffset, endOffset - startOffset, text);
+        } catch (BadLocationException ex) {
+            LOGGER.log(Level.WARNING, "Incorrect offset : {0}", ex.offsetRequested()); // NOI18N
+            return;
+        }
+        // colors don't continue to the next line, so the range is scanned at once
+        LineLocator locator = LineLocator.of(document.getDefaultRootElement(), startOffset);
+        boolean namedColors = ColorCodesPreviewOptions.getInstance().useNamedColors();
+        ColorsUtils.scanHexCssColors(text, 0, text.length(), locator, namedColors, ColorsUtils.shift(sink, startOffset));
+    }
+
+    @Override
+    public List<String> getTriggers(Document document) {
+        List<String> triggers = new ArrayList<>(TRIGGERS);
+        if (ColorCodesPreviewOptions.getInstance().useNamedColors()) {
+            triggers.addAll(ColorsUtils.getColorNames());
+        }
+        if (isLessOrSass(NbEditorUtilities.getMimeType(document))) {
+            // variables
+            triggers.add("$"); // NOI18N
+            triggers.add("@"); // NOI18N
+        }
+        return triggers;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        // colors are parsed with local state only
+        return true;
+    }
+
     @Override
     public int getStartIndex(Document document, int currentIndex) {
         String mimeType = NbEditorUtilities.getMimeType(document);
@@ -103,31 +144,32 @@ public class HexCssColorCodesProvider implements ColorCodesProvider {
         return "text/less".equals(mimeType) || "text/scss".equals(mimeType); // NOI18N
     }
 
-    private void checkVariables(Document document, String line, Map<String, List<ColorValue>> cssVariables, List<ColorValue> colorValues) {
+    private void checkVariables(Document document, CharSequence text, int start, int end, Map<String, List<ColorValue>> cssVariables, List<ColorValue> colorValues) {
         if (!isLessOrSass(NbEditorUtilities.getMimeType(document))) {
             return;
         }
 
-        Matcher matcher = CSS_VARIABLE_PATTERN.matcher(line);
+        Matcher matcher = CSS_VARIABLE_PATTERN.matcher(text).region(start, end);
         if (matcher.find()) {
             String variable = matcher.group("var"); // NOI18N
             if (variable != null) {
                 cssVariables.put(variable, colorValues);
             }
         } else {
-            final String l = line;
             Map<Integer, String> map = new HashMap<>();
             cssVariables.forEach((String var, List<ColorValue> colors) -> {
-                if (l.contains(var)) {
-                    int indexOfVar = l.indexOf(var);
+                int indexOfVar = ColorsUtils.indexOf(text, start, end, var);
+                while (indexOfVar != -1) {
                     int offsetBehindVariableName = indexOfVar + var.length();
-                    if (offsetBehindVariableName < l.length()) {
-                        // e.g. when search $green, ignore $green1, $green2,...
-                        char c = l.charAt(offsetBehindVariableName);
-                        if (c == ' ' || c == ';') {
-                            map.put(indexOfVar, var);
-                        }
+                    if (offsetBehindVariableName >= end) {
+                        break;
+                    }
+                    // e.g. when search $green, ignore $green1, $green2,...
+                    char c = text.charAt(offsetBehindVariableName);
+                    if (c == ' ' || c == ';') {
+                        map.put(indexOfVar, var);
                     }
+                    indexOfVar = ColorsUtils.indexOf(text, offsetBehindVariableName, end, var);
                 }
             });
             List<Integer> offsetNumbers = new ArrayList<>(map.keySet());
@@ -148,7 +190,7 @@ public class HexCssColorCodesProvider implements ColorCodesProvider {
 
     @Override
     public List<ColorCodeGeneratorItem> getColorCodeGeneratorItems(String mimeType) {
-        Matcher matcher = Pattern.compile(ColorCodesPreviewOptions.getInstance().getMimeTypeRegex()).matcher(mimeType);
+        Matcher matcher = ColorCodesPreviewOptions.getInstance().getMimeTypePattern().matcher(mimeType);
         if (!matcher.matches()) {
             return Collections.emptyList();
         }
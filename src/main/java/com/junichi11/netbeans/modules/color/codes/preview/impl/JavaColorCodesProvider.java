@@ -20,19 +20,27 @@ import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaColorC
 import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.RGBAIntTypes;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.ColorsUtils;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.JavaColorType;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.LineLocator;
 import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodeFormatter;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodeGeneratorItem;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesPreviewOptionsPanel;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Segment;
 import org.netbeans.modules.editor.NbEditorUtilities;
 import org.openide.util.NbBundle;
 import org.openide.util.lookup.ServiceProvider;
@@ -49,7 +57,10 @@ public class JavaColorCodesProvider extends AbstractColorCodesProvider {
     private static final String COLOR_PREFIX = "Color."; // NOI18N
     private static final String NEW_COLOR_PREFIX = "new Color("; // NOI18N
     private static final String NEW_JAVA_AWT_COLOR_PREFIX = "new java.awt.Color("; // NOI18N
+    private static final String COLOR_TRIGGER = "Color"; // NOI18N
     private static final String MIME_TYPE_JAVA = "text/x-java"; // NOI18N
+    // the number of lines which are read after the range for colors in several lines
+    private static final int MAX_FOLLOWING_LINES = 5;
     private static final Logger LOGGER = Logger.getLogger(JavaColorCodesProvider.class.getName());
 
     @Override
@@ -78,52 +89,81 @@ public class JavaColorCodesProvider extends AbstractColorCodesProvider {
 
     @Override
     public List<ColorValue> getColorValues(Document document, String line, int lineNumber, Map<String, List<ColorValue>> variableColorValues) {
+        return getColorValues(document, line, 0, line.length(), lineNumber, variableColorValues);
+    }
+
+    @Override
+    public List<ColorValue> getColorValues(Document document, CharSequence text, int start, int end, int lineNumber, Map<String, List<ColorValue>> variableColorValues) {
         List<ColorValue> colorValues = new ArrayList<>();
-        if (hasColorValue(line)) {
-            collectStandardColors(line, colorValues, lineNumber);
-            collectIntRGBsColors(line, colorValues, lineNumber);
-            collectIntRGBAsColors(line, colorValues, lineNumber);
-            collectIntRGBColors(line, colorValues, lineNumber);
-            collectIntRGBAColors(line, colorValues, lineNumber);
-            collectFloatRGBsColors(line, colorValues, lineNumber);
-            collectFloatRGBAsColors(line, colorValues, lineNumber);
+        if (hasColorValue(text, start, end)) {
+            ColorsUtils.scanJavaColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
         }
         return colorValues;
     }
 
-    private boolean hasColorValue(String line) {
-        return (line.contains(COLOR_PREFIX)
-                || line.contains(NEW_COLOR_PREFIX)
-                || line.contains(NEW_JAVA_AWT_COLOR_PREFIX))
-                && !line.contains("import"); // NOI18N
-    }
-
-    private void collectStandardColors(String line, List<ColorValue> colorValues, int lineNumber) {
-        colorValues.addAll(ColorsUtils.getJavaStandardColors(line, lineNumber));
+    @Override
+    public List<String> getTriggers(Document document) {
+        // Color.RED, new Color(...), new java.awt.Color(...)
+        return Collections.singletonList(COLOR_TRIGGER);
     }
 
-    private void collectFloatRGBsColors(String line, List<ColorValue> colorValues, int lineNumber) {
-        colorValues.addAll(ColorsUtils.getJavaFloatRGBsColors(line, lineNumber));
+    @Override
+    public boolean isThreadSafe() {
+        // colors are parsed with local state only
+        return true;
     }
 
-    private void collectFloatRGBAsColors(String line, List<ColorValue> colorValues, int lineNumber) {
-        colorValues.addAll(ColorsUtils.getJavaFloatRGBAsColors(line, lineNumber));
-    }
+    @Override
+    public void scan(Document document, int startOffset, int endOffset, ColorValueSink sink) {
+        Element root = document.getDefaultRootElement();
+        int lastLine = Math.min(root.getElementIndex(endOffset) + MAX_FOLLOWING_LINES, root.getElementCount() - 1);
+        int textEndOffset = Math.max(Math.min(root.getElement(lastLine).getEndOffset(), document.getLength()), endOffset);
+        Segment text = new Segment();
+        try {
+            document.getText(startOffset, textEndOffset - startOffset, text);
+        } catch (BadLocationException ex) {
+            LOGGER.log(Level.WARNING, "Incorrect offset : {0}", ex.offsetRequested()); // NOI18N
+            return;
+        }
+        int rangeLength = endOffset - startOffset;
+        if (!hasColorPrefix(text, 0, Math.min(rangeLength + NEW_JAVA_AWT_COLOR_PREFIX.length(), text.length()))) {
+            return;
+        }
+        LineLocator locator = LineLocator.of(root, startOffset);
+        int lineCount = root.getElementCount();
+        Map<Integer, Boolean> importLines = new HashMap<>();
+        ColorValueSink textSink = ColorsUtils.shift(sink, startOffset);
+        ColorsUtils.scanJavaColors(text, 0, text.length(), locator, new ColorValueSink() {
+            @Override
+            public void accept(int colorStartOffset, int colorEndOffset, int argb, Supplier<ColorValue> colorValue) {
+                if (colorStartOffset < rangeLength
+                        && !importLines.computeIfAbsent(locator.getLine(colorStartOffset), line -> isImportLine(text, locator, lineCount, line))) {
+                    textSink.accept(colorStartOffset, colorEndOffset, argb, colorValue);
+                }
+            }
 
-    private void collectIntRGBsColors(String line, List<ColorValue> colorValues, int lineNumber) {
-        colorValues.addAll(ColorsUtils.getJavaIntRGBsColors(line, lineNumber));
+            @Override
+            public int skip(int offset) {
+                return textSink.skip(offset);
+            }
+        });
     }
 
-    private void collectIntRGBAsColors(String line, List<ColorValue> colorValues, int lineNumber) {
-        colorValues.addAll(ColorsUtils.getJavaIntRGBAsColors(line, lineNumber));
+    private static boolean isImportLine(CharSequence text, LineLocator locator, int lineCount, int line) {
+        int lineStartOffset = Math.max(locator.getLineStartOffset(line), 0);
+        int lineEndOffset = line + 1 < lineCount ? Math.min(locator.getLineStartOffset(line + 1), text.length()) : text.length();
+        return ColorsUtils.indexOf(text, lineStartOffset, lineEndOffset, "import") != -1; // NOI18N
     }
 
-    private void collectIntRGBColors(String line, List<ColorValue> colorValues, int lineNumber) {
-        colorValues.addAll(ColorsUtils.getJavaIntRGBColors(line, lineNumber));
+    private boolean hasColorValue(CharSequence text, int start, int end) {
+        return hasColorPrefix(text, start, end)
+                && ColorsUtils.indexOf(text, start, end, "import") == -1; // NOI18N
     }
 
-    private void collectIntRGBAColors(String line, List<ColorValue> colorValues, int lineNumber) {
-        colorValues.addAll(ColorsUtils.getJavaIntRGBAColors(line, lineNumber));
+    private static boolean hasColorPrefix(CharSequence text, int start, int end) {
+        return ColorsUtils.indexOf(text, start, end, COLOR_PREFIX) != -1
+                || ColorsUtils.indexOf(text, start, end, NEW_COLOR_PREFIX) != -1
+                || ColorsUtils.indexOf(text, start, end, NEW_JAVA_AWT_COLOR_PREFIX) != -1;
     }
 
     @Override
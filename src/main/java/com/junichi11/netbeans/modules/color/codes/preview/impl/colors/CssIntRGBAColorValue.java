@@ -18,17 +18,15 @@ package com.junichi11.netbeans.modules.color.codes.preview.impl.colors;
 import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.ColorsUtils;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.HexCssColorType;
-import java.awt.Color;
 
 public class CssIntRGBAColorValue extends HexCssColorValue {
 
     public CssIntRGBAColorValue(String value, OffsetRange offsetRange, int line) {
-        super(value, offsetRange, line);
+        super(value, offsetRange, line, ColorsUtils.decode(value, HexCssColorType.CSS_INT_RGBA));
     }
 
-    @Override
-    public Color getColor() {
-        return ColorsUtils.decode(getValue(), HexCssColorType.CSS_INT_RGBA);
+    public CssIntRGBAColorValue(String value, OffsetRange offsetRange, int line, int argb) {
+        super(value, offsetRange, line, argb);
     }
 
     @Override
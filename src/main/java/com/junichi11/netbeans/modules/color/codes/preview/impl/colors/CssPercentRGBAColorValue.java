@@ -18,17 +18,15 @@ package com.junichi11.netbeans.modules.color.codes.preview.impl.colors;
 import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.ColorsUtils;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.HexCssColorType;
-import java.awt.Color;
 
 public class CssPercentRGBAColorValue extends HexCssColorValue {
 
     public CssPercentRGBAColorValue(String value, OffsetRange offsetRange, int line) {
-        super(value, offsetRange, line);
+        super(value, offsetRange, line, ColorsUtils.decode(value, HexCssColorType.CSS_PERCENT_RGBA));
     }
 
-    @Override
-    public Color getColor() {
-        return ColorsUtils.decode(getValue(), HexCssColorType.CSS_PERCENT_RGBA);
+    public CssPercentRGBAColorValue(String value, OffsetRange offsetRange, int line, int argb) {
+        super(value, offsetRange, line, argb);
     }
 
     @Override
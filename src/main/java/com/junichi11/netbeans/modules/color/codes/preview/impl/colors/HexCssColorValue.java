@@ -19,6 +19,8 @@ import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.HexCssColorType;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.AbstractColorValue;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodeFormatter;
+import java.awt.Color;
+import org.netbeans.api.annotations.common.NullAllowed;
 
 /**
  *
@@ -26,8 +28,61 @@ import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodeFormatter
  */
 abstract class HexCssColorValue extends AbstractColorValue {
 
-    public HexCssColorValue(String value, OffsetRange offsetRange, int line) {
+    private final int argb;
+    private final boolean hasColor;
+    // created lazily
+    private volatile Color color;
+
+    /**
+     * Constructor for the decoded color.
+     *
+     * @param value the color value
+     * @param offsetRange the offset range
+     * @param line the line number
+     * @param color the decoded color, {@code null} if the value is invalid
+     */
+    public HexCssColorValue(String value, OffsetRange offsetRange, int line, @NullAllowed Color color) {
         super(value, offsetRange, line);
+        this.argb = color == null ? 0 : color.getRGB();
+        this.hasColor = color != null;
+        this.color = color;
+    }
+
+    /**
+     * Constructor for the packed color. The Color object is created only if
+     * it is needed.
+     *
+     * @param value the color value
+     * @param offsetRange the offset range
+     * @param line the line number
+     * @param argb the color in the default sRGB
+     */
+    public HexCssColorValue(String value, OffsetRange offsetRange, int line, int argb) {
+        super(value, offsetRange, line);
+        this.argb = argb;
+        this.hasColor = true;
+    }
+
+    @Override
+    public Color getColor() {
+        if (!hasColor) {
+            return null;
+        }
+        Color c = color;
+        if (c == null) {
+            c = new Color(argb, true);
+            color = c;
+        }
+        return c;
+    }
+
+    /**
+     * Get the color in the default sRGB.
+     *
+     * @return the ARGB value, 0 if the value is invalid
+     */
+    public int getRGB() {
+        return argb;
     }
 
     @Override
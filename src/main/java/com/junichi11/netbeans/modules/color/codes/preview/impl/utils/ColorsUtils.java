@@ -22,30 +22,18 @@ import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.CssIntRGBA
 import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.CssIntRGBColorValue;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.CssPercentRGBAColorValue;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.CssPercentRGBColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.HexColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.IntType;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaFloatRGBAsColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaFloatRGBsColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBAColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBAsColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBsColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaStandardColor;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaStandardColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.NamedColorValue;
-import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.RGBAIntTypes;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
 import java.awt.Color;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.Set;
+import java.util.function.Supplier;
 import javax.swing.UIManager;
 import org.netbeans.api.annotations.common.CheckForNull;
-import org.openide.util.Pair;
 
 /**
  *
@@ -53,42 +41,14 @@ import org.openide.util.Pair;
  */
 public final class ColorsUtils {
 
-    private static final int SHORT_HEX_COLOR_CODE_LENGTH = 3;
-    private static final int SHORT_HEX_COLOR_CODE_WITH_HASH_LENGTH = 4;
-    private static final int HEX_COLOR_CODE_LENGTH = 6;
-    private static final int HEX_COLOR_CODE_WITH_HASH_LENGTH = 7;
-
     private static final String HEX_VALUE_FORMAT = "#%02x%02x%02x"; // NOI18N
     private static final String RGB_VALUE_FORMAT = "rgb(%s, %s, %s)"; // NOI18N
     private static final String RGBA_VALUE_FORMAT = "rgba(%s, %s, %s, %s)"; // NOI18N
     private static final String HSL_VALUE_FORMAT = "hsl(%s, %s, %s)"; // NOI18N
     private static final String HSLA_VALUE_FORMAT = "hsla(%s, %s, %s, %s)"; // NOI18N
-    // group names
-    private static final String GROUP_CODENUMBER = "codenumber"; // NOI18N
-    private static final String GROUP_CSS_RGB = "cssrgb"; // NOI18N
-    private static final String GROUP_CSS_RGBA = "cssrgba"; // NOI18N
-    private static final String GROUP_CSS_HSL = "csshsl"; // NOI18N
-    private static final String GROUP_CSS_HSLA = "csshsla"; // NOI18N
-    private static final String GROUP_JAVA_STANDARD = "javastandard";// NOI18N
-    private static final String GROUP_JAVA_RGB = "javargb";// NOI18N
-    private static final String GROUP_JAVA_RGBA = "javargba";// NOI18N
-    private static final String GROUP_RED = "r"; // NOI18N
-    private static final String GROUP_GREEN = "g"; // NOI18N
-    private static final String GROUP_BLUE = "b"; // NOI18N
-    private static final String GROUP_ALPHA = "a"; // NOI18N
-    private static final String GROUP_RGBA = "intrgba"; // NOI18N
-    private static final String GROUP_HEX_RED = "hexr"; // NOI18N
-    private static final String GROUP_HEX_GREEN = "hexg"; // NOI18N
-    private static final String GROUP_HEX_BLUE = "hexb"; // NOI18N
-    private static final String GROUP_HEX_ALPHA = "hexa"; // NOI18N
-    private static final String GROUP_HEX_RGBA = "hexrgba"; // NOI18N
-    private static final String GROUP_HUE = "h"; // NOI18N
-    private static final String GROUP_SATURATION = "s"; // NOI18N
-    private static final String GROUP_LIGHTNESS = "l"; // NOI18N
-    private static final String GROUP_BOOL = "bool"; // NOI18N
-    private static final String GROUP_COLOR_NAME = "colorname"; // NOI18N
 
     private static final Map<String, String> NAMED_COLOR_TABLE = new HashMap<>();
+    private static final NamedColorTable NAMED_COLOR_RGBS;
     public static final String GTK_LOOK_AND_FEEL_NAME = "GTK look and feel"; // NOI18N
     public static final String LOOK_AND_FEEL_NAME = UIManager.getLookAndFeel().getName();
 
@@ -255,427 +215,124 @@ public final class ColorsUtils {
         NAMED_COLOR_TABLE.put("slategray", "#708090"); // NOI18N
         NAMED_COLOR_TABLE.put("darkslategray", "#2f4f4f"); // NOI18N
         NAMED_COLOR_TABLE.put("black", "#000000"); // NOI18N
-    }
-
-    private ColorsUtils() {
-    }
-
-    /**
-     * Get hex color codes. (e.g. #ffffff)
-     *
-     * @param line target text
-     * @return hex color codes
-     */
-    public static List<String> getHexColorCodes(String line) {
-        Matcher matcher = getColorMatcher(line, HexCssColorType.HEX);
-        ArrayList<String> colorCodes = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_CODENUMBER);
-            int length = colorCode.length();
-            String hexCode = colorCode;
-            if (length == SHORT_HEX_COLOR_CODE_LENGTH) {
-                hexCode = convertToRRGGBB(colorCode);
-            }
-
-            if (hexCode.length() == HEX_COLOR_CODE_LENGTH) {
-                colorCodes.add(String.format("#%s", hexCode)); // NOI18N
-            }
-        }
-        return colorCodes;
-    }
 
-    /**
-     * Get hex color codes. (e.g. #ffffff)
-     *
-     * @param line target text
-     * @return hex color codes
-     */
-    public static List<ColorValue> getHexColorCodes(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, HexCssColorType.HEX);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_CODENUMBER);
-            int length = colorCode.length();
-            String hexCode = colorCode;
-            if (length == SHORT_HEX_COLOR_CODE_LENGTH) {
-                hexCode = convertToRRGGBB(colorCode);
-            }
-
-            if (hexCode.length() == HEX_COLOR_CODE_LENGTH) {
-                ColorValue colorValue = new HexColorValue(String.format("#%s", hexCode), new OffsetRange(matcher.start(), matcher.end()), lineNumber); // NOI18N
-                colorValues.add(colorValue);
-            }
-
-        }
-        return colorValues;
+        NAMED_COLOR_RGBS = new NamedColorTable(NAMED_COLOR_TABLE);
     }
 
-    /**
-     * Get named colors. (e.g. red)
-     *
-     * @param line target text
-     * @return named colors
-     */
-    public static List<ColorValue> getNamedColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, HexCssColorType.NAMED_COLORS);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String namedColor = matcher.group(GROUP_COLOR_NAME);
-            ColorValue colorValue = new NamedColorValue(namedColor, new OffsetRange(matcher.start() + 1, matcher.end() - 1), lineNumber);
-            colorValues.add(colorValue);
-        }
-        return colorValues;
-    }
-
-    /**
-     * Get RGBs for int values for a line. (e.g. rgb(0, 0, 0))
-     *
-     * @param line a line
-     * @return RGB codes
-     */
-    public static List<String> getCssIntRGBs(String line) {
-        Matcher matcher = getColorMatcher(line, HexCssColorType.CSS_INT_RGB);
-        ArrayList<String> colorCodes = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_CSS_RGB);
-            colorCodes.add(colorCode);
-        }
-        return colorCodes;
-    }
-
-    /**
-     * Get int RGB color values for a line. (e.g. rgb(0, 0, 0))
-     *
-     * @param line a line
-     * @return RGB codes
-     */
-    public static List<ColorValue> getCssIntRGBs(String line, int lineNumber) {
-        return getCssColorValues(line, lineNumber, HexCssColorType.CSS_INT_RGB);
-    }
-
-    /**
-     * Get % RGB color values for a line. (e.g. rgb(100%, 100%, 100%))
-     *
-     * @param line a line
-     * @return RGB color values
-     */
-    public static List<ColorValue> getCssPercentRGBs(String line, int lineNumber) {
-        return getCssColorValues(line, lineNumber, HexCssColorType.CSS_PERCENT_RGB);
-    }
-
-    /**
-     * Get int RGBA colors for a line. (e.g. rgba(0, 0, 0, 0.1))
-     *
-     * @param line a line
-     * @return RGBA color values
-     */
-    public static List<String> getCssIntRGBAs(String line) {
-        Matcher matcher = getColorMatcher(line, HexCssColorType.CSS_INT_RGBA);
-        ArrayList<String> colorCodes = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_CSS_RGBA);
-            colorCodes.add(colorCode);
-        }
-        return colorCodes;
-    }
-
-    /**
-     * Get int RGBA color values for a line. (e.g. rgba(0, 0, 0, 0.1))
-     *
-     * @param line a line
-     * @return RGBA color values
-     */
-    public static List<ColorValue> getCssIntRGBAs(String line, int lineNumber) {
-        return getCssColorValues(line, lineNumber, HexCssColorType.CSS_INT_RGBA);
-    }
-
-    /**
-     * Get % RGBA color values for a line. (e.g. rgba(0%, 0%, 0%, 0.1))
-     *
-     * @param line a line
-     * @return RGBA color values
-     */
-    public static List<ColorValue> getCssPercentRGBAs(String line, int lineNumber) {
-        return getCssColorValues(line, lineNumber, HexCssColorType.CSS_PERCENT_RGBA);
+    private ColorsUtils() {
     }
 
     /**
-     * Get HSL color values for a line. (e.g. hsl(0, 100%, 100%))
+     * Scan hex and CSS colors in the range of the text. The range can contain
+     * several lines. The text is scanned once for all types.
      *
-     * @param line a line
-     * @return HSL ColorValues
+     * @param text the text
+     * @param start the start offset of the range
+     * @param end the end offset of the range
+     * @param locator the locator for lines of the text
+     * @param namedColors {@code true} if named colors are scanned, otherwise
+     * {@code false}
+     * @param sink the sink which receives offsets in the text in order of
+     * offsets
      */
-    public static List<ColorValue> getCssHSLs(String line, int lineNumber) {
-        return getCssColorValues(line, lineNumber, HexCssColorType.CSS_HSL);
+    public static void scanHexCssColors(CharSequence text, int start, int end, LineLocator locator, boolean namedColors, ColorValueSink sink) {
+        new HexCssColorScanner(text, start, end, locator, namedColors, sink).scan();
     }
 
     /**
-     * Get HSLA color values for a line. (e.g. hsla(0, 100%, 100%, 0.1))
+     * Scan Java colors in the range of the text. The range can contain several
+     * lines, then a color can continue to the following lines. (e.g.
+     * new Color(\n 0,\n 0,\n 0)) Each "Color" is parsed once for all types.
      *
-     * @param line a line
-     * @return HSLA ColorValues
+     * @param text the text
+     * @param start the start offset of the range
+     * @param end the end offset of the range
+     * @param locator the locator for lines of the text
+     * @param sink the sink which receives offsets in the text in order of
+     * offsets
      */
-    public static List<ColorValue> getCssHSLAs(String line, int lineNumber) {
-        return getCssColorValues(line, lineNumber, HexCssColorType.CSS_HSLA);
+    public static void scanJavaColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        new JavaColorScanner(text, start, end, locator, sink).scan();
     }
 
     /**
-     * Get css ColorValues.
+     * Get the index of the string in the range of the text.
      *
-     * @param line line text
-     * @param lineNumber line number
-     * @param type HexCssColorType
-     * @return ColorValues
+     * @param text the text
+     * @param start the start offset of the range
+     * @param end the end offset of the range
+     * @param str the string to find
+     * @return the index in the text, -1 if the string is not found
      */
-    private static List<ColorValue> getCssColorValues(String line, int lineNumber, HexCssColorType type) {
-        Matcher matcher = getColorMatcher(line, type);
-        ArrayList<ColorValue> colorCodes = new ArrayList<>();
-        String groupName = getCssColorGroupName(type);
-        while (matcher.find()) {
-            final String colorCode = matcher.group(groupName);
-            ColorValue colorValue = createCssColorValue(colorCode, new OffsetRange(matcher.start(), matcher.end()), lineNumber, type);
-            if (colorValue != null) {
-                colorCodes.add(colorValue);
+    public static int indexOf(CharSequence text, int start, int end, String str) {
+        int last = end - str.length();
+        for (int i = start; i <= last; i++) {
+            if (regionMatches(text, i, str)) {
+                return i;
             }
         }
-        return colorCodes;
-    }
-
-    /**
-     * Get Java standard colors.
-     *
-     * @param line the line text
-     * @param lineNumber the line number
-     * @return ColorValues
-     */
-    public static List<ColorValue> getJavaStandardColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, JavaColorType.JAVA_STANDARD_COLOR);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorName = matcher.group(GROUP_COLOR_NAME);
-            JavaStandardColor stdColor = JavaStandardColor.valueOf(colorName);
-            ColorValue colorValue = new JavaStandardColorValue(matcher.group(GROUP_JAVA_STANDARD), new OffsetRange(matcher.start(), matcher.end()), lineNumber, stdColor.getColor());
-            colorValues.add(colorValue);
-        }
-        return colorValues;
-    }
-
-    /**
-     * Get Java int RGB colors.
-     *
-     * @param line the line text
-     * @param lineNumber the line number
-     * @return ColorValues
-     */
-    public static List<ColorValue> getJavaIntRGBColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, JavaColorType.JAVA_INT_RGB);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_JAVA_RGB);
-            Pair<String, IntType> rgbaPair = getJavaIntRGBAValue(matcher, GROUP_RGBA);
-            // prevent NubmerFormatException
-            int rgba = (int) Long.parseLong(rgbaPair.first(), rgbaPair.second().getRadix());
-            Color color = new Color(rgba);
-            RGBAIntTypes rgbaIntTypes = new RGBAIntTypes(rgbaPair.second());
-            ColorValue colorValue = new JavaIntRGBColorValue(colorCode, new OffsetRange(matcher.start(), matcher.end()), lineNumber, color, rgbaIntTypes);
-            colorValues.add(colorValue);
-        }
-        return colorValues;
-    }
-
-    /**
-     * Get Java int RGBA colors.
-     *
-     * @param line the line text
-     * @param lineNumber the line number
-     * @return ColorValues
-     */
-    public static List<ColorValue> getJavaIntRGBAColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, JavaColorType.JAVA_INT_RGBA);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_JAVA_RGBA);
-            Pair<String, IntType> rgbaPair = getJavaIntRGBAValue(matcher, GROUP_RGBA);
-            // prevent NubmerFormatException
-            int rgba = (int) Long.parseLong(rgbaPair.first(), rgbaPair.second().getRadix());
-            String bool = matcher.group(GROUP_BOOL);
-            boolean hasAlpha = Boolean.parseBoolean(bool);
-            Color color = new Color(rgba, hasAlpha);
-            RGBAIntTypes rgbaIntTypes = new RGBAIntTypes(rgbaPair.second());
-            ColorValue colorValue = new JavaIntRGBAColorValue(colorCode, new OffsetRange(matcher.start(), matcher.end()), lineNumber, color, hasAlpha, rgbaIntTypes);
-            colorValues.add(colorValue);
-        }
-        return colorValues;
+        return -1;
     }
 
-    /**
-     * Get Java int RGB colors.
-     *
-     * @param line the line text
-     * @param lineNumber the line number
-     * @return ColorValues
-     */
-    public static List<ColorValue> getJavaIntRGBsColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, JavaColorType.JAVA_INT_R_G_B);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_JAVA_RGB);
-            Pair<String, IntType> red = getJavaIntRGBAValue(matcher, GROUP_RED);
-            Pair<String, IntType> green = getJavaIntRGBAValue(matcher, GROUP_GREEN);
-            Pair<String, IntType> blue = getJavaIntRGBAValue(matcher, GROUP_BLUE);
-            int r = Integer.parseInt(red.first(), red.second().getRadix());
-            int g = Integer.parseInt(green.first(), green.second().getRadix());
-            int b = Integer.parseInt(blue.first(), blue.second().getRadix());
-            Color color = new Color(r, g, b);
-            RGBAIntTypes rgbaIntTypes = new RGBAIntTypes(red.second(), green.second(), blue.second());
-            ColorValue colorValue = new JavaIntRGBsColorValue(colorCode, new OffsetRange(matcher.start(), matcher.end()), lineNumber, color, rgbaIntTypes);
-            colorValues.add(colorValue);
-        }
-        return colorValues;
-    }
-
-    /**
-     * Get Java int RGBA colors.
-     *
-     * @param line the line text
-     * @param lineNumber the line number
-     * @return ColorValues
-     */
-    public static List<ColorValue> getJavaIntRGBAsColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, JavaColorType.JAVA_INT_R_G_B_A);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_JAVA_RGBA);
-            Pair<String, IntType> red = getJavaIntRGBAValue(matcher, GROUP_RED);
-            Pair<String, IntType> green = getJavaIntRGBAValue(matcher, GROUP_GREEN);
-            Pair<String, IntType> blue = getJavaIntRGBAValue(matcher, GROUP_BLUE);
-            Pair<String, IntType> alpha = getJavaIntRGBAValue(matcher, GROUP_ALPHA);
-            int r = Integer.parseInt(red.first(), red.second().getRadix());
-            int g = Integer.parseInt(green.first(), green.second().getRadix());
-            int b = Integer.parseInt(blue.first(), blue.second().getRadix());
-            int a = Integer.parseInt(alpha.first(), alpha.second().getRadix());
-            Color color = new Color(r, g, b, a);
-            RGBAIntTypes rgbaIntTypes = new RGBAIntTypes(red.second(), green.second(), blue.second(), alpha.second());
-            ColorValue colorValue = new JavaIntRGBAsColorValue(colorCode, new OffsetRange(matcher.start(), matcher.end()), lineNumber, color, rgbaIntTypes);
-            colorValues.add(colorValue);
-        }
-        return colorValues;
-    }
-
-    /**
-     * Get Java float RGB colors.
-     *
-     * @param line the line text
-     * @param lineNumber the line number
-     * @return ColorValues
-     */
-    public static List<ColorValue> getJavaFloatRGBsColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, JavaColorType.JAVA_FLOAT_R_G_B);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_JAVA_RGB);
-            float r = Float.parseFloat(matcher.group(GROUP_RED));
-            float g = Float.parseFloat(matcher.group(GROUP_GREEN));
-            float b = Float.parseFloat(matcher.group(GROUP_BLUE));
-            Color color = new Color(r, g, b);
-            ColorValue colorValue = new JavaFloatRGBsColorValue(colorCode, new OffsetRange(matcher.start(), matcher.end()), lineNumber, color);
-            colorValues.add(colorValue);
+    private static boolean regionMatches(CharSequence text, int offset, String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (text.charAt(offset + i) != str.charAt(i)) {
+                return false;
+            }
         }
-        return colorValues;
+        return true;
     }
 
     /**
-     * Get Java float RGBA colors.
+     * Create the sink which shifts offsets and passes colors to the sink.
      *
-     * @param line the line text
-     * @param lineNumber the line number
-     * @return ColorValues
+     * @param sink the sink which receives shifted offsets
+     * @param delta the value which is added to offsets
+     * @return the sink
      */
-    public static List<ColorValue> getJavaFloatRGBAsColors(String line, int lineNumber) {
-        Matcher matcher = getColorMatcher(line, JavaColorType.JAVA_FLOAT_R_G_B_A);
-        ArrayList<ColorValue> colorValues = new ArrayList<>();
-        while (matcher.find()) {
-            final String colorCode = matcher.group(GROUP_JAVA_RGBA);
-            float r = Float.parseFloat(matcher.group(GROUP_RED));
-            float g = Float.parseFloat(matcher.group(GROUP_GREEN));
-            float b = Float.parseFloat(matcher.group(GROUP_BLUE));
-            float a = Float.parseFloat(matcher.group(GROUP_ALPHA));
-            Color color = new Color(r, g, b, a);
-            ColorValue colorValue = new JavaFloatRGBAsColorValue(colorCode, new OffsetRange(matcher.start(), matcher.end()), lineNumber, color);
-            colorValues.add(colorValue);
-        }
-        return colorValues;
-    }
-
-    private static Pair<String, IntType> getJavaIntRGBAValue(Matcher matcher, String decimalIntGroup) {
-        String value = matcher.group(decimalIntGroup);
-        IntType intType = IntType.Decimal;
-        if (value == null || value.isEmpty()) {
-            switch (decimalIntGroup) {
-                case GROUP_RED:
-                    value = matcher.group(GROUP_HEX_RED);
-                    break;
-                case GROUP_GREEN:
-                    value = matcher.group(GROUP_HEX_GREEN);
-                    break;
-                case GROUP_BLUE:
-                    value = matcher.group(GROUP_HEX_BLUE);
-                    break;
-                case GROUP_ALPHA:
-                    value = matcher.group(GROUP_HEX_ALPHA);
-                    break;
-                case GROUP_RGBA:
-                    value = matcher.group(GROUP_HEX_RGBA);
-                    break;
-                default:
-                    throw new AssertionError();
+    public static ColorValueSink shift(ColorValueSink sink, int delta) {
+        return new ColorValueSink() {
+            @Override
+            public void accept(int startOffset, int endOffset, int argb, Supplier<ColorValue> colorValue) {
+                sink.accept(startOffset + delta, endOffset + delta, argb, colorValue);
             }
-            intType = IntType.Hex;
-        }
-        assert value != null;
-        return Pair.of(value, intType);
-    }
 
-    private static Matcher getColorMatcher(String line, ColorType type) {
-        return type.getPattern().matcher(line);
+            @Override
+            public int skip(int offset) {
+                return sink.skip(offset + delta) - delta;
+            }
+        };
     }
 
-    private static String getCssColorGroupName(HexCssColorType type) {
+    static ColorValue createCssColorValue(String value, OffsetRange offsetRange, int lineNumber, HexCssColorType type, int argb) {
         switch (type) {
             case CSS_INT_RGB:
-                return GROUP_CSS_RGB;
+                return new CssIntRGBColorValue(value, offsetRange, lineNumber, argb);
             case CSS_INT_RGBA:
-                return GROUP_CSS_RGBA;
+                return new CssIntRGBAColorValue(value, offsetRange, lineNumber, argb);
             case CSS_PERCENT_RGB:
-                return GROUP_CSS_RGB;
+                return new CssPercentRGBColorValue(value, offsetRange, lineNumber, argb);
             case CSS_PERCENT_RGBA:
-                return GROUP_CSS_RGBA;
+                return new CssPercentRGBAColorValue(value, offsetRange, lineNumber, argb);
             case CSS_HSL:
-                return GROUP_CSS_HSL;
+                return new CssHSLColorValue(value, offsetRange, lineNumber, argb);
             case CSS_HSLA:
-                return GROUP_CSS_HSLA;
+                return new CssHSLAColorValue(value, offsetRange, lineNumber, argb);
             default:
                 throw new AssertionError();
         }
     }
 
-    private static ColorValue createCssColorValue(String value, OffsetRange offsetRange, int lineNumber, HexCssColorType type) {
-        switch (type) {
-            case CSS_INT_RGB:
-                return new CssIntRGBColorValue(value, offsetRange, lineNumber);
-            case CSS_INT_RGBA:
-                return new CssIntRGBAColorValue(value, offsetRange, lineNumber);
-            case CSS_PERCENT_RGB:
-                return new CssPercentRGBColorValue(value, offsetRange, lineNumber);
-            case CSS_PERCENT_RGBA:
-                return new CssPercentRGBAColorValue(value, offsetRange, lineNumber);
-            case CSS_HSL:
-                return new CssHSLColorValue(value, offsetRange, lineNumber);
-            case CSS_HSLA:
-                return new CssHSLAColorValue(value, offsetRange, lineNumber);
-            default:
-                throw new AssertionError();
-        }
+    /**
+     * Get the color of the named color in the range of the text.
+     *
+     * @param text the text
+     * @param start the start offset of the name
+     * @param end the end offset of the name
+     * @return the color in the default sRGB, 0 if it is not a named color
+     */
+    static int getNamedColorRGB(CharSequence text, int start, int end) {
+        return NAMED_COLOR_RGBS.get(text, start, end);
     }
 
     /**
@@ -711,216 +368,46 @@ public final class ColorsUtils {
             return null;
         }
 
+        // parse the code without patterns
+        HexCssColorScanner scanner = new HexCssColorScanner(code);
+        if (scanner.matches(type)) {
+            return new Color(scanner.getRGB(), true);
+        }
+        return null;
+    }
+
+    /**
+     * Convert values of a css color to the color.
+     *
+     * @param type HexCssColorType
+     * @param first the red value or the hue value
+     * @param second the green value or the saturation value
+     * @param third the blue value or the lightness value
+     * @param alpha the alpha value [0,1], it is ignored if the type doesn't
+     * have the alpha value
+     * @return the color in the default sRGB
+     */
+    static int toCssRGB(HexCssColorType type, int first, int second, int third, float alpha) {
         switch (type) {
-            case HEX:
-                return decodeHexColorCode(code);
-            case NAMED_COLORS:
-                return decodeNamedColor(code);
             case CSS_INT_RGB:
-                return decodeCssIntRGB(code);
+                return PackedColors.toRGB(first, second, third, 255);
             case CSS_PERCENT_RGB:
-                return decodeCssPercentRGB(code);
+                return PackedColors.toRGB(first * 0.01f, second * 0.01f, third * 0.01f, 1.0f);
             case CSS_INT_RGBA:
-                return decodeCssIntRGBA(code);
+                return PackedColors.toRGB(first, second, third, (int) (255 * alpha));
             case CSS_PERCENT_RGBA:
-                return decodeCssPercentRGBA(code);
+                return PackedColors.toRGB(first * 0.01f, second * 0.01f, third * 0.01f, alpha);
             case CSS_HSL:
-                return decodeCssHSL(code);
-            case CSS_HSLA:
-                return decodeCssHSLA(code);
+                return PackedColors.hslToRGB(first / 360.0f, second * 0.01f, third * 0.01f);
+            case CSS_HSLA: {
+                int rgb = PackedColors.hslToRGB(first / 360.0f, second * 0.01f, third * 0.01f);
+                return (rgb & 0xffffff) | ((int) (255 * alpha) << 24);
+            }
             default:
                 throw new AssertionError();
         }
     }
 
-    @CheckForNull
-    private static Color decodeHexColorCode(String code) {
-        Matcher matcher = getColorMatcher(code, HexCssColorType.HEX);
-        if (matcher.matches()) {
-            int length = code.length();
-            if (length == SHORT_HEX_COLOR_CODE_WITH_HASH_LENGTH) {
-                return Color.decode(convertToRRGGBB(code));
-            }
-            if (length == HEX_COLOR_CODE_WITH_HASH_LENGTH) {
-                return Color.decode(code);
-            }
-        }
-        return null;
-    }
-
-    @CheckForNull
-    private static Color decodeNamedColor(String code) {
-        // Add white spaces to the top and the end to parse with the regex for named colors
-        String namedColorCode = String.format(" %s ", code); // NOI18N
-        Matcher matcher = getColorMatcher(namedColorCode, HexCssColorType.NAMED_COLORS);
-        if (matcher.matches()) {
-            String hexColorCode = NAMED_COLOR_TABLE.get(matcher.group(GROUP_COLOR_NAME).toLowerCase());
-            return decodeHexColorCode(hexColorCode);
-        }
-        return null;
-    }
-
-    @CheckForNull
-    private static Color decodeCssIntRGB(String code) {
-        Matcher matcher = getColorMatcher(code, HexCssColorType.CSS_INT_RGB);
-        if (matcher.matches()) {
-            return new Color(Integer.parseInt(matcher.group(GROUP_RED)), Integer.parseInt(matcher.group(GROUP_GREEN)), Integer.parseInt(matcher.group(GROUP_BLUE)));
-        }
-        return null;
-    }
-
-    @CheckForNull
-    private static Color decodeCssPercentRGB(String code) {
-        Matcher matcher = getColorMatcher(code, HexCssColorType.CSS_PERCENT_RGB);
-        if (matcher.matches()) {
-            String red = matcher.group(GROUP_RED).replace("%", ""); // NOI18N
-            String green = matcher.group(GROUP_GREEN).replace("%", ""); // NOI18N
-            String blue = matcher.group(GROUP_BLUE).replace("%", ""); // NOI18N
-            return new Color((float) (Float.parseFloat(red) * 0.01f), (float) (Float.parseFloat(green) * 0.01f), (float) (Float.parseFloat(blue) * 0.01f));
-        }
-        return null;
-    }
-
-    @CheckForNull
-    private static Color decodeCssIntRGBA(String code) {
-        Matcher matcher = getColorMatcher(code, HexCssColorType.CSS_INT_RGBA);
-        if (matcher.matches()) {
-            Float alpha = Float.valueOf(matcher.group(GROUP_ALPHA));
-            int intAlpha = (int) (255 * alpha);
-            return new Color(Integer.parseInt(matcher.group(GROUP_RED)), Integer.parseInt(matcher.group(GROUP_GREEN)), Integer.parseInt(matcher.group(GROUP_BLUE)), intAlpha);
-        }
-        return null;
-    }
-
-    @CheckForNull
-    private static Color decodeCssPercentRGBA(String code) {
-        Matcher matcher = getColorMatcher(code, HexCssColorType.CSS_PERCENT_RGBA);
-        if (matcher.matches()) {
-            Float alpha = Float.valueOf(matcher.group(GROUP_ALPHA));
-            String red = matcher.group(GROUP_RED).replace("%", ""); // NOI18N
-            String green = matcher.group(GROUP_GREEN).replace("%", ""); // NOI18N
-            String blue = matcher.group(GROUP_BLUE).replace("%", ""); // NOI18N
-            return new Color((float) (Float.parseFloat(red) * 0.01f), (float) (Float.parseFloat(green) * 0.01f), (float) (Float.parseFloat(blue) * 0.01f), alpha);
-        }
-        return null;
-    }
-
-    @CheckForNull
-    private static Color decodeCssHSL(String code) {
-        Matcher matcher = getColorMatcher(code, HexCssColorType.CSS_HSL);
-        if (matcher.matches()) {
-            String hue = matcher.group(GROUP_HUE);
-            String saturation = matcher.group(GROUP_SATURATION).replace("%", ""); // NOI18N
-            String lightness = matcher.group(GROUP_LIGHTNESS).replace("%", ""); // NOI18N
-            float huef = (float) (Float.parseFloat(hue) / 360.0f);
-            return getHSLColor(huef, (float) (Float.parseFloat(saturation) * 0.01f), (float) (Float.parseFloat(lightness) * 0.01f));
-        }
-        return null;
-    }
-
-    @CheckForNull
-    private static Color decodeCssHSLA(String code) {
-        Matcher matcher = getColorMatcher(code, HexCssColorType.CSS_HSLA);
-        if (matcher.matches()) {
-            String hue = matcher.group(GROUP_HUE);
-            String saturation = matcher.group(GROUP_SATURATION).replace("%", ""); // NOI18N
-            String lightness = matcher.group(GROUP_LIGHTNESS).replace("%", ""); // NOI18N
-            Float alpha = Float.valueOf(matcher.group(GROUP_ALPHA));
-            int intAlpha = (int) (255 * alpha);
-            float huef = (float) (Float.parseFloat(hue) / 360.0f);
-            Color hslColor = getHSLColor(huef, (float) (Float.parseFloat(saturation) * 0.01f), (float) (Float.parseFloat(lightness) * 0.01f));
-            return new Color(hslColor.getRed(), hslColor.getGreen(), hslColor.getBlue(), intAlpha);
-        }
-        return null;
-    }
-
-    private static String convertToRRGGBB(String rgb) {
-        boolean hasHashTag = rgb.startsWith("#"); // NOI18N
-        StringBuilder sb = new StringBuilder();
-        for (char c : rgb.toCharArray()) {
-            sb.append(c).append(c);
-        }
-        if (hasHashTag) {
-            return sb.substring(1);
-        }
-        return sb.toString();
-    }
-
-    /**
-     * Get an HSL Color.
-     * @see <a href="http://www.w3.org/TR/2011/REC-css3-color-20110607/#hsl-color">http://www.w3.org/TR/2011/REC-css3-color-20110607/#hsl-color</a>
-     *
-     * @param h a hue value [0,1]
-     * @param s a saturation value [0,1]
-     * @param l a lightness value [0,1]
-     * @return Color
-     */
-    public static Color getHSLColor(float h, float s, float l) {
-        float[] rgb = hslToRgb(h, s, l);
-        return new Color(rgb[0], rgb[1], rgb[2]);
-    }
-
-    /**
-     * Get an HSLA Color.
-     *
-     * @param h a hue value [0,1]
-     * @param s a saturation value [0,1]
-     * @param l a lightness value [0,1]
-     * @param a an alpha value [0,1]
-     * @return Color
-     */
-    public static Color getHSLAColor(float h, float s, float l, float a) {
-        float[] rgb = hslToRgb(h, s, l);
-        return new Color(rgb[0], rgb[1], rgb[2], a);
-    }
-
-    private static float[] hslToRgb(float h, float s, float l) {
-        if (s == 0.0f) {
-            return new float[]{l, l, l};
-        }
-        float m2;
-        if (l <= 0.5f) {
-            m2 = l * (s + 1.0f);
-        } else {
-            m2 = l + s - l * s;
-        }
-
-        float m1 = l * 2.0f - m2;
-        float r = hueToRgb(m1, m2, h + 1.0f / 3.0f);
-        float g = hueToRgb(m1, m2, h);
-        float b = hueToRgb(m1, m2, h - 1.0f / 3.0f);
-        return new float[]{fixFloatRgbRange(r), fixFloatRgbRange(g), fixFloatRgbRange(b)};
-    }
-
-    private static float fixFloatRgbRange(float f) {
-        if (f > 1.0f) {
-            return 1.0f;
-        }
-        if (f < 0.0f) {
-            return 0.0f;
-        }
-        return f;
-    }
-
-    private static float hueToRgb(float m1, float m2, float h) {
-        if (h < 0.0f) {
-            h = h + 1.0f;
-        }
-        if (h > 1.0f) {
-            h = h - 1.0f;
-        }
-        if (h * 6.0f < 1.0f) {
-            return m1 + (m2 - m1) * h * 6.0f;
-        }
-        if (h * 2.0f < 1.0f) {
-            return m2;
-        }
-        if (h * 3.0f < 2.0f) {
-            return m1 + (m2 - m1) * (2.0f / 3.0f - h) * 6.0f;
-        }
-        return m1;
-    }
-
     /**
      * RGB to HSL
      *
@@ -1095,6 +582,15 @@ public final class ColorsUtils {
         }
     }
 
+    /**
+     * Get names of named colors. (e.g. red)
+     *
+     * @return the lower case names
+     */
+    public static Set<String> getColorNames() {
+        return Collections.unmodifiableSet(NAMED_COLOR_TABLE.keySet());
+    }
+
     /**
      * Check whether Look and Feel is the GTK.
      *
@@ -0,0 +1,490 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.HexColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.NamedColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
+import java.util.function.Supplier;
+
+/**
+ * Scan hex, CSS and named colors in one left-to-right pass. Colors are passed
+ * to the sink in order of offsets.
+ *
+ * This accepts the same colors as the patterns of {@link HexCssColorType}
+ * (case-insensitive, only spaces around commas, values without leading zeros)
+ * without backtracking. A value is checked from the first character of the
+ * color, so the text is scanned once for all types.
+ *
+ * @author junichi11
+ */
+final class HexCssColorScanner {
+
+    private static final int SHORT_HEX_COLOR_CODE_LENGTH = 3;
+    private static final int HEX_COLOR_CODE_LENGTH = 6;
+    private static final int MAX_RGB_VALUE = 255;
+    private static final int MAX_PERCENT_VALUE = 100;
+    private static final int MAX_HUE_VALUE = 360;
+    // the value of a number which is not valid
+    private static final int INVALID = -1;
+
+    private final CharSequence text;
+    private final int start;
+    private final int end;
+    private final LineLocator locator;
+    private final boolean namedColors;
+    private final ColorValueSink sink;
+    // the current color
+    private HexCssColorType type;
+    private int colorStart;
+    private int colorEnd;
+    private int argb;
+    // the end offset of the last parsed number
+    private int numberEnd;
+    private float alpha;
+    private final Supplier<ColorValue> colorValue = this::createColorValue;
+
+    HexCssColorScanner(CharSequence text, int start, int end, LineLocator locator, boolean namedColors, ColorValueSink sink) {
+        this.text = text;
+        this.start = start;
+        this.end = end;
+        this.locator = locator;
+        this.namedColors = namedColors;
+        this.sink = sink;
+    }
+
+    /**
+     * Create a scanner to decode the text.
+     *
+     * @param text the text which is just a color
+     * @see #matches(HexCssColorType)
+     */
+    HexCssColorScanner(CharSequence text) {
+        this(text, 0, text.length(), null, true, null);
+    }
+
+    /**
+     * Check whether the whole text is a color of the type.
+     *
+     * @param expectedType the type
+     * @return {@code true} if the text is a color of the type, otherwise
+     * {@code false}
+     * @see #getRGB()
+     */
+    boolean matches(HexCssColorType expectedType) {
+        if (start == end) {
+            return false;
+        }
+        type = null;
+        int matchEnd;
+        switch (expectedType) {
+            case HEX:
+                matchEnd = text.charAt(start) == '#' ? scanHex(start) : -1;
+                break;
+            case NAMED_COLORS: {
+                int rgb = ColorsUtils.getNamedColorRGB(text, start, end);
+                if (rgb == 0) {
+                    return false;
+                }
+                setColor(expectedType, start, end, rgb);
+                return true;
+            }
+            case CSS_INT_RGB: // no break
+            case CSS_INT_RGBA: // no break
+            case CSS_PERCENT_RGB: // no break
+            case CSS_PERCENT_RGBA:
+                matchEnd = scanRGB(start);
+                break;
+            case CSS_HSL: // no break
+            case CSS_HSLA:
+                matchEnd = scanHSL(start);
+                break;
+            default:
+                throw new AssertionError();
+        }
+        return matchEnd == end && type == expectedType;
+    }
+
+    /**
+     * Get the color which is found by {@link #matches(HexCssColorType)}.
+     *
+     * @return the color in the default sRGB
+     */
+    int getRGB() {
+        return argb;
+    }
+
+    void scan() {
+        int offset = start;
+        while (offset < end) {
+            // the end offset of the match, or -1
+            int matchEnd;
+            type = null;
+            switch (text.charAt(offset)) {
+                case '#':
+                    matchEnd = scanHex(offset);
+                    break;
+                case 'r': // no break
+                case 'R':
+                    matchEnd = scanRGB(offset);
+                    break;
+                case 'h': // no break
+                case 'H':
+                    matchEnd = scanHSL(offset);
+                    break;
+                case ' ': // no break
+                case ':': // no break
+                case ',': // no break
+                case '"':
+                    matchEnd = namedColors ? scanNamedColor(offset) : -1;
+                    break;
+                default:
+                    matchEnd = -1;
+                    break;
+            }
+            if (matchEnd == -1) {
+                offset++;
+                continue;
+            }
+            int nextOffset = sink.skip(offset);
+            if (nextOffset > offset) {
+                // the sink doesn't need colors before it
+                offset = nextOffset;
+                continue;
+            }
+            if (type != null) {
+                sink.accept(colorStart, colorEnd, argb, colorValue);
+            }
+            offset = matchEnd;
+        }
+    }
+
+    /**
+     * Scan a hex color code. (e.g. #fff, #ffffff) Codes which have other
+     * lengths are matched but they are not colors.
+     *
+     * @param offset the offset of "#"
+     * @return the end offset of the match, -1 if it doesn't match
+     */
+    private int scanHex(int offset) {
+        int codeStart = offset + 1;
+        int codeEnd = codeStart;
+        while (codeEnd < end && isHexDigit(text.charAt(codeEnd))) {
+            codeEnd++;
+        }
+        int length = codeEnd - codeStart;
+        if (length < SHORT_HEX_COLOR_CODE_LENGTH) {
+            return -1;
+        }
+        if (length == SHORT_HEX_COLOR_CODE_LENGTH || length == HEX_COLOR_CODE_LENGTH) {
+            setColor(HexCssColorType.HEX, offset, codeEnd, PackedColors.parseHexRGB(text, codeStart, length));
+        }
+        return codeEnd;
+    }
+
+    /**
+     * Scan a CSS RGB or RGBA color. (e.g. rgb(0, 0, 0), rgba(0%, 0%, 0%, 0.5))
+     *
+     * @param offset the offset of "rgb"
+     * @return the end offset of the match, -1 if it doesn't match
+     */
+    private int scanRGB(int offset) {
+        if (!regionMatches(offset, "rgb")) { // NOI18N
+            return -1;
+        }
+        int index = offset + 3;
+        boolean hasAlpha = regionMatches(index, "a"); // NOI18N
+        if (hasAlpha) {
+            index++;
+        }
+        if (!regionMatches(index, "(")) { // NOI18N
+            return -1;
+        }
+        index++;
+        // all of r, g and b are int or % values
+        boolean isPercent = isPercent(index);
+        int max = isPercent ? MAX_PERCENT_VALUE : MAX_RGB_VALUE;
+        int red = parseNumber(index, max, isPercent);
+        if (red == INVALID) {
+            return -1;
+        }
+        int green = parseNumber(skipComma(numberEnd), max, isPercent);
+        if (green == INVALID) {
+            return -1;
+        }
+        int blue = parseNumber(skipComma(numberEnd), max, isPercent);
+        if (blue == INVALID) {
+            return -1;
+        }
+        index = numberEnd;
+        if (hasAlpha) {
+            index = parseAlpha(skipComma(index));
+            if (index == -1) {
+                return -1;
+            }
+        }
+        if (!regionMatches(index, ")")) { // NOI18N
+            return -1;
+        }
+        HexCssColorType rgbType;
+        if (isPercent) {
+            rgbType = hasAlpha ? HexCssColorType.CSS_PERCENT_RGBA : HexCssColorType.CSS_PERCENT_RGB;
+        } else {
+            rgbType = hasAlpha ? HexCssColorType.CSS_INT_RGBA : HexCssColorType.CSS_INT_RGB;
+        }
+        setColor(rgbType, offset, index + 1, ColorsUtils.toCssRGB(rgbType, red, green, blue, alpha));
+        return index + 1;
+    }
+
+    /**
+     * Scan a CSS HSL or HSLA color. (e.g. hsl(0, 0%, 0%), hsla(0, 0%, 0%,
+     * 0.5))
+     *
+     * @param offset the offset of "hsl"
+     * @return the end offset of the match, -1 if it doesn't match
+     */
+    private int scanHSL(int offset) {
+        if (!regionMatches(offset, "hsl")) { // NOI18N
+            return -1;
+        }
+        int index = offset + 3;
+        boolean hasAlpha = regionMatches(index, "a"); // NOI18N
+        if (hasAlpha) {
+            index++;
+        }
+        if (!regionMatches(index, "(")) { // NOI18N
+            return -1;
+        }
+        index++;
+        int hue = parseNumber(index, MAX_HUE_VALUE, false);
+        if (hue == INVALID) {
+            return -1;
+        }
+        int saturation = parseNumber(skipComma(numberEnd), MAX_PERCENT_VALUE, true);
+        if (saturation == INVALID) {
+            return -1;
+        }
+        int lightness = parseNumber(skipComma(numberEnd), MAX_PERCENT_VALUE, true);
+        if (lightness == INVALID) {
+            return -1;
+        }
+        index = numberEnd;
+        if (hasAlpha) {
+            index = parseAlpha(skipComma(index));
+            if (index == -1) {
+                return -1;
+            }
+        }
+        if (!regionMatches(index, ")")) { // NOI18N
+            return -1;
+        }
+        HexCssColorType hslType = hasAlpha ? HexCssColorType.CSS_HSLA : HexCssColorType.CSS_HSL;
+        setColor(hslType, offset, index + 1, ColorsUtils.toCssRGB(hslType, hue, saturation, lightness, alpha));
+        return index + 1;
+    }
+
+    /**
+     * Scan a named color. (e.g. " red;")
+     *
+     * @param offset the offset of the prefix
+     * @return the end offset of the match (it contains the suffix), -1 if it
+     * doesn't match
+     */
+    private int scanNamedColor(int offset) {
+        int nameEnd = NamedColorTable.getNameEnd(text, offset, end);
+        if (nameEnd == -1) {
+            return -1;
+        }
+        int rgb = ColorsUtils.getNamedColorRGB(text, offset + 1, nameEnd);
+        if (rgb == 0) {
+            return -1;
+        }
+        setColor(HexCssColorType.NAMED_COLORS, offset + 1, nameEnd, rgb);
+        return nameEnd + 1;
+    }
+
+    private void setColor(HexCssColorType type, int colorStart, int colorEnd, int argb) {
+        this.type = type;
+        this.colorStart = colorStart;
+        this.colorEnd = colorEnd;
+        this.argb = argb;
+    }
+
+    private ColorValue createColorValue() {
+        int line = locator.getLine(colorStart);
+        int lineStartOffset = locator.getLineStartOffset(line);
+        OffsetRange offsetRange = new OffsetRange(colorStart - lineStartOffset, colorEnd - lineStartOffset);
+        switch (type) {
+            case HEX:
+                // exclude "#"
+                return new HexColorValue(PackedColors.toHexCode(text, colorStart + 1, colorEnd - colorStart - 1), offsetRange, line, argb);
+            case NAMED_COLORS:
+                return new NamedColorValue(text.subSequence(colorStart, colorEnd).toString(), offsetRange, line, argb);
+            default:
+                return ColorsUtils.createCssColorValue(text.subSequence(colorStart, colorEnd).toString(), offsetRange, line, type, argb);
+        }
+    }
+
+    /**
+     * Check whether the number at the offset is a % value.
+     *
+     * @param offset the offset of the number
+     * @return {@code true} if digits at the offset are followed by "%",
+     * otherwise {@code false}
+     */
+    private boolean isPercent(int offset) {
+        int index = offset;
+        while (index < end && isDigit(text.charAt(index))) {
+            index++;
+        }
+        return index < end && text.charAt(index) == '%';
+    }
+
+    /**
+     * Parse a number without leading zeros. The end offset is set to
+     * {@link #numberEnd}.
+     *
+     * @param offset the offset of the number
+     * @param max the max value
+     * @param isPercent {@code true} if the number must be followed by "%",
+     * otherwise {@code false}
+     * @return the number, {@link #INVALID} if it is not valid
+     */
+    private int parseNumber(int offset, int max, boolean isPercent) {
+        if (offset == -1) {
+            return INVALID;
+        }
+        int index = offset;
+        int value = 0;
+        while (index < end && isDigit(text.charAt(index))) {
+            value = value * 10 + (text.charAt(index) - '0');
+            index++;
+            if (value > max) {
+                return INVALID;
+            }
+        }
+        int length = index - offset;
+        if (length == 0 || (length > 1 && text.charAt(offset) == '0')) {
+            return INVALID;
+        }
+        if (isPercent) {
+            if (index >= end || text.charAt(index) != '%') {
+                return INVALID;
+            }
+            index++;
+        }
+        numberEnd = index;
+        return value;
+    }
+
+    /**
+     * Parse an alpha value. (0, 1, 0.1-0.99 without 0.10-0.90) The value is
+     * set to {@link #alpha}.
+     *
+     * @param offset the offset of the value
+     * @return the end offset of the value, -1 if it is not valid
+     */
+    private int parseAlpha(int offset) {
+        if (offset == -1 || offset >= end) {
+            return -1;
+        }
+        char c = text.charAt(offset);
+        if ((c == '0' || c == '1') && regionMatches(offset + 1, ")")) { // NOI18N
+            alpha = PackedColors.getAlpha((c - '0') * 100);
+            return offset + 1;
+        }
+        int index = offset;
+        if (c == '0') {
+            index++;
+        }
+        if (!regionMatches(index, ".")) { // NOI18N
+            return -1;
+        }
+        index++;
+        int fractionStart = index;
+        while (index < end && isDigit(text.charAt(index))) {
+            index++;
+        }
+        int length = index - fractionStart;
+        if (length == 0 || length > 2 || text.charAt(index - 1) == '0') {
+            return -1;
+        }
+        // e.g. 5 for .05, 50 for .5
+        int hundredths = (text.charAt(fractionStart) - '0') * 10;
+        if (length == 2) {
+            hundredths += text.charAt(fractionStart + 1) - '0';
+        }
+        alpha = PackedColors.getAlpha(hundredths);
+        return index;
+    }
+
+    /**
+     * Skip a comma and spaces around it.
+     *
+     * @param offset the offset after a value
+     * @return the offset of the next value, -1 if there is no comma
+     */
+    private int skipComma(int offset) {
+        int index = skipSpaces(offset);
+        if (!regionMatches(index, ",")) { // NOI18N
+            return -1;
+        }
+        return skipSpaces(index + 1);
+    }
+
+    private int skipSpaces(int offset) {
+        int index = offset;
+        while (index < end && text.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Check whether the text at the offset starts with the string ignoring
+     * case.
+     *
+     * @param offset the offset
+     * @param str the string with lower case letters
+     * @return {@code true} if the text starts with the string, otherwise
+     * {@code false}
+     */
+    private boolean regionMatches(int offset, String str) {
+        if (offset < 0 || offset + str.length() > end) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (toLowerCase(text.charAt(offset + i)) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return '0' <= c && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || ('a' <= c && c <= 'f') || ('A' <= c && c <= 'F');
+    }
+
+    private static char toLowerCase(char c) {
+        return 'A' <= c && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
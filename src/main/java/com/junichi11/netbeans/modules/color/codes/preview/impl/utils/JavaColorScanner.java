@@ -0,0 +1,531 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.IntType;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaFloatRGBAsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaFloatRGBsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBAColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBAsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaStandardColor;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaStandardColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.RGBAIntTypes;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
+import java.awt.Color;
+import java.util.function.Supplier;
+
+/**
+ * Scan Java colors in one pass. Each occurrence of "Color" is found once, then
+ * the standard color (e.g. Color.red) or the arguments of the constructor
+ * (e.g. new Color(0, 0, 0)) are parsed to decide the type. Colors are passed
+ * to the sink in order of offsets.
+ *
+ * This accepts the same colors as the patterns of {@link JavaColorType}
+ * except {@link JavaColorType#DECODE}.
+ *
+ * @author junichi11
+ */
+final class JavaColorScanner {
+
+    private static final String COLOR = "color"; // NOI18N
+    private static final String NEW_PREFIX = "new "; // NOI18N
+    private static final String NEW_JAVA_AWT_PREFIX = "new java.awt."; // NOI18N
+    private static final int MAX_ARGUMENTS = 4;
+    private static final int MAX_RGB_VALUE = 255;
+    private static final int MAX_DECIMAL_RGBA_DIGITS = 9;
+    private static final int HEX_RGB_DIGITS = 6;
+    private static final int HEX_RGBA_DIGITS = 8;
+    private static final JavaStandardColor[] STANDARD_COLORS = JavaStandardColor.values();
+
+    private final CharSequence text;
+    private final int start;
+    private final int end;
+    private final LineLocator locator;
+    private final ColorValueSink sink;
+    // the current color
+    private JavaColorType type;
+    private int colorStart;
+    private int colorEnd;
+    private Color color;
+    private boolean hasAlpha;
+    private final IntType[] intTypes = new IntType[MAX_ARGUMENTS];
+    // offsets of the arguments
+    private final int[] argumentStarts = new int[MAX_ARGUMENTS];
+    private final int[] argumentEnds = new int[MAX_ARGUMENTS];
+    private final Supplier<ColorValue> colorValue = this::createColorValue;
+
+    JavaColorScanner(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        this.text = text;
+        this.start = start;
+        this.end = end;
+        this.locator = locator;
+        this.sink = sink;
+    }
+
+    void scan() {
+        // colors which start before it are not matched
+        int regionStart = start;
+        int offset = indexOfColor(start);
+        while (offset != -1) {
+            if (scanColor(offset, regionStart)) {
+                int nextOffset = sink.skip(colorStart);
+                if (nextOffset > colorStart) {
+                    // the sink doesn't need colors before it
+                    if (nextOffset >= end) {
+                        return;
+                    }
+                    regionStart = nextOffset;
+                    offset = indexOfColor(nextOffset);
+                    continue;
+                }
+                sink.accept(colorStart, colorEnd, color.getRGB(), colorValue);
+            }
+            offset = indexOfColor(offset + 1);
+        }
+    }
+
+    /**
+     * Scan a color at "Color".
+     *
+     * @param offset the offset of "Color"
+     * @param regionStart the offset before which colors are not matched
+     * @return {@code true} if a color is found, otherwise {@code false}
+     */
+    private boolean scanColor(int offset, int regionStart) {
+        if (scanStandardColor(offset)) {
+            return true;
+        }
+        int newStart;
+        if (regionMatches(offset - NEW_PREFIX.length(), NEW_PREFIX)) {
+            newStart = offset - NEW_PREFIX.length();
+        } else if (regionMatches(offset - NEW_JAVA_AWT_PREFIX.length(), NEW_JAVA_AWT_PREFIX)) {
+            newStart = offset - NEW_JAVA_AWT_PREFIX.length();
+        } else {
+            return false;
+        }
+        if (newStart < regionStart) {
+            return false;
+        }
+        int index = offset + COLOR.length();
+        if (index >= end || text.charAt(index) != '(') {
+            return false;
+        }
+        return scanArguments(newStart, index + 1);
+    }
+
+    /**
+     * Scan a standard color. (e.g. Color.red, Color.RED) It is case-sensitive.
+     *
+     * @param offset the offset of "Color"
+     * @return {@code true} if a color is found, otherwise {@code false}
+     */
+    private boolean scanStandardColor(int offset) {
+        int nameStart = offset + COLOR.length() + 1;
+        if (nameStart > end || text.charAt(nameStart - 1) != '.' || !startsWith(offset, "Color", false)) { // NOI18N
+            return false;
+        }
+        for (JavaStandardColor standardColor : STANDARD_COLORS) {
+            if (startsWith(nameStart, standardColor.getColorName(), false)) {
+                type = JavaColorType.JAVA_STANDARD_COLOR;
+                colorStart = offset;
+                colorEnd = nameStart + standardColor.getColorName().length();
+                color = standardColor.getColor();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scan arguments of the constructor.
+     *
+     * @param colorStart the start offset of the color ("new")
+     * @param offset the offset after "("
+     * @return {@code true} if a color is found, otherwise {@code false}
+     */
+    private boolean scanArguments(int colorStart, int offset) {
+        // split arguments, then check them for the number of them
+        int count = 0;
+        int index = offset;
+        while (true) {
+            if (count == MAX_ARGUMENTS) {
+                return false;
+            }
+            int argumentStart = skipWhitespaces(index);
+            int argumentEnd = argumentStart;
+            while (argumentEnd < end && !isWhitespace(text.charAt(argumentEnd))
+                    && text.charAt(argumentEnd) != ',' && text.charAt(argumentEnd) != ')') {
+                argumentEnd++;
+            }
+            if (argumentEnd == argumentStart) {
+                return false;
+            }
+            argumentStarts[count] = argumentStart;
+            argumentEnds[count] = argumentEnd;
+            count++;
+            index = skipWhitespaces(argumentEnd);
+            if (index >= end) {
+                return false;
+            }
+            if (text.charAt(index) == ')') {
+                break;
+            }
+            if (text.charAt(index) != ',') {
+                return false;
+            }
+            index++;
+        }
+        if (!parseArguments(count)) {
+            return false;
+        }
+        this.colorStart = colorStart;
+        colorEnd = index + 1;
+        return true;
+    }
+
+    private boolean parseArguments(int count) {
+        switch (count) {
+            case 1: {
+                // new Color(int rgb)
+                long rgb = parseRGBA(0);
+                if (rgb == Long.MIN_VALUE) {
+                    return false;
+                }
+                type = JavaColorType.JAVA_INT_RGB;
+                color = new Color((int) rgb);
+                return true;
+            }
+            case 2: {
+                // new Color(int rgba, boolean hasalpha)
+                long rgba = parseRGBA(0);
+                if (rgba == Long.MIN_VALUE) {
+                    return false;
+                }
+                if (isArgument(1, "true")) { // NOI18N
+                    hasAlpha = true;
+                } else if (isArgument(1, "false")) { // NOI18N
+                    hasAlpha = false;
+                } else {
+                    return false;
+                }
+                type = JavaColorType.JAVA_INT_RGBA;
+                color = new Color((int) rgba, hasAlpha);
+                return true;
+            }
+            case 3: // no break
+            case 4:
+                return parseComponents(count);
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    /**
+     * Parse int or float values of r, g, b (and a).
+     *
+     * @param count the number of the arguments
+     * @return {@code true} if all values are valid, otherwise {@code false}
+     */
+    private boolean parseComponents(int count) {
+        int[] values = new int[count];
+        boolean isInt = true;
+        for (int i = 0; i < count && isInt; i++) {
+            values[i] = parseComponent(i);
+            isInt = values[i] != -1;
+        }
+        if (isInt) {
+            if (count == 3) {
+                type = JavaColorType.JAVA_INT_R_G_B;
+                color = new Color(values[0], values[1], values[2]);
+            } else {
+                type = JavaColorType.JAVA_INT_R_G_B_A;
+                color = new Color(values[0], values[1], values[2], values[3]);
+            }
+            return true;
+        }
+        float[] floatValues = new float[count];
+        for (int i = 0; i < count; i++) {
+            if (!isFloat(i)) {
+                return false;
+            }
+            // remove "f"
+            floatValues[i] = Float.parseFloat(text.subSequence(argumentStarts[i], argumentEnds[i] - 1).toString());
+        }
+        if (count == 3) {
+            type = JavaColorType.JAVA_FLOAT_R_G_B;
+            color = new Color(floatValues[0], floatValues[1], floatValues[2]);
+        } else {
+            type = JavaColorType.JAVA_FLOAT_R_G_B_A;
+            color = new Color(floatValues[0], floatValues[1], floatValues[2], floatValues[3]);
+        }
+        return true;
+    }
+
+    /**
+     * Parse an int value of r, g, b or a. (0-255 without leading zeros or
+     * 0x0-0xff)
+     *
+     * @param argument the index of the argument
+     * @return the value, -1 if it is not valid
+     */
+    private int parseComponent(int argument) {
+        int argumentStart = argumentStarts[argument];
+        int length = argumentEnds[argument] - argumentStart;
+        if (isHexPrefix(argumentStart, length)) {
+            intTypes[argument] = IntType.Hex;
+            return length > 4 ? -1 : (int) parseHex(argumentStart + 2, argumentEnds[argument]);
+        }
+        intTypes[argument] = IntType.Decimal;
+        if (length > 3 || (length > 1 && text.charAt(argumentStart) == '0')) {
+            return -1;
+        }
+        long value = parseDecimal(argumentStart, argumentEnds[argument]);
+        return value > MAX_RGB_VALUE ? -1 : (int) value;
+    }
+
+    /**
+     * Parse an int value of rgb or rgba. (+/- and 1-9 digits, or 0x and 6 or
+     * 8 hex digits)
+     *
+     * @param argument the index of the argument
+     * @return the value, {@link Long#MIN_VALUE} if it is not valid
+     */
+    private long parseRGBA(int argument) {
+        int argumentStart = argumentStarts[argument];
+        int argumentEnd = argumentEnds[argument];
+        int length = argumentEnd - argumentStart;
+        if (isHexPrefix(argumentStart, length)) {
+            intTypes[argument] = IntType.Hex;
+            int digits = length - 2;
+            if (digits != HEX_RGB_DIGITS && digits != HEX_RGBA_DIGITS) {
+                return Long.MIN_VALUE;
+            }
+            long value = parseHex(argumentStart + 2, argumentEnd);
+            return value == -1 ? Long.MIN_VALUE : value;
+        }
+        intTypes[argument] = IntType.Decimal;
+        boolean negative = false;
+        int digitStart = argumentStart;
+        char c = text.charAt(argumentStart);
+        if (c == '+' || c == '-') {
+            negative = c == '-';
+            digitStart++;
+        }
+        if (argumentEnd - digitStart > MAX_DECIMAL_RGBA_DIGITS) {
+            return Long.MIN_VALUE;
+        }
+        long value = parseDecimal(digitStart, argumentEnd);
+        if (value == -1) {
+            return Long.MIN_VALUE;
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean isHexPrefix(int offset, int length) {
+        return length > 2 && text.charAt(offset) == '0' && toLowerCase(text.charAt(offset + 1)) == 'x';
+    }
+
+    /**
+     * Check whether the argument is a float value of r, g, b or a. (e.g. 0f,
+     * 0.5f, .5f, 1f, 1.0f)
+     *
+     * @param argument the index of the argument
+     * @return {@code true} if it is a float value, otherwise {@code false}
+     */
+    private boolean isFloat(int argument) {
+        int index = argumentStarts[argument];
+        // the offset of "f"
+        int suffix = argumentEnds[argument] - 1;
+        if (suffix <= index || toLowerCase(text.charAt(suffix)) != 'f') {
+            return false;
+        }
+        char first = text.charAt(index);
+        if (first == '0' || first == '1') {
+            index++;
+            if (index == suffix) {
+                // 0f, 1f
+                return true;
+            }
+        }
+        if (text.charAt(index) != '.') {
+            return false;
+        }
+        index++;
+        if (first == '1') {
+            // 1.0f
+            while (index < suffix && text.charAt(index) == '0') {
+                index++;
+            }
+            return index == suffix;
+        }
+        // 0.5f, .5f
+        if (index == suffix) {
+            return false;
+        }
+        while (index < suffix && isDigit(text.charAt(index))) {
+            index++;
+        }
+        return index == suffix;
+    }
+
+    private boolean isArgument(int argument, String value) {
+        return argumentEnds[argument] - argumentStarts[argument] == value.length()
+                && regionMatches(argumentStarts[argument], value);
+    }
+
+    /**
+     * Parse decimal digits.
+     *
+     * @return the value, -1 if there are no digits or not digits
+     */
+    private long parseDecimal(int from, int to) {
+        if (from == to) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parse hex digits.
+     *
+     * @return the value, -1 if there are no digits or not hex digits
+     */
+    private long parseHex(int from, int to) {
+        if (from == to) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = hexDigit(text.charAt(i));
+            if (digit == -1) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private ColorValue createColorValue() {
+        int line = locator.getLine(colorStart);
+        int lineStartOffset = locator.getLineStartOffset(line);
+        OffsetRange offsetRange = new OffsetRange(colorStart - lineStartOffset, colorEnd - lineStartOffset);
+        String value = text.subSequence(colorStart, colorEnd).toString();
+        switch (type) {
+            case JAVA_STANDARD_COLOR:
+                return new JavaStandardColorValue(value, offsetRange, line, color);
+            case JAVA_INT_RGB:
+                return new JavaIntRGBColorValue(value, offsetRange, line, color, new RGBAIntTypes(intTypes[0]));
+            case JAVA_INT_RGBA:
+                return new JavaIntRGBAColorValue(value, offsetRange, line, color, hasAlpha, new RGBAIntTypes(intTypes[0]));
+            case JAVA_INT_R_G_B:
+                return new JavaIntRGBsColorValue(value, offsetRange, line, color, new RGBAIntTypes(intTypes[0], intTypes[1], intTypes[2]));
+            case JAVA_INT_R_G_B_A:
+                return new JavaIntRGBAsColorValue(value, offsetRange, line, color, new RGBAIntTypes(intTypes[0], intTypes[1], intTypes[2], intTypes[3]));
+            case JAVA_FLOAT_R_G_B:
+                return new JavaFloatRGBsColorValue(value, offsetRange, line, color);
+            case JAVA_FLOAT_R_G_B_A:
+                return new JavaFloatRGBAsColorValue(value, offsetRange, line, color);
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    /**
+     * Find "Color" ignoring case.
+     *
+     * @param offset the offset from which "Color" is found
+     * @return the offset of "Color", -1 if it is not found
+     */
+    private int indexOfColor(int offset) {
+        int last = end - COLOR.length();
+        for (int i = offset; i <= last; i++) {
+            if (regionMatches(i, COLOR)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int skipWhitespaces(int offset) {
+        int index = offset;
+        while (index < end && isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Check whether the text at the offset starts with the string ignoring
+     * case.
+     *
+     * @param offset the offset
+     * @param str the string with lower case letters
+     * @return {@code true} if the text starts with the string, otherwise
+     * {@code false}
+     */
+    private boolean regionMatches(int offset, String str) {
+        return startsWith(offset, str, true);
+    }
+
+    private boolean startsWith(int offset, String str, boolean ignoreCase) {
+        if (offset < start || offset + str.length() > end) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char c = text.charAt(offset + i);
+            if ((ignoreCase ? toLowerCase(c) : c) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(char c) {
+        // \s of the patterns
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return '0' <= c && c <= '9';
+    }
+
+    private static int hexDigit(char c) {
+        if (isDigit(c)) {
+            return c - '0';
+        }
+        char lowerCase = toLowerCase(c);
+        if ('a' <= lowerCase && lowerCase <= 'f') {
+            return lowerCase - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static char toLowerCase(char c) {
+        return 'A' <= c && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -56,12 +56,13 @@ public enum JavaColorType implements ColorType {
 
     private static final String JAVA_STANDARD_COLORS_REGEX = "black|BLACK|blue|BLUE|cyan|CYAN|darkGray|DARK_GRAY|gray|GRAY|green|GREEN|lightGray|LIGHT_GRAY|magenta|MAGENTA|orange|ORANGE|pink|PINK|red|RED|white|WHITE|yellow|YELLOW"; // NOI18N
     private static final String JAVA_STANDARD_COLOR_FORMAT = "(?<javastandard>Color\\.(?<colorname>%s))"; // NOI18N
-    private static final String JAVA_FLOAT_R_G_B_FORMAT = "(?<javargb>new (java\\.awt\\.)?Color\\((?<codenumber> *(?<r>%s)f *, *(?<g>%s)f *, *(?<b>%s)f *)\\))"; // NOI18N
-    private static final String JAVA_FLOAT_R_G_B_A_FORMAT = "(?<javargba>new (java\\.awt\\.)?Color\\((?<codenumber> *(?<r>%s)f *, *(?<g>%s)f *, *(?<b>%s)f *, *(?<a>%s)f *)\\))"; // NOI18N
-    private static final String JAVA_INT_R_G_B_FORMAT = "(?<javargb>new (java\\.awt\\.)?Color\\((?<codenumber> *((?<r>%s)|0x(?<hexr>%s)) *, *((?<g>%s)|0x(?<hexg>%s)) *, *((?<b>%s)|0x(?<hexb>%s)) *)\\))"; // NOI18N
-    private static final String JAVA_INT_R_G_B_A_FORMAT = "(?<javargba>new (java\\.awt\\.)?Color\\((?<codenumber> *((?<r>%s)|0x(?<hexr>%s)) *, *((?<g>%s)|0x(?<hexg>%s)) *, *((?<b>%s)|0x(?<hexb>%s)) *, *((?<a>%s)|0x(?<hexa>%s)) *)\\))"; // NOI18N
-    private static final String JAVA_INT_RGB_FORMAT = "(?<javargb>new (java\\.awt\\.)?Color\\((?<codenumber> *((?<intrgba>%s)|0x(?<hexrgba>%s)) *)\\))"; // NOI18N
-    private static final String JAVA_INT_RGBA_FORMAT = "(?<javargba>new (java\\.awt\\.)?Color\\((?<codenumber> *((?<intrgba>%s)|0x(?<hexrgba>%s)) *, * (?<bool>%s) *)\\))"; // NOI18N
+    // arguments can be written in several lines
+    private static final String JAVA_FLOAT_R_G_B_FORMAT = "(?<javargb>new (java\\.awt\\.)?Color\\((?<codenumber>\\s*(?<r>%s)f\\s*,\\s*(?<g>%s)f\\s*,\\s*(?<b>%s)f\\s*)\\))"; // NOI18N
+    private static final String JAVA_FLOAT_R_G_B_A_FORMAT = "(?<javargba>new (java\\.awt\\.)?Color\\((?<codenumber>\\s*(?<r>%s)f\\s*,\\s*(?<g>%s)f\\s*,\\s*(?<b>%s)f\\s*,\\s*(?<a>%s)f\\s*)\\))"; // NOI18N
+    private static final String JAVA_INT_R_G_B_FORMAT = "(?<javargb>new (java\\.awt\\.)?Color\\((?<codenumber>\\s*((?<r>%s)|0x(?<hexr>%s))\\s*,\\s*((?<g>%s)|0x(?<hexg>%s))\\s*,\\s*((?<b>%s)|0x(?<hexb>%s))\\s*)\\))"; // NOI18N
+    private static final String JAVA_INT_R_G_B_A_FORMAT = "(?<javargba>new (java\\.awt\\.)?Color\\((?<codenumber>\\s*((?<r>%s)|0x(?<hexr>%s))\\s*,\\s*((?<g>%s)|0x(?<hexg>%s))\\s*,\\s*((?<b>%s)|0x(?<hexb>%s))\\s*,\\s*((?<a>%s)|0x(?<hexa>%s))\\s*)\\))"; // NOI18N
+    private static final String JAVA_INT_RGB_FORMAT = "(?<javargb>new (java\\.awt\\.)?Color\\((?<codenumber>\\s*((?<intrgba>%s)|0x(?<hexrgba>%s))\\s*)\\))"; // NOI18N
+    private static final String JAVA_INT_RGBA_FORMAT = "(?<javargba>new (java\\.awt\\.)?Color\\((?<codenumber>\\s*((?<intrgba>%s)|0x(?<hexrgba>%s))\\s*,\\s*(?<bool>%s)\\s*)\\))"; // NOI18N
     private static final String JAVA_COLOR_DECODE_REGEX = "(?<javadecode>Color\\.decode\\(\"(#(?<codenumber>[0-9a-fA-F]{6,}|[0-9a-fA-F]{3,})\")\\))"; // NOI18N
 
     private final Pattern pattern;
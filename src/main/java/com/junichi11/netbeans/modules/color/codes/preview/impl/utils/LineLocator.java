@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import javax.swing.text.Element;
+
+/**
+ * Locate lines of offsets in a text.
+ *
+ * @author junichi11
+ */
+public interface LineLocator {
+
+    /**
+     * Get the line index of the offset.
+     *
+     * @param offset the offset in the text
+     * @return the line index
+     */
+    int getLine(int offset);
+
+    /**
+     * Get the start offset of the line.
+     *
+     * @param line the line index
+     * @return the start offset of the line in the text, it may be negative if
+     * the line starts before the text
+     */
+    int getLineStartOffset(int line);
+
+    /**
+     * Create a locator for a text which is just one line.
+     *
+     * @param line the line index
+     * @param lineStartOffset the start offset of the line in the text
+     * @return the locator
+     */
+    static LineLocator singleLine(int line, int lineStartOffset) {
+        return new LineLocator() {
+            @Override
+            public int getLine(int offset) {
+                return line;
+            }
+
+            @Override
+            public int getLineStartOffset(int l) {
+                return lineStartOffset;
+            }
+        };
+    }
+
+    /**
+     * Create a locator for a text which is a part of a document.
+     *
+     * @param root the default root element of the document
+     * @param textOffset the offset of the text in the document
+     * @return the locator
+     */
+    static LineLocator of(Element root, int textOffset) {
+        return new LineLocator() {
+            @Override
+            public int getLine(int offset) {
+                return root.getElementIndex(textOffset + offset);
+            }
+
+            @Override
+            public int getLineStartOffset(int line) {
+                return root.getElement(line).getStartOffset() - textOffset;
+            }
+        };
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Table of named colors. Names are looked up ignoring case with a perfect
+ * hash which is computed when the table is created, so a lookup hashes the
+ * name once and compares it with at most one name.
+ *
+ * @author junichi11
+ */
+final class NamedColorTable {
+
+    private static final int MIN_TABLE_BITS = 8;
+    private static final int MAX_TABLE_BITS = 16;
+    // the number of multipliers which are tried for a table size
+    private static final int MAX_TRIALS = 1 << 12;
+
+    // lower case names
+    private final String[] names;
+    private final int[] colors;
+    // the index of the name + 1 for a hash, 0 if there is no name
+    private final short[] slots;
+    private final int multiplier;
+    private final int shift;
+    private final int minLength;
+    private final int maxLength;
+
+    /**
+     * Create a table.
+     *
+     * @param hexCodes lower case names and their hex color codes (e.g.
+     * #ffffff)
+     */
+    NamedColorTable(Map<String, String> hexCodes) {
+        int size = hexCodes.size();
+        names = new String[size];
+        colors = new int[size];
+        int[] hashes = new int[size];
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        int index = 0;
+        for (Map.Entry<String, String> entry : hexCodes.entrySet()) {
+            String name = entry.getKey();
+            names[index] = name;
+            colors[index] = PackedColors.parseHexRGB(entry.getValue(), 1, entry.getValue().length() - 1);
+            hashes[index] = hash(name, 0, name.length());
+            min = Math.min(min, name.length());
+            max = Math.max(max, name.length());
+            index++;
+        }
+        minLength = min;
+        maxLength = max;
+
+        // find a multiplier which maps all names to different slots
+        int bits = MIN_TABLE_BITS;
+        while ((1 << bits) < size * 2) {
+            bits++;
+        }
+        int m = 0x9e3779b9;
+        for (; bits <= MAX_TABLE_BITS; bits++) {
+            short[] table = new short[1 << bits];
+            for (int trial = 0; trial < MAX_TRIALS; trial++) {
+                if (fill(table, hashes, m, 32 - bits)) {
+                    slots = table;
+                    multiplier = m;
+                    shift = 32 - bits;
+                    return;
+                }
+                m = (m * 0x2c9277b5 + 0xac564b05) | 1;
+            }
+        }
+        throw new IllegalStateException("The perfect hash for named colors is not found"); // NOI18N
+    }
+
+    private static boolean fill(short[] table, int[] hashes, int multiplier, int shift) {
+        Arrays.fill(table, (short) 0);
+        for (int i = 0; i < hashes.length; i++) {
+            int slot = (hashes[i] * multiplier) >>> shift;
+            if (table[slot] != 0) {
+                return false;
+            }
+            table[slot] = (short) (i + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Get the color of the name in the range of the text ignoring case.
+     *
+     * @param text the text
+     * @param start the start offset of the name
+     * @param end the end offset of the name
+     * @return the color in the default sRGB, 0 if it is not a named color
+     */
+    int get(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < minLength || length > maxLength) {
+            return 0;
+        }
+        int index = slots[(hash(text, start, end) * multiplier) >>> shift] - 1;
+        if (index == -1) {
+            return 0;
+        }
+        String name = names[index];
+        if (name.length() != length) {
+            return 0;
+        }
+        for (int i = 0; i < length; i++) {
+            if (toLowerCase(text.charAt(start + i)) != name.charAt(i)) {
+                return 0;
+            }
+        }
+        return colors[index];
+    }
+
+    /**
+     * Get the end offset of the name of a color candidate. A named color must
+     * be between a prefix (" ", ":", ",", "\"") and a suffix (" ", ";", ",",
+     * "\""). (e.g. " red;")
+     *
+     * @param text the text
+     * @param offset the offset of the prefix
+     * @param end the end offset of the range
+     * @return the end offset of the name (the offset of the suffix), -1 if
+     * there is no name
+     */
+    static int getNameEnd(CharSequence text, int offset, int end) {
+        switch (text.charAt(offset)) {
+            case ' ': // no break
+            case ':': // no break
+            case ',': // no break
+            case '"':
+                break;
+            default:
+                return -1;
+        }
+        int nameStart = offset + 1;
+        int nameEnd = nameStart;
+        while (nameEnd < end && isAsciiLetter(text.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd == nameStart || nameEnd >= end) {
+            return -1;
+        }
+        switch (text.charAt(nameEnd)) {
+            case ' ': // no break
+            case ';': // no break
+            case ',': // no break
+            case '"':
+                return nameEnd;
+            default:
+                return -1;
+        }
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + toLowerCase(text.charAt(i));
+        }
+        return hash;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z');
+    }
+
+    private static char toLowerCase(char c) {
+        return 'A' <= c && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+/**
+ * Decode colors to packed ARGB values (bits 24-31 are alpha, 16-23 are red,
+ * 8-15 are green, 0-7 are blue) without creating objects. Values are rounded
+ * in the same way as {@link java.awt.Color}.
+ *
+ * @author junichi11
+ */
+final class PackedColors {
+
+    private static final int SHORT_HEX_DIGITS = 3;
+    private static final int HEX_DIGITS = 6;
+    private static final int MAX_HUNDREDTHS = 100;
+    // alpha values for 0.00-1.00
+    private static final float[] ALPHA_VALUES = new float[MAX_HUNDREDTHS + 1];
+
+    static {
+        for (int i = 0; i < MAX_HUNDREDTHS; i++) {
+            // parse the decimal once to get the same value as Float.parseFloat()
+            ALPHA_VALUES[i] = Float.parseFloat((i < 10 ? "0.0" : "0.") + i); // NOI18N
+        }
+        ALPHA_VALUES[MAX_HUNDREDTHS] = 1.0f;
+    }
+
+    private PackedColors() {
+    }
+
+    /**
+     * Get the alpha value of hundredths. (e.g. 5 for 0.05)
+     *
+     * @param hundredths 0-100
+     * @return the alpha value [0,1]
+     */
+    static float getAlpha(int hundredths) {
+        return ALPHA_VALUES[hundredths];
+    }
+
+    /**
+     * Pack int values. The same as {@link java.awt.Color#Color(int, int, int, int)}.
+     *
+     * @param r the red value [0,255]
+     * @param g the green value [0,255]
+     * @param b the blue value [0,255]
+     * @param a the alpha value [0,255]
+     * @return the packed ARGB value
+     */
+    static int toRGB(int r, int g, int b, int a) {
+        return ((a & 0xff) << 24) | ((r & 0xff) << 16) | ((g & 0xff) << 8) | (b & 0xff);
+    }
+
+    /**
+     * Pack float values. The same as
+     * {@link java.awt.Color#Color(float, float, float, float)}.
+     *
+     * @param r the red value [0,1]
+     * @param g the green value [0,1]
+     * @param b the blue value [0,1]
+     * @param a the alpha value [0,1]
+     * @return the packed ARGB value
+     */
+    static int toRGB(float r, float g, float b, float a) {
+        return toRGB((int) (r * 255 + 0.5), (int) (g * 255 + 0.5), (int) (b * 255 + 0.5), (int) (a * 255 + 0.5));
+    }
+
+    /**
+     * Convert HSL values to the opaque color.
+     *
+     * @see <a href="http://www.w3.org/TR/2011/REC-css3-color-20110607/#hsl-color">http://www.w3.org/TR/2011/REC-css3-color-20110607/#hsl-color</a>
+     * @param h a hue value [0,1]
+     * @param s a saturation value [0,1]
+     * @param l a lightness value [0,1]
+     * @return the packed ARGB value
+     */
+    static int hslToRGB(float h, float s, float l) {
+        if (s == 0.0f) {
+            return toRGB(l, l, l, 1.0f);
+        }
+        float m2;
+        if (l <= 0.5f) {
+            m2 = l * (s + 1.0f);
+        } else {
+            m2 = l + s - l * s;
+        }
+
+        float m1 = l * 2.0f - m2;
+        float r = hueToRgb(m1, m2, h + 1.0f / 3.0f);
+        float g = hueToRgb(m1, m2, h);
+        float b = hueToRgb(m1, m2, h - 1.0f / 3.0f);
+        return toRGB(fixFloatRgbRange(r), fixFloatRgbRange(g), fixFloatRgbRange(b), 1.0f);
+    }
+
+    private static float hueToRgb(float m1, float m2, float h) {
+        if (h < 0.0f) {
+            h = h + 1.0f;
+        }
+        if (h > 1.0f) {
+            h = h - 1.0f;
+        }
+        if (h * 6.0f < 1.0f) {
+            return m1 + (m2 - m1) * h * 6.0f;
+        }
+        if (h * 2.0f < 1.0f) {
+            return m2;
+        }
+        if (h * 3.0f < 2.0f) {
+            return m1 + (m2 - m1) * (2.0f / 3.0f - h) * 6.0f;
+        }
+        return m1;
+    }
+
+    private static float fixFloatRgbRange(float f) {
+        if (f > 1.0f) {
+            return 1.0f;
+        }
+        if (f < 0.0f) {
+            return 0.0f;
+        }
+        return f;
+    }
+
+    /**
+     * Parse the hex digits of a hex color code (e.g. fff, ffffff).
+     *
+     * @param text the text
+     * @param start the start offset of the digits
+     * @param length the number of the digits (3 or 6)
+     * @return the opaque color
+     */
+    static int parseHexRGB(CharSequence text, int start, int length) {
+        int rgb = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (length == SHORT_HEX_DIGITS) {
+                rgb = (rgb << 8) | (digit << 4) | digit;
+            } else {
+                rgb = (rgb << 4) | digit;
+            }
+        }
+        return 0xff000000 | rgb;
+    }
+
+    /**
+     * Get the value of a hex color code. (e.g. #ffffff for fff)
+     *
+     * @param text the text
+     * @param start the start offset of the digits
+     * @param length the number of the digits (3 or 6)
+     * @return the hex color code with "#" and 6 digits
+     */
+    static String toHexCode(CharSequence text, int start, int length) {
+        char[] hexCode = new char[HEX_DIGITS + 1];
+        hexCode[0] = '#';
+        for (int i = 0; i < HEX_DIGITS; i++) {
+            hexCode[i + 1] = text.charAt(start + (length == SHORT_HEX_DIGITS ? i / 2 : i));
+        }
+        return new String(hexCode);
+    }
+}
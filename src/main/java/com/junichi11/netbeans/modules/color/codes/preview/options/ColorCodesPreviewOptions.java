@@ -18,6 +18,7 @@ package com.junichi11.netbeans.modules.color.codes.preview.options;
 import java.awt.Color;
 import java.util.prefs.PreferenceChangeListener;
 import java.util.prefs.Preferences;
+import java.util.regex.Pattern;
 import org.openide.util.NbPreferences;
 import org.openide.util.WeakListeners;
 
@@ -38,8 +39,13 @@ public final class ColorCodesPreviewOptions {
     private static final String LAST_SELECTED_COLOR_BLUE = "color.codes.preview.last.color.blue"; // NOI18N
     private static final String LAST_SELECTED_COLOR_ALPHA = "color.codes.preview.last.color.alpha"; // NOI18N
     private static final String LAST_SELECTED_APPEND_SEMICOLON = "color.codes.preview.last.semicolon"; // NOI18N
+    private static final String PROVIDER_TIME_BUDGET = "color.codes.preview.provider.time.budget"; // NOI18N
+    private static final int DEFAULT_PROVIDER_TIME_BUDGET = 300;
+    private static final String LINE_SCAN_LIMIT = "color.codes.preview.line.scan.limit"; // NOI18N
+    private static final int DEFAULT_LINE_SCAN_LIMIT = 100000;
 
     private static final ColorCodesPreviewOptions INSTANCE = new ColorCodesPreviewOptions();
+    private volatile Pattern mimeTypePattern;
 
     private ColorCodesPreviewOptions() {
     }
@@ -56,6 +62,22 @@ public final class ColorCodesPreviewOptions {
         getPreferences().put(HEX_CSS_MIME_TYPE_REGEX, regex);
     }
 
+    /**
+     * Get the compiled pattern of the MIME type regex. It is compiled again
+     * only when the regex is changed.
+     *
+     * @return the pattern of the MIME type regex
+     */
+    public Pattern getMimeTypePattern() {
+        String regex = getMimeTypeRegex();
+        Pattern pattern = mimeTypePattern;
+        if (pattern == null || !pattern.pattern().equals(regex)) {
+            pattern = Pattern.compile(regex);
+            mimeTypePattern = pattern;
+        }
+        return pattern;
+    }
+
     public boolean useNamedColors() {
         return getPreferences().getBoolean(HEX_CSS_NAMED_COLORS, false);
     }
@@ -107,6 +129,57 @@ public final class ColorCodesPreviewOptions {
         getPreferences().putBoolean(LAST_SELECTED_APPEND_SEMICOLON, isSelected);
     }
 
+    /**
+     * Get the time budget of a provider for a call. Calls for a few lines get
+     * less time (a few milliseconds per line). A provider which exceeds it
+     * several times in a row is suspended for the document.
+     *
+     * @return the time budget in milliseconds, 0 or less if providers are not
+     * suspended
+     */
+    public int getProviderTimeBudget() {
+        return getPreferences().getInt(PROVIDER_TIME_BUDGET, DEFAULT_PROVIDER_TIME_BUDGET);
+    }
+
+    public void setProviderTimeBudget(int budget) {
+        getPreferences().putInt(PROVIDER_TIME_BUDGET, budget);
+    }
+
+    /**
+     * Get the max number of characters which are scanned for colors of a
+     * line. The rest of a longer line (e.g. minified CSS) is not scanned.
+     *
+     * @return the max number of characters, 0 or less if lines are scanned to
+     * the end
+     */
+    public int getLineScanLimit() {
+        return getPreferences().getInt(LINE_SCAN_LIMIT, DEFAULT_LINE_SCAN_LIMIT);
+    }
+
+    public void setLineScanLimit(int limit) {
+        getPreferences().putInt(LINE_SCAN_LIMIT, limit);
+    }
+
+    /**
+     * Check whether the option changes colors of documents. Options of the
+     * color code generator (e.g. the last selected color) don't change them.
+     *
+     * @param key the key of the option
+     * @return {@code true} if colors of documents may be changed, otherwise
+     * {@code false}
+     */
+    public static boolean isColorValuesOption(String key) {
+        if (key == null) {
+            return false;
+        }
+        return key.startsWith(ENABLED_PREFIX)
+                || HEX_CSS_MIME_TYPE_REGEX.equals(key)
+                || HEX_CSS_NAMED_COLORS.equals(key)
+                || HEX_CSS_RESOLVE_CSS_VARIABLES.equals(key)
+                || PROVIDER_TIME_BUDGET.equals(key)
+                || LINE_SCAN_LIMIT.equals(key);
+    }
+
     public void addPreferenceChangeListener(PreferenceChangeListener listener) {
         Preferences preferences = getPreferences();
         preferences.addPreferenceChangeListener(WeakListeners.create(PreferenceChangeListener.class, listener, preferences));
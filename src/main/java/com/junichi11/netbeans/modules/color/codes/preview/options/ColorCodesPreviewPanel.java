@@ -88,6 +88,10 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
         enabledPanel = new javax.swing.JPanel();
         errorLabel = new javax.swing.JLabel();
         descriptionLabel = new javax.swing.JLabel();
+        timeBudgetLabel = new javax.swing.JLabel();
+        timeBudgetSpinner = new javax.swing.JSpinner();
+        lineScanLimitLabel = new javax.swing.JLabel();
+        lineScanLimitSpinner = new javax.swing.JSpinner();
 
         providersComboBox.addItemListener(new java.awt.event.ItemListener() {
             public void itemStateChanged(java.awt.event.ItemEvent evt) {
@@ -103,6 +107,26 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
 
         org.openide.awt.Mnemonics.setLocalizedText(descriptionLabel, "DESCRIPTION"); // NOI18N
 
+        timeBudgetLabel.setLabelFor(timeBudgetSpinner);
+        org.openide.awt.Mnemonics.setLocalizedText(timeBudgetLabel, org.openide.util.NbBundle.getMessage(ColorCodesPreviewPanel.class, "ColorCodesPreviewPanel.timeBudgetLabel.text")); // NOI18N
+
+        timeBudgetSpinner.setModel(new javax.swing.SpinnerNumberModel(300, 0, null, 100));
+        timeBudgetSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                timeBudgetSpinnerStateChanged(evt);
+            }
+        });
+
+        lineScanLimitLabel.setLabelFor(lineScanLimitSpinner);
+        org.openide.awt.Mnemonics.setLocalizedText(lineScanLimitLabel, org.openide.util.NbBundle.getMessage(ColorCodesPreviewPanel.class, "ColorCodesPreviewPanel.lineScanLimitLabel.text")); // NOI18N
+
+        lineScanLimitSpinner.setModel(new javax.swing.SpinnerNumberModel(100000, 0, null, 10000));
+        lineScanLimitSpinner.addChangeListener(new javax.swing.event.ChangeListener() {
+            public void stateChanged(javax.swing.event.ChangeEvent evt) {
+                lineScanLimitSpinnerStateChanged(evt);
+            }
+        });
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
         layout.setHorizontalGroup(
@@ -115,7 +139,15 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                         .addComponent(enabledPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                     .addComponent(errorLabel)
-                    .addComponent(descriptionLabel))
+                    .addComponent(descriptionLabel)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(timeBudgetLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(timeBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(lineScanLimitLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(lineScanLimitSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)))
                 .addGap(0, 0, Short.MAX_VALUE))
         );
         layout.setVerticalGroup(
@@ -128,6 +160,14 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
                 .addComponent(descriptionLabel)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(providerOptionsPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(timeBudgetLabel)
+                    .addComponent(timeBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(lineScanLimitLabel)
+                    .addComponent(lineScanLimitSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(errorLabel))
         );
@@ -140,6 +180,14 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
         }
     }//GEN-LAST:event_providersComboBoxItemStateChanged
 
+    private void timeBudgetSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_timeBudgetSpinnerStateChanged
+        controller.changed();
+    }//GEN-LAST:event_timeBudgetSpinnerStateChanged
+
+    private void lineScanLimitSpinnerStateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_lineScanLimitSpinnerStateChanged
+        controller.changed();
+    }//GEN-LAST:event_lineScanLimitSpinnerStateChanged
+
     private void setProviderPanels() {
         ColorCodesProvider selectedProvider = (ColorCodesProvider) providersComboBox.getSelectedItem();
         setEnabledPanel(selectedProvider);
@@ -174,6 +222,8 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
         enabledCheckBoxes.forEach((id, checkBox) -> {
             checkBox.setSelected(options.isEnabled(id));
         });
+        timeBudgetSpinner.setValue(Math.max(options.getProviderTimeBudget(), 0));
+        lineScanLimitSpinner.setValue(Math.max(options.getLineScanLimit(), 0));
     }
 
     void store() {
@@ -182,6 +232,8 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
         enabledCheckBoxes.forEach((id, checkBox) -> {
             options.setEnabled(id, checkBox.isSelected());
         });
+        options.setProviderTimeBudget((Integer) timeBudgetSpinner.getValue());
+        options.setLineScanLimit((Integer) lineScanLimitSpinner.getValue());
     }
 
     boolean valid() {
@@ -206,7 +258,11 @@ final class ColorCodesPreviewPanel extends javax.swing.JPanel {
     private javax.swing.JLabel descriptionLabel;
     private javax.swing.JPanel enabledPanel;
     private javax.swing.JLabel errorLabel;
+    private javax.swing.JLabel lineScanLimitLabel;
+    private javax.swing.JSpinner lineScanLimitSpinner;
     private javax.swing.JPanel providerOptionsPanel;
     private javax.swing.JComboBox<ColorCodesProvider> providersComboBox;
+    private javax.swing.JLabel timeBudgetLabel;
+    private javax.swing.JSpinner timeBudgetSpinner;
     // End of variables declaration//GEN-END:variables
 }
@@ -15,9 +15,16 @@
  */
 package com.junichi11.netbeans.modules.color.codes.preview.spi;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Segment;
 
 /**
  * This provides support for showing the colors for the specific color code in
@@ -77,6 +84,109 @@ public interface ColorCodesProvider {
      */
     public List<ColorValue> getColorValues(Document document, String line, int lineNumber, Map<String, List<ColorValue>> variableColorValues);
 
+    /**
+     * Parse the line in the range of the text then return color values.
+     * Offsets of color values are relative to the start offset. The text may
+     * be the content of the document, so don't keep it.
+     *
+     * The default implementation copies the line and calls
+     * {@link #getColorValues(Document, String, int, Map)}. Override this to
+     * parse the text without copying it.
+     *
+     * @since 0.14.0
+     * @param document the document
+     * @param text the text which contains the line
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text (exclusive)
+     * @param lineNumber line number to store to ColorValue
+     * @param variableColorValues save colors of variables to this map
+     * @return color values
+     */
+    public default List<ColorValue> getColorValues(Document document, CharSequence text, int start, int end, int lineNumber, Map<String, List<ColorValue>> variableColorValues) {
+        return getColorValues(document, text.subSequence(start, end).toString(), lineNumber, variableColorValues);
+    }
+
+    /**
+     * Scan the range of the document then pass color values to the sink. Only
+     * colors which start in the range are passed, but a color may continue
+     * after the end offset (e.g. arguments in several lines). Variables of
+     * previous lines are not resolved. This is called with the document read
+     * locked.
+     *
+     * The default implementation calls
+     * {@link #getColorValues(Document, CharSequence, int, int, int, Map)} for
+     * each line in the range. Override this to scan the range at once.
+     *
+     * @since 0.14.0
+     * @param document the document
+     * @param startOffset the start offset of the range
+     * @param endOffset the end offset of the range (exclusive)
+     * @param sink the sink which receives color values
+     */
+    public default void scan(Document document, int startOffset, int endOffset, ColorValueSink sink) {
+        Element root = document.getDefaultRootElement();
+        Segment text = new Segment();
+        int startLine = root.getElementIndex(startOffset);
+        int endLine = root.getElementIndex(Math.max(startOffset, endOffset - 1));
+        for (int line = startLine; line <= endLine; line++) {
+            Element lineElement = root.getElement(line);
+            int lineStartOffset = lineElement.getStartOffset();
+            // exclude the line separator
+            int lineEndOffset = Math.min(lineElement.getEndOffset() - 1, document.getLength());
+            if (lineEndOffset <= lineStartOffset) {
+                continue;
+            }
+            try {
+                document.getText(lineStartOffset, lineEndOffset - lineStartOffset, text);
+            } catch (BadLocationException ex) {
+                Logger.getLogger(ColorCodesProvider.class.getName()).log(Level.WARNING, "Incorrect offset : {0}", ex.offsetRequested()); // NOI18N
+                return;
+            }
+            for (ColorValue colorValue : getColorValues(document, text, 0, text.length(), line, new HashMap<>())) {
+                int colorStartOffset = lineStartOffset + colorValue.getStartOffset();
+                if (startOffset <= colorStartOffset && colorStartOffset < endOffset) {
+                    sink.accept(colorStartOffset, lineStartOffset + colorValue.getEndOffset(), colorValue.getColor().getRGB(), () -> colorValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get trigger literals of color codes. Every color code which this
+     * provider finds contains at least one of them (e.g. "#" and "rgb" for css
+     * colors), so lines which contain none of them are skipped without calling
+     * this provider. Letters are compared case-insensitively.
+     *
+     * The default implementation returns an empty list, it means that all
+     * lines are parsed.
+     *
+     * @since 0.14.0
+     * @param document the document
+     * @return trigger literals, an empty list if lines can't be pre-screened
+     */
+    public default List<String> getTriggers(Document document) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Check whether this provider can be called on several threads at once.
+     * If it can, {@link #scan(Document, int, int, ColorValueSink)} may be
+     * called for different ranges of the same document concurrently (e.g.
+     * the first scan of a large document). Then, the document is a copy of
+     * the lines which contain the range and some following lines, and offsets
+     * are relative to the copy. Only the mime type property is copied. Return
+     * {@code false} if this provider keeps state between calls.
+     *
+     * The default implementation returns {@code false}.
+     *
+     * @since 0.14.0
+     * @return {@code true} if this provider is thread-safe, otherwise
+     * {@code false}
+     */
+    public default boolean isThreadSafe() {
+        return false;
+    }
+
     /**
      * Get the start position for parsing lines.
      *
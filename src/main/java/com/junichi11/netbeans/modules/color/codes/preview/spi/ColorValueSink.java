@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.spi;
+
+import java.util.function.Supplier;
+
+/**
+ * Receiver of color values which are found by
+ * {@link ColorCodesProvider#scan(javax.swing.text.Document, int, int, ColorValueSink)}.
+ * Colors are passed as offsets and packed ARGB values. A {@link ColorValue}
+ * (e.g. its text) is created only if the receiver needs it.
+ *
+ * @author junichi11
+ * @since 0.14.0
+ */
+@FunctionalInterface
+public interface ColorValueSink {
+
+    /**
+     * Accept a color value. Color values are not necessarily passed in order
+     * of offsets.
+     *
+     * @since 0.14.0
+     * @param startOffset the start offset of the color in the document
+     * @param endOffset the end offset of the color in the document
+     * @param argb the color in the default sRGB (bits 24-31 are alpha, 16-23
+     * are red, 8-15 are green, 0-7 are blue)
+     * @param colorValue the supplier of the color value, its offsets are
+     * relative to the start of its line. It is available only in this method
+     */
+    void accept(int startOffset, int endOffset, int argb, Supplier<ColorValue> colorValue);
+
+    /**
+     * Get the offset from which colors are needed. Colors which start before
+     * it can be skipped (e.g. the rest of the line whose leftmost colors are
+     * already known), so a provider can continue to scan from it.
+     *
+     * The default implementation returns the offset, it means that all
+     * colors are needed.
+     *
+     * @since 0.14.0
+     * @param offset the offset in the document
+     * @return the offset from which colors are needed, it is the offset or
+     * greater
+     */
+    default int skip(int offset) {
+        return offset;
+    }
+}
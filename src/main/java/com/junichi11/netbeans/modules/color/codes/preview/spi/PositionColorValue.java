@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.spi;
+
+import java.awt.Color;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Position;
+import org.openide.text.NbDocument;
+
+/**
+ * ColorValue whose offsets are tracked with positions of the document. The
+ * line and offsets follow edits of the document, so the value can be used
+ * after the document is changed without parsing it again. Text which is
+ * inserted at the start or the end of the color is not included in the
+ * range.
+ *
+ * @author junichi11
+ * @since 0.14.0
+ */
+public final class PositionColorValue implements ColorValue {
+
+    private final Document document;
+    private final ColorValue colorValue;
+    private final Position startPosition;
+    private final Position endPosition;
+    // the text of the color in the document, it may differ from the value (e.g. #fff and #ffffff)
+    private final String text;
+
+    private PositionColorValue(Document document, ColorValue colorValue, Position startPosition, Position endPosition, String text) {
+        this.document = document;
+        this.colorValue = colorValue;
+        this.startPosition = startPosition;
+        this.endPosition = endPosition;
+        this.text = text;
+    }
+
+    /**
+     * Create the color value which is tracked with positions. The document
+     * should be locked.
+     *
+     * @since 0.14.0
+     * @param document the document
+     * @param colorValue the color value of the document
+     * @return the color value which is tracked with positions
+     * @throws BadLocationException if the color value is not in the document
+     */
+    public static PositionColorValue create(Document document, ColorValue colorValue) throws BadLocationException {
+        if (colorValue instanceof PositionColorValue) {
+            return (PositionColorValue) colorValue;
+        }
+        Element root = document.getDefaultRootElement();
+        int line = colorValue.getLine();
+        if (line < 0 || line >= root.getElementCount()) {
+            throw new BadLocationException("Invalid line: " + colorValue.getLine(), -1); // NOI18N
+        }
+        int lineStartOffset = root.getElement(line).getStartOffset();
+        int startOffset = lineStartOffset + colorValue.getStartOffset();
+        int endOffset = lineStartOffset + colorValue.getEndOffset();
+        String text = document.getText(startOffset, endOffset - startOffset);
+        Position startPosition = NbDocument.createPosition(document, startOffset, Position.Bias.Forward);
+        Position endPosition = NbDocument.createPosition(document, endOffset, Position.Bias.Backward);
+        return new PositionColorValue(document, colorValue, startPosition, endPosition, text);
+    }
+
+    /**
+     * Get the document of the color.
+     *
+     * @since 0.14.0
+     * @return the document
+     */
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * Get the start position of the color in the document.
+     *
+     * @since 0.14.0
+     * @return the start position
+     */
+    public Position getStartPosition() {
+        return startPosition;
+    }
+
+    /**
+     * Get the end position of the color in the document.
+     *
+     * @since 0.14.0
+     * @return the end position
+     */
+    public Position getEndPosition() {
+        return endPosition;
+    }
+
+    /**
+     * Check whether the text of the color is not changed. The document should
+     * be locked.
+     *
+     * @since 0.14.0
+     * @return {@code true} if the text between positions is the same as the
+     * text when this is created, otherwise {@code false}
+     */
+    public boolean isValid() {
+        int startOffset = startPosition.getOffset();
+        int length = endPosition.getOffset() - startOffset;
+        if (length != text.length()) {
+            return false;
+        }
+        try {
+            return text.equals(document.getText(startOffset, length));
+        } catch (BadLocationException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public Color getColor() {
+        return colorValue.getColor();
+    }
+
+    @Override
+    public int getStartOffset() {
+        int startOffset = startPosition.getOffset();
+        return startOffset - getLineStartOffset(startOffset);
+    }
+
+    @Override
+    public int getEndOffset() {
+        // relative to the start of the line where the color starts
+        return endPosition.getOffset() - getLineStartOffset(startPosition.getOffset());
+    }
+
+    @Override
+    public int getLine() {
+        return document.getDefaultRootElement().getElementIndex(startPosition.getOffset());
+    }
+
+    @Override
+    public String getValue() {
+        return colorValue.getValue();
+    }
+
+    @Override
+    public boolean isEditable() {
+        return colorValue.isEditable();
+    }
+
+    @Override
+    public ColorCodeFormatter getFormatter() {
+        return colorValue.getFormatter();
+    }
+
+    private int getLineStartOffset(int offset) {
+        Element root = document.getDefaultRootElement();
+        return root.getElement(root.getElementIndex(offset)).getStartOffset();
+    }
+
+    @Override
+    public String toString() {
+        return "[startPosition=" + startPosition + ", endPosition=" + endPosition + ", value=" + getValue() + ']'; // NOI18N
+    }
+}
@@ -16,6 +16,7 @@
 package com.junichi11.netbeans.modules.color.codes.preview.ui;
 
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.PositionColorValue;
 import com.junichi11.netbeans.modules.color.codes.preview.utils.Utils;
 import java.awt.Color;
 import java.awt.Component;
@@ -89,6 +90,10 @@ public class ColorCodesPanel extends JComponent {
                         if (document == null) {
                             return;
                         }
+                        if (colorValue instanceof PositionColorValue) {
+                            replace(document, (PositionColorValue) colorValue, selectedColor);
+                            return;
+                        }
                         final int startOffset = colorValue.getStartOffset();
                         final int endOffset = colorValue.getEndOffset();
                         int line = colorValue.getLine();
@@ -117,6 +122,33 @@ public class ColorCodesPanel extends JComponent {
         }
     }
 
+    /**
+     * Replace the color value at its current position. If the color has been
+     * edited, the text between the positions is replaced.
+     */
+    private static void replace(BaseDocument document, PositionColorValue colorValue, Color selectedColor) {
+        if (colorValue.getDocument() != document) {
+            return;
+        }
+        try {
+            NbDocument.runAtomicAsUser((StyledDocument) document, () -> {
+                if (!colorValue.isValid()) {
+                    LOGGER.log(Level.INFO, "The color has been edited: {0}", colorValue); // NOI18N
+                }
+                int startOffset = colorValue.getStartPosition().getOffset();
+                int endOffset = colorValue.getEndPosition().getOffset();
+                try {
+                    document.remove(startOffset, endOffset - startOffset);
+                    document.insertString(startOffset, colorValue.getFormatter().format(selectedColor), null);
+                } catch (BadLocationException ex) {
+                    LOGGER.log(Level.WARNING, ex.getMessage());
+                }
+            });
+        } catch (BadLocationException ex) {
+            LOGGER.log(Level.WARNING, ex.getMessage());
+        }
+    }
+
     public void shutdown() {
         // remove listeners
         for (Component component : getComponents()) {
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import java.util.Arrays;
+import org.netbeans.api.annotations.common.CheckForNull;
+
+/**
+ * Colors of all lines of a document. Colors are kept in parallel int arrays
+ * with a fixed number of slots per line instead of objects per line, so
+ * indexing a huge document doesn't create objects for each line. Offsets are
+ * relative to the start of the line. The text of a color is read from the
+ * document if it is needed.
+ *
+ * This is not thread safe.
+ *
+ * @author junichi11
+ */
+final class ColorIndex {
+
+    private static final byte NOT_PARSED = 0;
+    private static final byte OUTDATED = 1;
+    private static final byte UP_TO_DATE = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // the number of colors which are kept for a line
+    private final int slots;
+    private int size;
+    private byte[] states = new byte[INITIAL_CAPACITY];
+    private byte[] counts = new byte[INITIAL_CAPACITY];
+    // line * slots + color index
+    private int[] startOffsets;
+    private int[] endOffsets;
+    private int[] colors;
+
+    ColorIndex(int slots) {
+        assert slots > 0 && slots <= Byte.MAX_VALUE;
+        this.slots = slots;
+        this.startOffsets = new int[INITIAL_CAPACITY * slots];
+        this.endOffsets = new int[INITIAL_CAPACITY * slots];
+        this.colors = new int[INITIAL_CAPACITY * slots];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clear all lines then add lines which are not parsed.
+     *
+     * @param lineCount the number of lines
+     */
+    void reset(int lineCount) {
+        size = 0;
+        replaceLines(0, 0, lineCount);
+    }
+
+    boolean isUpToDate(int line) {
+        return states[line] == UP_TO_DATE;
+    }
+
+    /**
+     * Mark the line as outdated. Its colors are still returned until it is
+     * parsed again.
+     *
+     * @param line the line index
+     */
+    void invalidate(int line) {
+        if (states[line] == UP_TO_DATE) {
+            states[line] = OUTDATED;
+        }
+    }
+
+    /**
+     * Set parsed colors of the line. Only leftmost colors are kept if there
+     * are more colors than slots.
+     *
+     * @param line the line index
+     * @param lineColors the colors of the line
+     */
+    void set(int line, LineColors lineColors) {
+        int count = Math.min(lineColors.size(), slots);
+        int base = line * slots;
+        for (int i = 0; i < count; i++) {
+            startOffsets[base + i] = lineColors.getStartOffset(i);
+            endOffsets[base + i] = lineColors.getEndOffset(i);
+            colors[base + i] = lineColors.getRGB(i);
+        }
+        counts[line] = (byte) count;
+        states[line] = UP_TO_DATE;
+    }
+
+    /**
+     * Get the colors of the line.
+     *
+     * @param line the line index
+     * @return the colors, {@code null} if the line is not parsed yet
+     */
+    @CheckForNull
+    LineColors get(int line) {
+        if (states[line] == NOT_PARSED) {
+            return null;
+        }
+        int count = counts[line];
+        if (count == 0) {
+            return LineColors.EMPTY;
+        }
+        LineColors.Builder builder = new LineColors.Builder(count);
+        int base = line * slots;
+        for (int i = 0; i < count; i++) {
+            builder.add(startOffsets[base + i], endOffsets[base + i], colors[base + i]);
+        }
+        return builder.build();
+    }
+
+    int getColorCount(int line) {
+        return counts[line];
+    }
+
+    int getEndOffset(int line, int index) {
+        return endOffsets[line * slots + index];
+    }
+
+    int getRGB(int line, int index) {
+        return colors[line * slots + index];
+    }
+
+    /**
+     * Check whether the kept colors of the line are the same as the colors.
+     * Offsets are not compared.
+     *
+     * @param line the line index
+     * @param lineColors the colors
+     * @return {@code true} if the colors are the same, otherwise
+     * {@code false}
+     */
+    boolean hasSameColors(int line, LineColors lineColors) {
+        int count = Math.min(lineColors.size(), slots);
+        if (states[line] == NOT_PARSED) {
+            // nothing is drawn
+            return count == 0;
+        }
+        if (counts[line] != count) {
+            return false;
+        }
+        int base = line * slots;
+        for (int i = 0; i < count; i++) {
+            if (colors[base + i] != lineColors.getRGB(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace lines with lines which are not parsed.
+     *
+     * @param index the first line index
+     * @param removed the number of removed lines
+     * @param added the number of added lines
+     */
+    void replaceLines(int index, int removed, int added) {
+        int newSize = size - removed + added;
+        ensureCapacity(newSize);
+        int tail = size - index - removed;
+        if (removed != added && tail > 0) {
+            System.arraycopy(states, index + removed, states, index + added, tail);
+            System.arraycopy(counts, index + removed, counts, index + added, tail);
+            System.arraycopy(startOffsets, (index + removed) * slots, startOffsets, (index + added) * slots, tail * slots);
+            System.arraycopy(endOffsets, (index + removed) * slots, endOffsets, (index + added) * slots, tail * slots);
+            System.arraycopy(colors, (index + removed) * slots, colors, (index + added) * slots, tail * slots);
+        }
+        Arrays.fill(states, index, index + added, NOT_PARSED);
+        Arrays.fill(counts, index, index + added, (byte) 0);
+        size = newSize;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= states.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, states.length + (states.length >> 1));
+        states = Arrays.copyOf(states, newCapacity);
+        counts = Arrays.copyOf(counts, newCapacity);
+        startOffsets = Arrays.copyOf(startOffsets, newCapacity * slots);
+        endOffsets = Arrays.copyOf(endOffsets, newCapacity * slots);
+        colors = Arrays.copyOf(colors, newCapacity * slots);
+    }
+}
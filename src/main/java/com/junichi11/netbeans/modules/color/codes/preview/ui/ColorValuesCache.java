@@ -0,0 +1,1073 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Segment;
+import org.netbeans.api.annotations.common.CheckForNull;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Cache of the color values per line for a document. Lines are parsed only
+ * once and the cache is patched with document events, so painting the side
+ * bar just reads cached values.
+ *
+ * Lines are parsed on a worker thread. Painting requests the visible lines
+ * and listeners are notified once per parsed batch with the lines whose
+ * colors are actually changed.
+ *
+ * Variables which are used across lines are kept in the symbol table, so a
+ * line is parsed with them without parsing all previous lines again.
+ *
+ * If all providers are thread-safe and colors don't depend on previous lines,
+ * lines for the index are scanned in chunks on the common fork join pool.
+ *
+ * Providers which are too slow for the document are suspended by the guard.
+ *
+ * Only the leftmost colors which are drawn are kept for each line, and
+ * providers skip the rest of a line once they are found. They are stored in
+ * the color index without objects per line.
+ *
+ * Long lines (e.g. minified CSS) are scanned in chunks until their leftmost
+ * colors are found, and characters after the scan limit are not scanned.
+ *
+ * @author junichi11
+ */
+final class ColorValuesCache implements DocumentListener {
+
+    private static final RequestProcessor RP = new RequestProcessor(ColorValuesCache.class.getName(), 1);
+    private static final int PARSE_DELAY = 50;
+    // the number of lines which are parsed at once for the index of the whole document
+    private static final int INDEX_CHUNK_SIZE = 1000;
+    // the number of lines which are scanned by a task of the fork join pool
+    private static final int PARALLEL_CHUNK_SIZE = 200;
+    // the number of previous lines which are checked for colors continuing to an edited line
+    private static final int MAX_CONTINUED_LINES = 5;
+    // lines longer than this are scanned in chunks
+    static final int LONG_LINE_CHUNK_SIZE = 16 * 1024;
+    // the number of characters which are scanned after a chunk for colors across its end
+    // it must be longer than colors (e.g. new java.awt.Color(0.5f, 0.5f, 0.5f, 0.5f))
+    static final int CHUNK_OVERLAP = 256;
+    // the property which NbEditorUtilities.getMimeType() reads
+    private static final String MIME_TYPE_PROPERTY = "mimeType"; // NOI18N
+    private static final Logger LOGGER = Logger.getLogger(ColorValuesCache.class.getName());
+
+    private final Document document;
+    private final RequestProcessor.Task parseTask;
+    private final List<ColorValuesChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final ColorIndex colorIndex = new ColorIndex(SwatchImageCache.MAX_COLORS);
+    private List<ColorCodesProvider> providers = Collections.emptyList();
+    private int requestedStartLine = -1;
+    private int requestedEndLine = -1;
+    // incremented whenever cached values are invalidated
+    private int modificationCount;
+    // true if all lines are kept up to date (e.g. for the overview)
+    private boolean indexRequested;
+    // the number of components which show the index (e.g. overviews)
+    private int indexClients;
+    private boolean resetSymbolTable;
+
+    // for providers which resolve colors using previous lines (e.g. Sass and Less variables)
+    // only accessed under the document lock
+    private final VariableSymbolTable symbolTable = new VariableSymbolTable();
+    private final ProviderGuard guard = new ProviderGuard();
+    // true if a provider is suspended while parsing
+    private volatile boolean providerSuspended;
+    // only used on the worker thread, it refers to the document content if possible
+    private final Segment lineText = new Segment();
+    // only used on the worker thread, it is updated before lines are parsed
+    private int scanLimit = Integer.MAX_VALUE;
+
+    private ColorValuesCache(Document document) {
+        this.document = document;
+        this.parseTask = RP.create(this::parseRequestedLines);
+    }
+
+    /**
+     * Get the cache for the document. The cache is shared by all editors of
+     * the document.
+     *
+     * @param document the document
+     * @return the cache for the document
+     */
+    static ColorValuesCache get(Document document) {
+        synchronized (document) {
+            ColorValuesCache cache = (ColorValuesCache) document.getProperty(ColorValuesCache.class);
+            if (cache == null) {
+                cache = new ColorValuesCache(document);
+                document.putProperty(ColorValuesCache.class, cache);
+                document.addDocumentListener(cache);
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * Get the cached colors for the line. This never parses the line. The
+     * colors may be outdated if the line has been changed and it is not parsed
+     * again yet. Only the leftmost colors which are drawn are cached.
+     *
+     * @param line the line index
+     * @return the cached colors, {@code null} if the line is not parsed yet
+     */
+    @CheckForNull
+    synchronized LineColors getLineColors(int line) {
+        if (line < 0 || line >= colorIndex.size()) {
+            return null;
+        }
+        return colorIndex.get(line);
+    }
+
+    /**
+     * Get the cached leftmost colors for the line without creating objects,
+     * so this can be called for each line when painting.
+     *
+     * @param line the line index
+     * @param argbs the array which receives the colors
+     * @return the number of colors which are set to the array, 0 if the line
+     * is not parsed yet
+     */
+    synchronized int getDrawnColors(int line, int[] argbs) {
+        if (line < 0 || line >= colorIndex.size()) {
+            return 0;
+        }
+        int count = Math.min(colorIndex.getColorCount(line), argbs.length);
+        for (int i = 0; i < count; i++) {
+            argbs[i] = colorIndex.getRGB(line, i);
+        }
+        return count;
+    }
+
+    /**
+     * Request parsing lines which are not parsed yet or outdated. They are
+     * parsed on a worker thread, then listeners are notified.
+     *
+     * @param startLine the first line index
+     * @param endLine the last line index (inclusive)
+     * @param providers the enabled providers
+     */
+    synchronized void request(int startLine, int endLine, List<ColorCodesProvider> providers) {
+        ensureLineCount();
+        setProviders(providers);
+        if (findOutdatedLine(startLine, endLine) == -1) {
+            return;
+        }
+        extendRequestedLines(startLine, endLine);
+        parseTask.schedule(PARSE_DELAY);
+    }
+
+    /**
+     * Request parsing all lines which are not parsed yet or outdated. They
+     * are parsed on a worker thread in chunks after requested visible lines.
+     * Once this is called, all lines are kept up to date until the last
+     * client of the index is removed.
+     *
+     * @param providers the enabled providers
+     */
+    synchronized void requestAll(List<ColorCodesProvider> providers) {
+        ensureLineCount();
+        setProviders(providers);
+        indexRequested = true;
+        if (findOutdatedLine(0, colorIndex.size() - 1) == -1) {
+            return;
+        }
+        parseTask.schedule(PARSE_DELAY);
+    }
+
+    /**
+     * Get providers which are not suspended for the document.
+     *
+     * @param providers the enabled providers
+     * @return the providers which are not suspended
+     */
+    List<ColorCodesProvider> getActiveProviders(List<ColorCodesProvider> providers) {
+        return guard.filter(providers);
+    }
+
+    /**
+     * Add a client which shows the index of the whole document.
+     */
+    synchronized void addIndexClient() {
+        indexClients++;
+    }
+
+    /**
+     * Remove a client of the index. If it is the last one, lines which are
+     * not visible are not parsed any more.
+     */
+    synchronized void removeIndexClient() {
+        if (indexClients > 0) {
+            indexClients--;
+        }
+        if (indexClients == 0) {
+            indexRequested = false;
+        }
+    }
+
+    /**
+     * Visit the first color of each line which has colors. Colors are read
+     * from the index directly without creating objects. The cache is locked
+     * while visiting, so the visitor must be fast.
+     *
+     * @param visitor the visitor
+     */
+    synchronized void visitFirstColors(FirstColorVisitor visitor) {
+        int lineCount = colorIndex.size();
+        for (int i = 0; i < lineCount; i++) {
+            if (colorIndex.getColorCount(i) > 0) {
+                visitor.visit(i, lineCount, colorIndex.getRGB(i, 0));
+            }
+        }
+    }
+
+    /**
+     * Invalidate all cached color values. This should be called when the
+     * results of providers are changed (e.g. options are changed). Outdated
+     * values are still returned until lines are parsed again.
+     */
+    synchronized void clear() {
+        invalidateAll();
+    }
+
+    /**
+     * Get the max number of characters which are scanned for colors of a
+     * line.
+     *
+     * @return the max number of characters
+     */
+    static int getLineScanLimit() {
+        int limit = ColorCodesPreviewOptions.getInstance().getLineScanLimit();
+        return limit <= 0 ? Integer.MAX_VALUE : limit;
+    }
+
+    // for unit tests
+    void waitFinished() {
+        parseTask.waitFinished();
+    }
+
+    void addColorValuesChangeListener(ColorValuesChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    void removeColorValuesChangeListener(ColorValuesChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void setProviders(List<ColorCodesProvider> providers) {
+        if (!this.providers.equals(providers)) {
+            this.providers = new ArrayList<>(providers);
+            invalidateAll();
+        }
+    }
+
+    private void invalidateAll() {
+        for (int i = 0; i < colorIndex.size(); i++) {
+            colorIndex.invalidate(i);
+        }
+        modificationCount++;
+        resetSymbolTable = true;
+    }
+
+    private void ensureLineCount() {
+        int lineCount = document.getDefaultRootElement().getElementCount();
+        if (colorIndex.size() != lineCount) {
+            // should not happen because the cache is patched with document events
+            colorIndex.reset(lineCount);
+            invalidateAll();
+        }
+    }
+
+    private int findOutdatedLine(int startLine, int endLine) {
+        int start = Math.max(startLine, 0);
+        int end = Math.min(endLine, colorIndex.size() - 1);
+        for (int i = start; i <= end; i++) {
+            if (!colorIndex.isUpToDate(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void extendRequestedLines(int startLine, int endLine) {
+        if (requestedStartLine == -1) {
+            requestedStartLine = startLine;
+            requestedEndLine = endLine;
+        } else {
+            requestedStartLine = Math.min(requestedStartLine, startLine);
+            requestedEndLine = Math.max(requestedEndLine, endLine);
+        }
+    }
+
+    private void parseRequestedLines() {
+        int[][] changedLines = new int[1][];
+        document.render(() -> changedLines[0] = parseRequestedLinesUnderLock());
+        if (changedLines[0] != null) {
+            for (ColorValuesChangeListener listener : listeners) {
+                listener.colorValuesChanged(changedLines[0][0], changedLines[0][1]);
+            }
+        }
+    }
+
+    /**
+     * Parse requested lines. The document is read locked, so the lines are
+     * not changed while parsing them.
+     *
+     * @return the range of lines whose colors are changed ({start, end}),
+     * {@code null} if no colors are changed
+     */
+    @CheckForNull
+    private int[] parseRequestedLinesUnderLock() {
+        int startLine;
+        int endLine;
+        int count;
+        int indexChunkSize = INDEX_CHUNK_SIZE * Math.max(ForkJoinPool.getCommonPoolParallelism(), 1);
+        boolean indexing = false;
+        List<ColorCodesProvider> currentProviders;
+        List<Integer> lines = new ArrayList<>();
+        synchronized (this) {
+            ensureLineCount();
+            startLine = Math.max(requestedStartLine, 0);
+            endLine = Math.min(requestedEndLine, colorIndex.size() - 1);
+            requestedStartLine = -1;
+            requestedEndLine = -1;
+            for (int i = startLine; i <= endLine; i++) {
+                if (!colorIndex.isUpToDate(i)) {
+                    lines.add(i);
+                }
+            }
+            if (lines.isEmpty() && indexRequested) {
+                // requested lines are up to date, parse other lines for the index
+                // parse them in chunks not to block editing the document for a long time
+                indexing = true;
+                // lines for all workers are collected, they are reduced later unless they are scanned in parallel
+                for (int i = 0; i < colorIndex.size() && lines.size() < indexChunkSize; i++) {
+                    if (!colorIndex.isUpToDate(i)) {
+                        lines.add(i);
+                    }
+                }
+            }
+            if (resetSymbolTable) {
+                symbolTable.clear();
+                resetSymbolTable = false;
+            }
+            count = modificationCount;
+            currentProviders = guard.filter(providers);
+        }
+        scanLimit = getLineScanLimit();
+        if (lines.isEmpty()) {
+            return null;
+        }
+
+        // parse without the lock for the cache not to block painting
+        // lines which don't have trigger literals of providers are skipped
+        TriggerFilter filter = TriggerFilter.create(currentProviders, document);
+        Map<Integer, LineColors> results = new HashMap<>();
+        int changedDefinitionLine = -1;
+        boolean parallel = indexing && isThreadSafe(currentProviders)
+                && getStartIndex(lines.get(lines.size() - 1), currentProviders) == lines.get(lines.size() - 1);
+        if (indexing && !parallel && lines.size() > INDEX_CHUNK_SIZE) {
+            lines.subList(INDEX_CHUNK_SIZE, lines.size()).clear();
+        }
+        int lastLine = lines.get(lines.size() - 1);
+        if (parallel && lines.size() > PARALLEL_CHUNK_SIZE) {
+            scanInParallel(lines, currentProviders, filter, results);
+        } else if (getStartIndex(lastLine, currentProviders) == lastLine) {
+            // colors don't depend on previous lines, scan ranges of lines at once
+            scan(document, lines, currentProviders, filter, lineText, results);
+        } else {
+            VariableContext context = null;
+            for (int line : lines) {
+                int startIndex = getStartIndex(line, currentProviders);
+                if (context == null || context.startLine != startIndex || context.line > line) {
+                    context = new VariableContext(startIndex);
+                }
+                // colors of this line may depend on previous lines
+                // definitions of this line are recorded even if startIndex is this line (e.g. the first line)
+                int changedLine = resolveVariables(context, line, currentProviders, filter, results);
+                if (changedLine != -1 && (changedDefinitionLine == -1 || changedLine < changedDefinitionLine)) {
+                    changedDefinitionLine = changedLine;
+                }
+            }
+        }
+
+        // publish results at once
+        synchronized (this) {
+            if (providerSuspended) {
+                // parse all lines again without the suspended provider
+                providerSuspended = false;
+                invalidateAll();
+            }
+            if (count != modificationCount) {
+                // cleared while parsing
+                if (!indexing) {
+                    extendRequestedLines(startLine, endLine);
+                }
+                parseTask.schedule(PARSE_DELAY);
+                return null;
+            }
+            int changedStartLine = -1;
+            int changedEndLine = -1;
+            for (Map.Entry<Integer, LineColors> entry : results.entrySet()) {
+                int line = entry.getKey();
+                if (!colorIndex.hasSameColors(line, entry.getValue())) {
+                    changedStartLine = changedStartLine == -1 ? line : Math.min(changedStartLine, line);
+                    changedEndLine = Math.max(changedEndLine, line);
+                }
+                colorIndex.set(line, entry.getValue());
+            }
+            if (changedDefinitionLine != -1) {
+                // colors of the following lines may be changed
+                boolean invalidated = false;
+                for (int i = changedDefinitionLine + 1; i < colorIndex.size(); i++) {
+                    if (!results.containsKey(i)) {
+                        colorIndex.invalidate(i);
+                        invalidated = true;
+                    }
+                }
+                if (invalidated) {
+                    // notify them, so they are requested again if they are visible
+                    changedStartLine = changedStartLine == -1 ? changedDefinitionLine + 1 : Math.min(changedStartLine, changedDefinitionLine + 1);
+                    changedEndLine = colorIndex.size() - 1;
+                }
+            }
+            if (indexRequested) {
+                // continue with the next chunk if outdated lines remain
+                parseTask.schedule(PARSE_DELAY);
+            }
+            if (changedStartLine == -1) {
+                return null;
+            }
+            return new int[]{changedStartLine, changedEndLine};
+        }
+    }
+
+
+    /**
+     * Parse the line with variables of previous lines. Only lines which are
+     * not scanned yet are parsed, variables of other lines are taken from the
+     * symbol table.
+     *
+     * @return the first line whose definitions are changed, -1 if nothing is
+     * changed
+     */
+    private int resolveVariables(VariableContext context, int line, List<ColorCodesProvider> providers, TriggerFilter filter, Map<Integer, LineColors> results) {
+        int changedLine = -1;
+        SortedSet<Integer> previousLines = symbolTable.getUnscannedLines(context.line, line);
+        previousLines.addAll(symbolTable.getDefinitionLines(context.line, line));
+        for (int previousLine : previousLines) {
+            if (symbolTable.isScanned(previousLine)) {
+                context.define(symbolTable.getDefinitions(previousLine));
+            } else if (parseWithContext(context, previousLine, providers, filter, results) && changedLine == -1) {
+                changedLine = previousLine;
+            }
+        }
+        if (parseWithContext(context, line, providers, filter, results) && changedLine == -1) {
+            changedLine = line;
+        }
+        context.line = line + 1;
+        return changedLine;
+    }
+
+    private boolean parseWithContext(VariableContext context, int line, List<ColorCodesProvider> providers, TriggerFilter filter, Map<Integer, LineColors> results) {
+        context.startRecording();
+        results.put(line, parse(line, providers, filter, context));
+        return symbolTable.setDefinitions(line, context.stopRecording());
+    }
+
+    private int getStartIndex(int line, List<ColorCodesProvider> providers) {
+        int start = line;
+        for (ColorCodesProvider provider : providers) {
+            int startIndex = provider.getStartIndex(document, line);
+            if (startIndex < 0) {
+                LOGGER.log(Level.WARNING, "start index: {0}, it must be 0 or greater.", startIndex); // NOI18N
+                startIndex = 0;
+            }
+            start = Math.min(start, startIndex);
+        }
+        return start;
+    }
+
+    private static boolean isThreadSafe(List<ColorCodesProvider> providers) {
+        if (ForkJoinPool.getCommonPoolParallelism() <= 1) {
+            return false;
+        }
+        for (ColorCodesProvider provider : providers) {
+            if (!provider.isThreadSafe()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scan lines in chunks on the common fork join pool. All providers must
+     * be thread-safe. Lines of each chunk are copied on this thread while the
+     * document is read locked, so providers don't read the document on other
+     * threads.
+     *
+     * @param lines the sorted line indices
+     */
+    private void scanInParallel(List<Integer> lines, List<ColorCodesProvider> providers, TriggerFilter filter, Map<Integer, LineColors> results) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Callable<Map<Integer, LineColors>>> tasks = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i += PARALLEL_CHUNK_SIZE) {
+            List<Integer> chunk = lines.subList(i, Math.min(i + PARALLEL_CHUNK_SIZE, lines.size()));
+            int firstLine = chunk.get(0);
+            Document snapshot = createSnapshot(firstLine, chunk.get(chunk.size() - 1));
+            if (snapshot == null) {
+                scan(document, chunk, providers, filter, lineText, results);
+                continue;
+            }
+            // line indices in the snapshot
+            List<Integer> snapshotLines = new ArrayList<>(chunk.size());
+            for (int line : chunk) {
+                snapshotLines.add(line - firstLine);
+            }
+            chunks.add(chunk);
+            tasks.add(() -> {
+                Map<Integer, LineColors> snapshotResults = new HashMap<>();
+                scan(snapshot, snapshotLines, providers, filter, new Segment(), snapshotResults);
+                Map<Integer, LineColors> chunkResults = new HashMap<>();
+                snapshotResults.forEach((line, colors) -> chunkResults.put(firstLine + line, colors));
+                return chunkResults;
+            });
+        }
+        List<Future<Map<Integer, LineColors>>> futures = ForkJoinPool.commonPool().invokeAll(tasks);
+        // chunks don't share lines, so results are just merged
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.putAll(futures.get(i).get());
+            } catch (ExecutionException ex) {
+                LOGGER.log(Level.WARNING, null, ex.getCause());
+                // scan it again on this thread
+                scan(document, chunks.get(i), providers, filter, lineText, results);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Copy lines of the document to a new document. Some following lines are
+     * also copied for colors which continue to the next lines. The mime type
+     * of the document is kept.
+     *
+     * @param startLine the first line
+     * @param endLine the last line
+     * @return the copy of the lines, {@code null} if they can't be copied
+     */
+    @CheckForNull
+    private Document createSnapshot(int startLine, int endLine) {
+        Element root = document.getDefaultRootElement();
+        int lastLine = Math.min(endLine + MAX_CONTINUED_LINES, root.getElementCount() - 1);
+        int startOffset = root.getElement(startLine).getStartOffset();
+        // exclude the line separator of the last line
+        int endOffset = Math.max(Math.min(root.getElement(lastLine).getEndOffset() - 1, document.getLength()), startOffset);
+        PlainDocument snapshot = new PlainDocument();
+        snapshot.putProperty(MIME_TYPE_PROPERTY, document.getProperty(MIME_TYPE_PROPERTY));
+        try {
+            snapshot.insertString(0, document.getText(startOffset, endOffset - startOffset), null);
+        } catch (BadLocationException ex) {
+            LOGGER.log(Level.WARNING, "Incorrect offset : {0}", ex.offsetRequested()); // NOI18N
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Scan consecutive lines at once. Lines which a provider can't find colors
+     * in are not passed to it.
+     *
+     * @param source the document or a copy of its lines
+     * @param lines the sorted line indices
+     * @param text the segment for the text of lines
+     */
+    private void scan(Document source, List<Integer> lines, List<ColorCodesProvider> providers, TriggerFilter filter, Segment text, Map<Integer, LineColors> results) {
+        Element root = source.getDefaultRootElement();
+        int i = 0;
+        while (i < lines.size()) {
+            int startLine = lines.get(i);
+            int endLine = startLine;
+            while (i + 1 < lines.size() && lines.get(i + 1) == endLine + 1) {
+                endLine++;
+                i++;
+            }
+            i++;
+            LineColors.Builder[] builders = new LineColors.Builder[endLine - startLine + 1];
+            long[] masks = new long[builders.length];
+            boolean[] longLines = new boolean[builders.length];
+            for (int line = startLine; line <= endLine; line++) {
+                if (getLineText(source, line, scanLimit, text)) {
+                    masks[line - startLine] = filter.filter(text, 0, text.length());
+                    longLines[line - startLine] = isLongLine(source, root.getElement(line));
+                }
+            }
+            // only offsets and colors of drawn colors are kept, so color values are not created
+            ColorValueSink sink = new ColorValueSink() {
+                @Override
+                public void accept(int colorStartOffset, int colorEndOffset, int argb, Supplier<ColorValue> colorValue) {
+                    int line = root.getElementIndex(colorStartOffset);
+                    int index = line - startLine;
+                    if (index < 0 || index >= builders.length) {
+                        // unexpected line
+                        return;
+                    }
+                    LineColors.Builder builder = builders[index];
+                    if (builder == null) {
+                        builder = new LineColors.Builder(SwatchImageCache.MAX_COLORS);
+                        builders[index] = builder;
+                    }
+                    int lineStartOffset = root.getElement(line).getStartOffset();
+                    builder.add(colorStartOffset - lineStartOffset, colorEndOffset - lineStartOffset, argb);
+                }
+
+                @Override
+                public int skip(int offset) {
+                    // skip the rest of the line if its leftmost colors are found
+                    int line = root.getElementIndex(offset);
+                    int index = line - startLine;
+                    if (index < 0 || index >= builders.length || builders[index] == null) {
+                        return offset;
+                    }
+                    Element lineElement = root.getElement(line);
+                    return builders[index].isFull(offset - lineElement.getStartOffset()) ? lineElement.getEndOffset() : offset;
+                }
+            };
+            for (int j = 0; j < providers.size(); j++) {
+                // scan consecutive lines which may have colors at once
+                // long lines are scanned separately
+                int firstIndex = -1;
+                for (int k = 0; k <= masks.length; k++) {
+                    boolean accepted = k < masks.length && TriggerFilter.accepts(masks[k], j);
+                    boolean longLine = accepted && longLines[k];
+                    if (firstIndex != -1 && (!accepted || longLine)) {
+                        scan(source, providers.get(j), root, startLine + firstIndex, startLine + k - 1, sink);
+                        firstIndex = -1;
+                    }
+                    if (longLine) {
+                        scanLongLine(source, providers.get(j), root.getElement(startLine + k), sink);
+                    } else if (accepted && firstIndex == -1) {
+                        firstIndex = k;
+                    }
+                }
+            }
+            for (int line = startLine; line <= endLine; line++) {
+                LineColors.Builder builder = builders[line - startLine];
+                results.put(line, builder == null ? LineColors.EMPTY : builder.build());
+            }
+        }
+    }
+
+    private void scan(Document source, ColorCodesProvider provider, Element root, int startLine, int endLine, ColorValueSink sink) {
+        int startOffset = root.getElement(startLine).getStartOffset();
+        int endOffset = Math.min(root.getElement(endLine).getEndOffset(), source.getLength());
+        if (endOffset > startOffset && !guard.isSuspended(provider)) {
+            long startTime = ProviderGuard.start();
+            provider.scan(source, startOffset, endOffset, sink);
+            finish(provider, startTime, endLine - startLine + 1, endOffset - startOffset);
+        }
+    }
+
+    /**
+     * Scan a long line in chunks. Each chunk is scanned with the following
+     * characters, so colors across the end of the chunk are not cut. Only
+     * colors which start in the chunk are accepted, so they are not accepted
+     * twice. Scanning is stopped once the leftmost colors of the line are
+     * found or the scan limit is reached.
+     */
+    private void scanLongLine(Document source, ColorCodesProvider provider, Element lineElement, ColorValueSink sink) {
+        int lineStartOffset = lineElement.getStartOffset();
+        int lineLength = getLineLength(source, lineElement);
+        int length = Math.min(lineLength, scanLimit);
+        ChunkSink chunkSink = new ChunkSink(sink);
+        int chunkStart = 0;
+        while (chunkStart < length && !guard.isSuspended(provider)) {
+            int chunkEnd = Math.min(chunkStart + LONG_LINE_CHUNK_SIZE, length);
+            int scanEnd = Math.min(chunkEnd + CHUNK_OVERLAP, lineLength);
+            chunkSink.setChunk(lineStartOffset + chunkStart, lineStartOffset + chunkEnd);
+            long startTime = ProviderGuard.start();
+            provider.scan(source, lineStartOffset + chunkStart, lineStartOffset + scanEnd, chunkSink);
+            finish(provider, startTime, 1, scanEnd - chunkStart);
+            if (sink.skip(lineStartOffset + chunkEnd) != lineStartOffset + chunkEnd) {
+                // the leftmost colors are found
+                break;
+            }
+            chunkStart = chunkEnd;
+        }
+    }
+
+    private boolean isLongLine(Document source, Element lineElement) {
+        return getLineLength(source, lineElement) > Math.min(LONG_LINE_CHUNK_SIZE, scanLimit);
+    }
+
+    private static int getLineLength(Document source, Element lineElement) {
+        // exclude the line separator
+        int endOffset = Math.min(lineElement.getEndOffset() - 1, source.getLength());
+        return Math.max(endOffset - lineElement.getStartOffset(), 0);
+    }
+
+    private void finish(ColorCodesProvider provider, long startTime, int lineCount, int length) {
+        if (guard.finish(provider, startTime, lineCount, length)) {
+            providerSuspended = true;
+        }
+    }
+
+    private LineColors parse(int line, List<ColorCodesProvider> providers, TriggerFilter filter, VariableContext context) {
+        if (!getLineText(document, line, scanLimit, lineText) || lineText.length() == 0) {
+            return LineColors.EMPTY;
+        }
+        long mask = filter.filter(lineText, 0, lineText.length());
+        List<ColorValue> colorValues = new ArrayList<>();
+        for (int i = 0; i < providers.size(); i++) {
+            ColorCodesProvider provider = providers.get(i);
+            if (TriggerFilter.accepts(mask, i) && !guard.isSuspended(provider)) {
+                long startTime = ProviderGuard.start();
+                colorValues.addAll(provider.getColorValues(document, lineText, 0, lineText.length(), line, context.getVariables(provider)));
+                finish(provider, startTime, 1, lineText.length());
+            }
+        }
+        LineColors.Builder builder = new LineColors.Builder(SwatchImageCache.MAX_COLORS);
+        // references are ordered by offset, so each one is searched after the
+        // previous one
+        String reference = null;
+        int referenceStart = -1;
+        int referenceEnd = 0;
+        Map<ColorValue, Boolean> referencedValues = new IdentityHashMap<>();
+        for (ColorValue colorValue : colorValues) {
+            if (colorValue.getLine() == line) {
+                builder.add(colorValue.getStartOffset(), colorValue.getEndOffset(), colorValue.getColor().getRGB());
+                continue;
+            }
+            // the color of a variable which is defined in another line
+            // use the offsets of the reference in this line
+            String variable = context.getReference(colorValue);
+            if (variable == null) {
+                continue;
+            }
+            if (!variable.equals(reference) || referencedValues.put(colorValue, Boolean.TRUE) != null) {
+                // the next reference
+                int offset = indexOfReference(lineText, referenceEnd, variable);
+                if (offset == -1) {
+                    continue;
+                }
+                reference = variable;
+                referenceStart = offset;
+                referenceEnd = offset + variable.length();
+                referencedValues.clear();
+                referencedValues.put(colorValue, Boolean.TRUE);
+            }
+            builder.add(referenceStart, referenceEnd, colorValue.getColor().getRGB());
+        }
+        return builder.build();
+    }
+
+    private static int indexOfReference(CharSequence text, int fromIndex, String variable) {
+        for (int i = fromIndex; i + variable.length() <= text.length(); i++) {
+            int j = 0;
+            while (j < variable.length() && text.charAt(i + j) == variable.charAt(j)) {
+                j++;
+            }
+            // e.g. when search $x, ignore $xy, $x-1,...
+            if (j == variable.length()
+                    && (i + j == text.length() || !isVariableNamePart(text.charAt(i + j)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isVariableNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_';
+    }
+
+    /**
+     * Get the text of the line without copying it if possible.
+     *
+     * @param line the line index
+     * @param maxLength the max length of the text
+     * @param text the segment for the text of the line
+     * @return {@code true} if the text is got, otherwise {@code false}
+     */
+    private static boolean getLineText(Document source, int line, int maxLength, Segment text) {
+        Element lineElement = source.getDefaultRootElement().getElement(line);
+        if (lineElement == null) {
+            return false;
+        }
+        int startOffset = lineElement.getStartOffset();
+        try {
+            source.getText(startOffset, Math.min(getLineLength(source, lineElement), maxLength), text);
+            return true;
+        } catch (BadLocationException ex) {
+            LOGGER.log(Level.WARNING, "Incorrect offset : {0}", ex.offsetRequested()); // NOI18N
+        }
+        return false;
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        update(e);
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        update(e);
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // attributes only
+    }
+
+    private synchronized void update(DocumentEvent e) {
+        if (colorIndex.isEmpty()) {
+            return;
+        }
+        Element root = document.getDefaultRootElement();
+        int firstLine = root.getElementIndex(e.getOffset());
+        int lastLine = firstLine;
+        boolean definitionsRemoved = false;
+        DocumentEvent.ElementChange change = e.getChange(root);
+        if (change != null) {
+            int changedLine = change.getIndex();
+            int removed = change.getChildrenRemoved().length;
+            int added = change.getChildrenAdded().length;
+            replaceLines(changedLine, removed, added);
+            definitionsRemoved = symbolTable.replaceLines(changedLine, removed, added);
+            firstLine = Math.min(firstLine, changedLine);
+            lastLine = Math.max(lastLine, changedLine + added - 1);
+        }
+        if (colorIndex.size() != root.getElementCount()) {
+            ensureLineCount();
+            return;
+        }
+        modificationCount++;
+        int startLine = firstLine;
+        if (firstLine >= 0 && firstLine < colorIndex.size()) {
+            colorIndex.invalidate(firstLine);
+            symbolTable.invalidate(firstLine);
+            startLine = invalidateContinuedColors(root, firstLine);
+        }
+        if (definitionsRemoved) {
+            // colors of the following lines may be changed
+            // otherwise, they are invalidated if definitions of the edited line are changed
+            for (int i = firstLine + 1; i < colorIndex.size(); i++) {
+                colorIndex.invalidate(i);
+            }
+        }
+        extendRequestedLines(startLine, lastLine);
+        parseTask.schedule(PARSE_DELAY);
+    }
+
+    /**
+     * Invalidate previous lines which have colors continuing to the edited
+     * line. (e.g. arguments in several lines)
+     *
+     * @return the first invalidated line
+     */
+    private int invalidateContinuedColors(Element root, int line) {
+        int firstLine = line;
+        int lineStartOffset = root.getElement(line).getStartOffset();
+        for (int i = line - 1; i >= 0 && i >= line - MAX_CONTINUED_LINES; i--) {
+            int previousLineStartOffset = root.getElement(i).getStartOffset();
+            for (int j = 0; j < colorIndex.getColorCount(i); j++) {
+                if (previousLineStartOffset + colorIndex.getEndOffset(i, j) > lineStartOffset) {
+                    colorIndex.invalidate(i);
+                    firstLine = i;
+                    break;
+                }
+            }
+        }
+        return firstLine;
+    }
+
+    private void replaceLines(int line, int removed, int added) {
+        if (line < 0 || line + removed > colorIndex.size()) {
+            return;
+        }
+        colorIndex.replaceLines(line, removed, added);
+    }
+
+    //~ Inner classes
+    /**
+     * Sink for a chunk of a long line. Colors which start in the chunk are
+     * passed to the sink of the line. Colors which overlap colors of previous
+     * chunks are ignored (e.g. a part of a color when a chunk starts in it).
+     */
+    private static final class ChunkSink implements ColorValueSink {
+
+        private final ColorValueSink sink;
+        private int chunkStart;
+        private int chunkEnd;
+        // the end offset of colors of previous chunks
+        private int previousEnd;
+        private int lastEnd;
+
+        ChunkSink(ColorValueSink sink) {
+            this.sink = sink;
+        }
+
+        void setChunk(int chunkStart, int chunkEnd) {
+            this.chunkStart = chunkStart;
+            this.chunkEnd = chunkEnd;
+            previousEnd = lastEnd;
+        }
+
+        @Override
+        public void accept(int startOffset, int endOffset, int argb, Supplier<ColorValue> colorValue) {
+            if (startOffset < chunkStart || startOffset >= chunkEnd || startOffset < previousEnd) {
+                return;
+            }
+            lastEnd = Math.max(lastEnd, endOffset);
+            sink.accept(startOffset, endOffset, argb, colorValue);
+        }
+
+        @Override
+        public int skip(int offset) {
+            return sink.skip(offset);
+        }
+    }
+
+    /**
+     * Visitor of the first colors of lines.
+     */
+    interface FirstColorVisitor {
+
+        /**
+         * Visit the first color of the line.
+         *
+         * @param line the line index
+         * @param lineCount the number of lines
+         * @param argb the first color of the line
+         */
+        void visit(int line, int lineCount, int argb);
+    }
+
+    /**
+     * Variables which are available for a line. Definitions of parsed lines
+     * are recorded while recording.
+     */
+    private static final class VariableContext {
+
+        private final int startLine;
+        // variables of lines before this are resolved
+        private int line;
+        private final Map<ColorCodesProvider, Map<String, List<ColorValue>>> variables = new HashMap<>();
+        private Map<ColorCodesProvider, Map<String, List<ColorValue>>> definitions;
+        // color values of variables which are referenced by the recorded line
+        private final Map<ColorValue, String> references = new IdentityHashMap<>();
+
+        VariableContext(int startLine) {
+            this.startLine = startLine;
+            this.line = startLine;
+        }
+
+        Map<String, List<ColorValue>> getVariables(ColorCodesProvider provider) {
+            return variables.computeIfAbsent(provider, p -> new RecordingMap(this, p));
+        }
+
+        void define(Map<ColorCodesProvider, Map<String, List<ColorValue>>> lineDefinitions) {
+            lineDefinitions.forEach((provider, values) -> getVariables(provider).putAll(values));
+        }
+
+        void startRecording() {
+            definitions = new HashMap<>();
+            references.clear();
+        }
+
+        Map<ColorCodesProvider, Map<String, List<ColorValue>>> stopRecording() {
+            Map<ColorCodesProvider, Map<String, List<ColorValue>>> result = definitions;
+            definitions = null;
+            return result;
+        }
+
+        /**
+         * Get the variable whose color value is referenced by the recorded
+         * line.
+         *
+         * @param colorValue the color value of the variable
+         * @return the variable, {@code null} if it is not referenced
+         */
+        @CheckForNull
+        String getReference(ColorValue colorValue) {
+            return references.get(colorValue);
+        }
+
+        private void record(ColorCodesProvider provider, String variable, List<ColorValue> colorValues) {
+            if (definitions != null) {
+                definitions.computeIfAbsent(provider, p -> new HashMap<>()).put(variable, colorValues);
+            }
+        }
+
+        private void reference(String variable, List<ColorValue> colorValues) {
+            if (definitions != null) {
+                colorValues.forEach(colorValue -> references.put(colorValue, variable));
+            }
+        }
+    }
+
+    private static final class RecordingMap extends HashMap<String, List<ColorValue>> {
+
+        private static final long serialVersionUID = -2406155726373196383L;
+        private final transient VariableContext context;
+        private final transient ColorCodesProvider provider;
+
+        RecordingMap(VariableContext context, ColorCodesProvider provider) {
+            this.context = context;
+            this.provider = provider;
+        }
+
+        @Override
+        public List<ColorValue> put(String key, List<ColorValue> value) {
+            context.record(provider, key, value);
+            return super.put(key, value);
+        }
+
+        @Override
+        public List<ColorValue> get(Object key) {
+            List<ColorValue> value = super.get(key);
+            if (value != null && key instanceof String) {
+                context.reference((String) key, value);
+            }
+            return value;
+        }
+    }
+}
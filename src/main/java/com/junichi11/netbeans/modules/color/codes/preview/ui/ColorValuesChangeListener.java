@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import java.util.EventListener;
+
+/**
+ * Listener for changes of the cached color values.
+ *
+ * @author junichi11
+ */
+interface ColorValuesChangeListener extends EventListener {
+
+    /**
+     * Called when colors of lines are changed. This may be called from a
+     * worker thread.
+     *
+     * @param startLine the first changed line index
+     * @param endLine the last changed line index (inclusive)
+     */
+    void colorValuesChanged(int startLine, int endLine);
+}
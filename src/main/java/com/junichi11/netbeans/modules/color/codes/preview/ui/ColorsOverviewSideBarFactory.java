@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import javax.swing.JComponent;
+import javax.swing.text.JTextComponent;
+import org.netbeans.spi.editor.SideBarFactory;
+
+/**
+ * Factory of the overview of colors in the whole document. This is
+ * registered in the layer because the side bar is located on the right side
+ * of the editor.
+ *
+ * @author junichi11
+ */
+public class ColorsOverviewSideBarFactory implements SideBarFactory {
+
+    public static final String KEY_COLORS_OVERVIEW = "enable.colors.overview"; // NOI18N
+    public static final boolean DEFAULT_COLORS_OVERVIEW = false;
+
+    @Override
+    public JComponent createSideBar(JTextComponent editor) {
+        return OverviewPanel.create(editor);
+    }
+}
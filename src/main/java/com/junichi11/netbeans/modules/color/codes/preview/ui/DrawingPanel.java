@@ -18,25 +18,24 @@ package com.junichi11.netbeans.modules.color.codes.preview.ui;
 import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.PositionColorValue;
 import com.junichi11.netbeans.modules.color.codes.preview.utils.Utils;
 import java.awt.AWTEvent;
-import java.awt.BasicStroke;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Insets;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.Shape;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.PreferenceChangeEvent;
@@ -45,14 +44,17 @@ import java.util.prefs.Preferences;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.plaf.TextUI;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.Document;
+import javax.swing.text.Element;
 import javax.swing.text.JTextComponent;
 import javax.swing.text.Position;
 import javax.swing.text.View;
+import org.netbeans.api.annotations.common.CheckForNull;
 import org.netbeans.api.annotations.common.NonNull;
 import org.netbeans.api.editor.document.LineDocumentUtils;
 import org.netbeans.api.editor.fold.FoldHierarchy;
@@ -68,7 +70,6 @@ import org.netbeans.editor.Coloring;
 import org.netbeans.editor.EditorUI;
 import org.netbeans.editor.Utilities;
 import org.netbeans.modules.editor.NbEditorUtilities;
-import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
 import org.openide.util.LookupEvent;
 import org.openide.util.LookupListener;
@@ -88,6 +89,17 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
     private final BaseDocument document;
     private final Preferences prefs;
     private final LookupListener lookupListener;
+    private final EnabledProviders enabledProviders;
+    private final ChangeListener providersListener;
+    private final Object damagedLinesLock = new Object();
+    // -1 means that no lines have to be repainted
+    private int damagedStartLine = -1;
+    private int damagedEndLine = -1;
+    private final ColorValuesCache colorValuesCache;
+    private final SwatchImageCache swatchImageCache = new SwatchImageCache();
+    // reused for painting lines
+    private final int[] drawnColors = new int[SwatchImageCache.MAX_COLORS];
+    private final ColorValuesChangeListener colorValuesListener;
 
     private static final int DEFAULT_WIDTH = 16;
     private static final Logger LOGGER = Logger.getLogger(DrawingPanel.class.getName());
@@ -105,6 +117,9 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
         this.textComponent = editor;
         this.document = (BaseDocument) editor.getDocument();
         this.foldHierarchy = FoldHierarchy.get(editor);
+        this.colorValuesCache = ColorValuesCache.get(document);
+        this.colorValuesListener = (int startLine, int endLine) -> repaintLines(startLine, endLine);
+        colorValuesCache.addColorValuesChangeListener(WeakListeners.create(ColorValuesChangeListener.class, colorValuesListener, colorValuesCache));
         updateColors();
 
         prefs = MimeLookup.getLookup(MimePath.EMPTY).lookup(Preferences.class);
@@ -112,6 +127,9 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
         Lookup.Result<FontColorSettings> lookupResult = MimeLookup.getLookup(MimePath.get(NbEditorUtilities.getMimeType(textComponent))).lookupResult(FontColorSettings.class);
         lookupListener = (LookupEvent le) -> updateColors();
         lookupResult.addLookupListener(WeakListeners.create(LookupListener.class, lookupListener, lookupResult));
+        enabledProviders = new EnabledProviders(document);
+        providersListener = (ChangeEvent e) -> refresh();
+        enabledProviders.addChangeListener(WeakListeners.change(providersListener, enabledProviders));
         preferenceChange(null);
         enableEvents(AWTEvent.MOUSE_EVENT_MASK);
     }
@@ -169,115 +187,89 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
         int startPos = getPosFromY(component, textUI, clip.y);
         int startViewIndex = rootView.getViewIndex(startPos, Position.Bias.Forward);
         int rootViewCount = rootView.getViewCount();
-        List<ColorCodesProvider> providers = getEnabledProviders();
         if (startViewIndex >= 0 && startViewIndex < rootViewCount) {
-            Map<ColorCodesProvider, Map<String, List<ColorValue>>> variableColorValues = createVariableColorValuesMap(providers);
+            Element lineRoot = document.getDefaultRootElement();
             int clipEndY = clip.y + clip.height;
-            int start = getStartIndex(startViewIndex, providers);
-            for (int i = start; i < rootViewCount; i++) {
+            int firstLine = -1;
+            int lastLine = -1;
+            Rectangle rootAllocation = getRootAllocation(component);
+            for (int i = startViewIndex; i < rootViewCount; i++) {
                 View view = rootView.getView(i);
                 if (view == null) {
                     break;
                 }
 
                 // for zoom-in or zoom-out
-                Rectangle rec1 = component.modelToView(view.getStartOffset());
-                Rectangle rec2 = component.modelToView(view.getEndOffset() - 1);
-                if (rec2 == null || rec1 == null) {
+                Rectangle lineBounds = getLineBounds(component, rootView, rootAllocation, i);
+                if (lineBounds == null) {
                     break;
                 }
 
-                int y = rec1.y;
-                double lineHeight = (rec2.getY() + rec2.getHeight() - rec1.getY());
-                if (document != null) {
-                    String line = getLineText((BaseDocument) document, view);
-                    int indexOfLF = line.indexOf("\n"); // NOI18N
-                    if (indexOfLF != -1) {
-                        line = line.substring(0, indexOfLF);
-                    }
-
-                    // get color values
-                    List<ColorValue> colorValues = getAllColorValues(providers, line, i + 1, variableColorValues);
-
-                    if (i < startViewIndex) {
-                        continue;
-                    }
-                    drawColorRect(colorValues, g2d, lineHeight, y);
+                int y = lineBounds.y;
+                double lineHeight = lineBounds.getHeight();
+                // get color values
+                int line = lineRoot.getElementIndex(view.getStartOffset());
+                if (firstLine == -1) {
+                    firstLine = line;
+                }
+                lastLine = line;
+                int colorCount = colorValuesCache.getDrawnColors(line, drawnColors);
+                if (colorCount > 0) {
+                    swatchImageCache.draw(g2d, drawnColors[0], drawnColors[1], colorCount >= 2, DEFAULT_WIDTH, (int) lineHeight, y);
                 }
                 y += lineHeight;
                 if (y >= clipEndY) {
                     break;
                 }
             }
-        }
-    }
-
-    private void drawColorRect(List<ColorValue> colorValues, Graphics2D g2d, double lineHeight, int y) {
-        for (ColorValue colorValue : colorValues) {
-            g2d.setColor(colorValue.getColor());
-            int margin = 2;
-            int recHeight = (int) lineHeight > 8 ? (int) lineHeight - margin * 2 : (int) lineHeight;
-            int recWidth = DEFAULT_WIDTH - margin * 2;
-
-            if (colorValues.size() == 1) {
-                g2d.fillRect(margin, (int) y + margin, recWidth, recHeight);
-            } else if (colorValues.size() >= 2) {
-                // show the second color if mulitiple color values exist
-                g2d.fillRect(margin, (int) y + margin, recWidth / 2, recHeight);
-                ColorValue secondColorValue = colorValues.get(1);
-                g2d.setColor(secondColorValue.getColor());
-                g2d.fillRect(margin + recWidth / 2, y + margin, recWidth / 2, recHeight);
+            if (firstLine != -1) {
+                // parse outdated lines in the background, then repaint
+                colorValuesCache.request(firstLine, lastLine, getEnabledProviders());
             }
-
-            g2d.setColor(Color.GRAY);
-            g2d.setStroke(new BasicStroke(1));
-            g2d.drawRect(margin, (int) y + margin, DEFAULT_WIDTH - margin * 2, recHeight);
-            break;
         }
     }
 
-    private int getStartIndex(int currentIndex, List<ColorCodesProvider> providers) {
-        int start = currentIndex;
-        for (ColorCodesProvider provider : providers) {
-            int startIndex = provider.getStartIndex(document, start);
-            if (startIndex < 0) {
-                LOGGER.log(Level.WARNING, "start index: {0}, it must be 0 or greater.", startIndex); // NOI18N
-                startIndex = 0;
-            }
-            start = Math.min(start, startIndex);
-        }
-        return start;
+    private Rectangle getRootAllocation(JTextComponent component) {
+        Insets insets = component.getInsets();
+        return new Rectangle(
+                insets.left,
+                insets.top,
+                component.getWidth() - insets.left - insets.right,
+                component.getHeight() - insets.top - insets.bottom
+        );
     }
 
-    private List<ColorCodesProvider> getEnabledProviders() {
-        Collection<? extends ColorCodesProvider> allProviders = Lookup.getDefault().lookupAll(ColorCodesProvider.class);
-        List<ColorCodesProvider> providers = new ArrayList<>();
-        for (ColorCodesProvider provider : allProviders) {
-            if (provider.isProviderEnabled(document)) {
-                providers.add(provider);
-            }
+    /**
+     * Get the bounds of the line view. The bounds are taken from the
+     * allocation of the root view, so the view hierarchy is not queried with
+     * modelToView() for each line.
+     *
+     * @param component the text component
+     * @param rootView the root view
+     * @param rootAllocation the allocation of the root view
+     * @param index the index of the line view
+     * @return the bounds of the line view, {@code null} if it is not
+     * available
+     * @throws BadLocationException
+     */
+    @CheckForNull
+    private Rectangle getLineBounds(JTextComponent component, View rootView, Rectangle rootAllocation, int index) throws BadLocationException {
+        Shape allocation = rootView.getChildAllocation(index, rootAllocation);
+        if (allocation != null) {
+            return allocation.getBounds();
         }
-        return providers;
-    }
-
-    private Map<ColorCodesProvider, Map<String, List<ColorValue>>> createVariableColorValuesMap(List<ColorCodesProvider> providers) {
-        Map<ColorCodesProvider, Map<String, List<ColorValue>>> variableColorValues = new HashMap<>();
-        providers.forEach(provider -> variableColorValues.put(provider, new HashMap<>()));
-        return variableColorValues;
+        // fallback
+        View view = rootView.getView(index);
+        Rectangle rec1 = component.modelToView(view.getStartOffset());
+        Rectangle rec2 = component.modelToView(view.getEndOffset() - 1);
+        if (rec2 == null || rec1 == null) {
+            return null;
+        }
+        return new Rectangle(rec1.x, rec1.y, rec1.width, rec2.y + rec2.height - rec1.y);
     }
 
-    private List<ColorValue> getAllColorValues(List<ColorCodesProvider> providers, String lineString, int lineNumber,
-            Map<ColorCodesProvider, Map<String, List<ColorValue>>> variableColorValues) {
-        List<ColorValue> colorValues = new ArrayList<>();
-        for (ColorCodesProvider provider : providers) {
-            Map<String, List<ColorValue>> variableValues = variableColorValues.get(provider);
-            if (variableValues == null) {
-                variableValues = new HashMap<>();
-            }
-            colorValues.addAll(provider.getColorValues(document, lineString, lineNumber, variableValues));
-        }
-        Utils.sort(colorValues);
-        return colorValues;
+    private List<ColorCodesProvider> getEnabledProviders() {
+        return enabledProviders.get();
     }
 
     /* from versioning.ui DiffSidebar */
@@ -342,6 +334,12 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
 
     @Override
     public void preferenceChange(PreferenceChangeEvent evt) {
+        if (isColorCodesOptionChanged(evt)) {
+            // results of providers may be changed
+            enabledProviders.invalidate();
+            colorValuesCache.clear();
+            refresh();
+        }
         if (isOptionChanged(evt)) {
             enabled = isPluginEnabled();
             setVisible(enabled);
@@ -361,6 +359,12 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
                 || (event.getKey() != null && event.getKey().startsWith(ColorCodesPreviewOptions.ENABLED_PREFIX));
     }
 
+    private boolean isColorCodesOptionChanged(PreferenceChangeEvent event) {
+        return event != null
+                && event.getNode() != prefs
+                && ColorCodesPreviewOptions.isColorValuesOption(event.getKey());
+    }
+
     private boolean isPluginEnabled() {
         return prefs.getBoolean(ColorsSideBarFactory.KEY_COLORS, ColorsSideBarFactory.DEFAULT_COLORS)
                 && isProviderEnabled();
@@ -396,11 +400,34 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
         if (line == -1) {
             return Collections.emptyList();
         }
-        String lineText = getLineText((BaseDocument) textComponent.getDocument(), line);
-        if (lineText == null || lineText.isEmpty()) {
-            return Collections.emptyList();
-        }
-        return getAllColorValues(getEnabledProviders(), lineText, line, Collections.emptyMap());
+        List<ColorCodesProvider> providers = colorValuesCache.getActiveProviders(getEnabledProviders());
+        List<ColorValue> colorValues = new ArrayList<>();
+        document.render(() -> {
+            Element lineElement = document.getDefaultRootElement().getElement(line);
+            if (lineElement == null) {
+                return;
+            }
+            int startOffset = lineElement.getStartOffset();
+            // exclude the line separator
+            int endOffset = Math.min(lineElement.getEndOffset() - 1, document.getLength());
+            if (endOffset <= startOffset) {
+                return;
+            }
+            // the rest of a long line is not scanned
+            int scanEndOffset = (int) Math.min(endOffset, (long) startOffset + ColorValuesCache.getLineScanLimit());
+            for (ColorCodesProvider provider : providers) {
+                provider.scan(document, startOffset, scanEndOffset, (colorStartOffset, colorEndOffset, argb, colorValue) -> {
+                    try {
+                        // offsets follow edits while the popup is shown
+                        colorValues.add(PositionColorValue.create(document, colorValue.get()));
+                    } catch (BadLocationException ex) {
+                        LOGGER.log(Level.WARNING, "Incorrect offset : {0}", ex.offsetRequested()); // NOI18N
+                    }
+                });
+            }
+        });
+        Utils.sort(colorValues);
+        return colorValues;
     }
 
     private int getLineFromMouseEvent(MouseEvent e) {
@@ -424,50 +451,11 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
         return line;
     }
 
-    /**
-     * Get text for a specified line.
-     *
-     * @param document document
-     * @param line line number
-     * @return line text
-     */
-    private String getLineText(BaseDocument document, int line) {
-        if (document == null || line < 0) {
-            return ""; // NOI18N
-        }
-        int startOffset = LineDocumentUtils.getLineStartFromIndex(document, line);
-        if (startOffset == -1) {
-            return ""; // NOI18N
-        }
-        try {
-            int endOffset = LineDocumentUtils.getLineEnd(document, startOffset);
-            if (endOffset == -1) {
-                return ""; // NOI18N
-            }
-            return document.getText(startOffset, endOffset - startOffset);
-        } catch (BadLocationException ex) {
-            Exceptions.printStackTrace(ex);
-        }
-        return ""; // NOI18N
-    }
-
-    private String getLineText(Document document, View view) {
-        if (document == null || view == null) {
-            return ""; // NOI18N
-        }
-        int startOffset = view.getStartOffset();
-        int endOffset = view.getEndOffset();
-        try {
-            return document.getText(startOffset, endOffset - startOffset);
-        } catch (BadLocationException ex) {
-            LOGGER.log(Level.WARNING, ex.getMessage());
-        }
-        return ""; // NOI18N
-    }
-
     @Override
     public void componentResized(ComponentEvent e) {
         Mutex.EVENT.readAccess(() -> revalidate());
+        // e.g. when folds are collapsed or expanded
+        refresh();
     }
 
     @Override
@@ -484,35 +472,113 @@ public final class DrawingPanel extends JPanel implements DocumentListener, Pref
 
     @Override
     public void foldHierarchyChanged(FoldHierarchyEvent e) {
-        Mutex.EVENT.readAccess(() -> {
-            repaint(textComponent.getVisibleRect());
-            // XXX
-            // sleep for a little time because the repaint method run
-            // before the view is changed
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException ex) {
-                LOGGER.log(Level.WARNING, ex.getMessage());
-            }
-        });
+        // the view hierarchy is not rebuilt yet
+        // repaint later, then the views are rebuilt when painting
+        refresh();
     }
 
     @Override
     public void insertUpdate(DocumentEvent e) {
-        refresh();
+        refreshIfLinesChanged(e);
     }
 
     @Override
     public void removeUpdate(DocumentEvent e) {
-        refresh();
+        refreshIfLinesChanged(e);
     }
 
     @Override
     public void changedUpdate(DocumentEvent e) {
-        refresh();
+        // attributes only
+    }
+
+    private void refreshIfLinesChanged(DocumentEvent e) {
+        // cached colors are moved with lines, so repaint the edited line and lines below it immediately
+        // otherwise, repaint the edited line when its colors are changed
+        Element lineRoot = document.getDefaultRootElement();
+        if (e.getChange(lineRoot) != null) {
+            repaintLines(lineRoot.getElementIndex(e.getOffset()), Integer.MAX_VALUE);
+        }
     }
 
     private void refresh() {
-        SwingUtilities.invokeLater(() -> repaint());
+        repaintLines(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Repaint the lines later. Requests are coalesced until the lines are
+     * repainted (e.g. collapse all folds).
+     *
+     * @param startLine the first line index
+     * @param endLine the last line index (inclusive), Integer.MAX_VALUE for
+     * all lines below the first line
+     */
+    private void repaintLines(int startLine, int endLine) {
+        boolean schedule;
+        synchronized (damagedLinesLock) {
+            schedule = damagedStartLine == -1;
+            if (schedule) {
+                damagedStartLine = startLine;
+                damagedEndLine = endLine;
+            } else {
+                damagedStartLine = Math.min(damagedStartLine, startLine);
+                damagedEndLine = Math.max(damagedEndLine, endLine);
+            }
+        }
+        if (schedule) {
+            SwingUtilities.invokeLater(this::repaintDamagedLines);
+        }
+    }
+
+    private void repaintDamagedLines() {
+        int startLine;
+        int endLine;
+        synchronized (damagedLinesLock) {
+            startLine = damagedStartLine;
+            endLine = damagedEndLine;
+            damagedStartLine = -1;
+            damagedEndLine = -1;
+        }
+        if (startLine <= 0 && endLine == Integer.MAX_VALUE) {
+            repaint();
+            return;
+        }
+        int startY = getLineY(startLine);
+        int endY = endLine == Integer.MAX_VALUE ? getHeight() : getLineY(endLine + 1);
+        if (startY == -1 || endY == -1 || endY <= startY) {
+            // e.g. folded lines
+            repaint();
+            return;
+        }
+        repaint(0, startY, getWidth(), endY - startY);
+    }
+
+    /**
+     * Get the y position of the line.
+     *
+     * @param line the line index
+     * @return the y position, the height of this panel if the line doesn't
+     * exist, -1 if it is not available
+     */
+    private int getLineY(int line) {
+        int[] offset = {-1};
+        document.render(() -> {
+            Element lineRoot = document.getDefaultRootElement();
+            if (line < lineRoot.getElementCount()) {
+                offset[0] = lineRoot.getElement(line).getStartOffset();
+            }
+        });
+        if (offset[0] == -1) {
+            return getHeight();
+        }
+        try {
+            Rectangle rectangle = textComponent.modelToView(offset[0]);
+            if (rectangle != null) {
+                return rectangle.y;
+            }
+        } catch (BadLocationException ex) {
+            LOGGER.log(Level.WARNING, "Incorrect offset : {0}", ex.offsetRequested()); // NOI18N
+        }
+        return -1;
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.event.ChangeListener;
+import javax.swing.text.Document;
+import org.openide.util.ChangeSupport;
+import org.openide.util.Lookup;
+import org.openide.util.LookupEvent;
+import org.openide.util.LookupListener;
+import org.openide.util.WeakListeners;
+
+/**
+ * Enabled providers for a document. The resolved providers are cached until
+ * providers are changed in the lookup or {@link #invalidate()} is called
+ * (e.g. options are changed).
+ *
+ * @author junichi11
+ */
+final class EnabledProviders {
+
+    private final Document document;
+    private final Lookup.Result<ColorCodesProvider> lookupResult;
+    private final LookupListener lookupListener;
+    private final ChangeSupport changeSupport = new ChangeSupport(this);
+    // null means that enabled providers have to be resolved again
+    private volatile List<ColorCodesProvider> providers;
+
+    EnabledProviders(Document document) {
+        this.document = document;
+        lookupResult = Lookup.getDefault().lookupResult(ColorCodesProvider.class);
+        lookupListener = (LookupEvent le) -> {
+            invalidate();
+            changeSupport.fireChange();
+        };
+        lookupResult.addLookupListener(WeakListeners.create(LookupListener.class, lookupListener, lookupResult));
+    }
+
+    List<ColorCodesProvider> get() {
+        List<ColorCodesProvider> enabledProviders = providers;
+        if (enabledProviders == null) {
+            enabledProviders = new ArrayList<>();
+            for (ColorCodesProvider provider : lookupResult.allInstances()) {
+                if (provider.isProviderEnabled(document)) {
+                    enabledProviders.add(provider);
+                }
+            }
+            enabledProviders = Collections.unmodifiableList(enabledProviders);
+            providers = enabledProviders;
+        }
+        return enabledProviders;
+    }
+
+    void invalidate() {
+        providers = null;
+    }
+
+    /**
+     * Add a listener which is notified when providers are changed in the
+     * lookup.
+     *
+     * @param listener the listener
+     */
+    void addChangeListener(ChangeListener listener) {
+        changeSupport.addChangeListener(listener);
+    }
+
+    void removeChangeListener(ChangeListener listener) {
+        changeSupport.removeChangeListener(listener);
+    }
+}
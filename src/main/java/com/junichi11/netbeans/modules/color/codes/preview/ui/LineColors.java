@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Colors of a line. Offsets and colors are packed into an int array instead of
+ * keeping ColorValue objects, so the side bar is painted without creating
+ * objects. Offsets are relative to the start of the line and colors are sorted
+ * by the start offset. The text of a color is read from the document if it is
+ * needed.
+ *
+ * This is immutable.
+ *
+ * @author junichi11
+ */
+final class LineColors {
+
+    static final LineColors EMPTY = new LineColors(new int[0]);
+
+    // start offset, end offset, ARGB
+    private static final int FIELD_COUNT = 3;
+
+    private final int[] values;
+
+    private LineColors(int[] values) {
+        this.values = values;
+    }
+
+    static LineColors of(List<ColorValue> colorValues) {
+        return of(colorValues, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create colors which keep only leftmost colors.
+     *
+     * @param colorValues the color values
+     * @param limit the max number of colors
+     * @return the leftmost colors
+     */
+    static LineColors of(List<ColorValue> colorValues, int limit) {
+        if (colorValues.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(limit);
+        for (ColorValue colorValue : colorValues) {
+            builder.add(colorValue.getStartOffset(), colorValue.getEndOffset(), colorValue.getColor().getRGB());
+        }
+        return builder.build();
+    }
+
+    int size() {
+        return values.length / FIELD_COUNT;
+    }
+
+    boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    int getStartOffset(int index) {
+        return values[index * FIELD_COUNT];
+    }
+
+    int getEndOffset(int index) {
+        return values[index * FIELD_COUNT + 1];
+    }
+
+    /**
+     * Get the color in the default sRGB.
+     *
+     * @param index the index of the color
+     * @return the ARGB value
+     */
+    int getRGB(int index) {
+        return values[index * FIELD_COUNT + 2];
+    }
+
+    Color getColor(int index) {
+        return new Color(getRGB(index), true);
+    }
+
+    /**
+     * Check whether the colors are the same as the other ones. Offsets are
+     * not compared.
+     *
+     * @param other the other colors
+     * @return {@code true} if the colors are the same, otherwise {@code false}
+     */
+    boolean hasSameColors(LineColors other) {
+        if (size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < size(); i++) {
+            if (getRGB(i) != other.getRGB(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LineColors)) {
+            return false;
+        }
+        return Arrays.equals(values, ((LineColors) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    //~ Inner class
+    /**
+     * Builder of colors. If the limit is set, only leftmost colors are kept.
+     */
+    static final class Builder {
+
+        private final int maxLength;
+        private int[] values = new int[FIELD_COUNT * 2];
+        private int length;
+
+        Builder() {
+            this(Integer.MAX_VALUE);
+        }
+
+        Builder(int limit) {
+            this.maxLength = limit > Integer.MAX_VALUE / FIELD_COUNT ? Integer.MAX_VALUE : limit * FIELD_COUNT;
+        }
+
+        void add(int startOffset, int endOffset, int argb) {
+            if (isFull(startOffset)) {
+                return;
+            }
+            if (length + FIELD_COUNT > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            // keep the order of start offsets (colors are added almost in order)
+            int index = length;
+            while (index > 0 && values[index - FIELD_COUNT] > startOffset) {
+                index -= FIELD_COUNT;
+            }
+            System.arraycopy(values, index, values, index + FIELD_COUNT, length - index);
+            values[index] = startOffset;
+            values[index + 1] = endOffset;
+            values[index + 2] = argb;
+            // drop the rightmost color
+            length = Math.min(length + FIELD_COUNT, maxLength);
+        }
+
+        /**
+         * Check whether colors which start at the offset are not needed.
+         *
+         * @param startOffset the start offset of a color
+         * @return {@code true} if the limit is reached and the colors start
+         * before the offset, otherwise {@code false}
+         */
+        boolean isFull(int startOffset) {
+            return length >= maxLength && values[length - FIELD_COUNT] <= startOffset;
+        }
+
+        boolean isEmpty() {
+            return length == 0;
+        }
+
+        LineColors build() {
+            if (length == 0) {
+                return EMPTY;
+            }
+            return new LineColors(Arrays.copyOf(values, length));
+        }
+    }
+}
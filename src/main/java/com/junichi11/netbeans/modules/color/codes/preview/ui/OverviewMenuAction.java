@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import java.awt.event.ActionEvent;
+import javax.swing.AbstractAction;
+import org.netbeans.api.editor.EditorActionRegistration;
+
+/**
+ *
+ * @author junichi11
+ */
+@EditorActionRegistration(name = "toggle-colors-overview",
+        menuPath = "View",
+        menuPosition = 951,
+        preferencesKey = ColorsOverviewSideBarFactory.KEY_COLORS_OVERVIEW,
+        preferencesDefault = ColorsOverviewSideBarFactory.DEFAULT_COLORS_OVERVIEW
+)
+public class OverviewMenuAction extends AbstractAction {
+
+    private static final long serialVersionUID = -5302658127733592270L;
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+    }
+
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
+import java.awt.AWTEvent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.event.MouseEvent;
+import java.util.prefs.PreferenceChangeEvent;
+import java.util.prefs.PreferenceChangeListener;
+import java.util.prefs.Preferences;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.JTextComponent;
+import org.netbeans.api.editor.mimelookup.MimeLookup;
+import org.netbeans.api.editor.mimelookup.MimePath;
+import org.openide.util.NbBundle;
+import org.openide.util.WeakListeners;
+
+/**
+ * Overview of colors in the whole document. Each line which has colors is
+ * shown at the proportional position with its first color. Clicking a mark
+ * moves the caret to the color.
+ *
+ * Marks are painted and found with colors of the index directly, so painting
+ * doesn't create objects for each line.
+ *
+ * @author junichi11
+ */
+final class OverviewPanel extends JPanel implements PreferenceChangeListener, DocumentListener {
+
+    private static final int DEFAULT_WIDTH = 8;
+    private static final int MARK_HEIGHT = 3;
+    // colors are cached for painting in 2^COLOR_CACHE_BITS slots
+    private static final int COLOR_CACHE_BITS = 6;
+    private static final long serialVersionUID = -6867306052946372744L;
+
+    private boolean enabled;
+    private final JTextComponent textComponent;
+    private final Document document;
+    private final Preferences prefs;
+    private final ColorValuesCache colorValuesCache;
+    private final ColorValuesChangeListener colorValuesListener;
+    private final EnabledProviders enabledProviders;
+    private final ChangeListener providersListener;
+    private final DocumentListener documentListener;
+    // only used in the event dispatch thread
+    private final MarkPainter markPainter = new MarkPainter();
+    private final MarkFinder markFinder = new MarkFinder();
+    private final Color[] colorCache = new Color[1 << COLOR_CACHE_BITS];
+    // true if this is a client of the index
+    private boolean indexing;
+
+    static OverviewPanel create(JTextComponent editor) {
+        OverviewPanel panel = new OverviewPanel(editor);
+        // avoid leaking this in constructor
+        panel.addListeners();
+        return panel;
+    }
+
+    private OverviewPanel(JTextComponent editor) {
+        this.textComponent = editor;
+        this.document = editor.getDocument();
+        this.prefs = MimeLookup.getLookup(MimePath.EMPTY).lookup(Preferences.class);
+        this.colorValuesCache = ColorValuesCache.get(document);
+        this.colorValuesListener = (int startLine, int endLine) -> refresh();
+        this.enabledProviders = new EnabledProviders(document);
+        this.providersListener = (ChangeEvent e) -> refresh();
+        this.documentListener = WeakListeners.document(this, document);
+        preferenceChange(null);
+        enableEvents(AWTEvent.MOUSE_EVENT_MASK);
+        // show tooltips
+        setToolTipText(""); // NOI18N
+    }
+
+    private void addListeners() {
+        colorValuesCache.addColorValuesChangeListener(WeakListeners.create(ColorValuesChangeListener.class, colorValuesListener, colorValuesCache));
+        enabledProviders.addChangeListener(WeakListeners.change(providersListener, enabledProviders));
+        document.addDocumentListener(documentListener);
+        prefs.addPreferenceChangeListener(WeakListeners.create(PreferenceChangeListener.class, this, prefs));
+        ColorCodesPreviewOptions.getInstance().addPreferenceChangeListener(this);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        Dimension dim = super.getPreferredSize();
+        dim.width = DEFAULT_WIDTH;
+        return dim;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (!enabled) {
+            return;
+        }
+        // build the index of the whole document in the background
+        setIndexing(true);
+        colorValuesCache.requestAll(enabledProviders.get());
+        int height = getStripeHeight();
+        if (height <= 0) {
+            return;
+        }
+        markPainter.start(g, getInsets().top, height);
+        try {
+            colorValuesCache.visitFirstColors(markPainter);
+        } finally {
+            markPainter.finish();
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        setIndexing(enabled);
+    }
+
+    @Override
+    public void removeNotify() {
+        setIndexing(false);
+        super.removeNotify();
+    }
+
+    private void setIndexing(boolean indexing) {
+        if (this.indexing == indexing) {
+            return;
+        }
+        this.indexing = indexing;
+        if (indexing) {
+            colorValuesCache.addIndexClient();
+        } else {
+            // stop keeping all lines up to date if no overview is shown
+            colorValuesCache.removeIndexClient();
+        }
+    }
+
+    /**
+     * Get the color of the ARGB value. Colors are cached, so objects are not
+     * created for each mark.
+     */
+    private Color getColor(int argb) {
+        int index = (argb * 0x9E3779B9) >>> (Integer.SIZE - COLOR_CACHE_BITS);
+        Color color = colorCache[index];
+        if (color == null || color.getRGB() != argb) {
+            color = new Color(argb, true);
+            colorCache[index] = color;
+        }
+        return color;
+    }
+
+    private int getStripeHeight() {
+        Insets insets = getInsets();
+        return getHeight() - insets.top - insets.bottom - MARK_HEIGHT;
+    }
+
+    private static int getY(int line, int lineCount, int height) {
+        return (int) ((long) line * height / lineCount);
+    }
+
+    @Override
+    protected void processMouseEvent(MouseEvent e) {
+        if (e.getID() == MouseEvent.MOUSE_CLICKED) {
+            onClick(e);
+        } else {
+            super.processMouseEvent(e);
+        }
+    }
+
+    private void onClick(MouseEvent e) {
+        int line = getLineAt(e.getY());
+        if (line == -1) {
+            return;
+        }
+        LineColors colors = colorValuesCache.getLineColors(line);
+        int[] offset = {-1};
+        document.render(() -> {
+            Element lineRoot = document.getDefaultRootElement();
+            if (line < lineRoot.getElementCount()) {
+                Element lineElement = lineRoot.getElement(line);
+                int startOffset = lineElement.getStartOffset();
+                int columnOffset = colors == null || colors.isEmpty() ? 0 : colors.getStartOffset(0);
+                offset[0] = Math.min(startOffset + columnOffset, lineElement.getEndOffset() - 1);
+            }
+        });
+        if (offset[0] != -1) {
+            textComponent.setCaretPosition(offset[0]);
+            textComponent.requestFocusInWindow();
+        }
+    }
+
+    @NbBundle.Messages({
+        "# {0} - line number",
+        "# {1} - color value",
+        "OverviewPanel.tooltip=Line {0}: {1}"
+    })
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int line = getLineAt(event.getY());
+        if (line == -1) {
+            return null;
+        }
+        LineColors colors = colorValuesCache.getLineColors(line);
+        if (colors == null || colors.isEmpty()) {
+            return null;
+        }
+        // only offsets are cached, read the text of the color
+        String[] value = {null};
+        document.render(() -> {
+            Element lineRoot = document.getDefaultRootElement();
+            if (line < lineRoot.getElementCount()) {
+                int startOffset = lineRoot.getElement(line).getStartOffset() + colors.getStartOffset(0);
+                int endOffset = Math.min(lineRoot.getElement(line).getStartOffset() + colors.getEndOffset(0), document.getLength());
+                try {
+                    value[0] = document.getText(startOffset, Math.max(endOffset - startOffset, 0));
+                } catch (BadLocationException ex) {
+                    // the line has been changed, the color is not up to date
+                }
+            }
+        });
+        if (value[0] == null) {
+            return null;
+        }
+        return Bundle.OverviewPanel_tooltip(line + 1, value[0]);
+    }
+
+    /**
+     * Get the line which has colors and whose mark is nearest to the y
+     * position.
+     *
+     * @param y the y position
+     * @return the line index, -1 if there is no mark around the position
+     */
+    private int getLineAt(int y) {
+        int height = getStripeHeight();
+        if (height <= 0) {
+            return -1;
+        }
+        markFinder.start(y - getInsets().top, height);
+        colorValuesCache.visitFirstColors(markFinder);
+        return markFinder.distance <= MARK_HEIGHT ? markFinder.line : -1;
+    }
+
+    @Override
+    public void preferenceChange(PreferenceChangeEvent evt) {
+        if (evt != null && evt.getNode() != prefs) {
+            // results of providers may be changed
+            enabledProviders.invalidate();
+            colorValuesCache.clear();
+        }
+        enabled = prefs.getBoolean(ColorsOverviewSideBarFactory.KEY_COLORS_OVERVIEW, ColorsOverviewSideBarFactory.DEFAULT_COLORS_OVERVIEW)
+                && !enabledProviders.get().isEmpty();
+        SwingUtilities.invokeLater(() -> {
+            setVisible(enabled);
+            if (!enabled) {
+                setIndexing(false);
+            }
+            repaint();
+        });
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        refreshIfLinesChanged(e);
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        refreshIfLinesChanged(e);
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // attributes only
+    }
+
+    private void refreshIfLinesChanged(DocumentEvent e) {
+        // positions of marks are changed
+        if (enabled && e.getChange(document.getDefaultRootElement()) != null) {
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        SwingUtilities.invokeLater(() -> repaint());
+    }
+
+    //~ Inner classes
+    /**
+     * Painter of marks. Marks of the same color at the same position are
+     * painted once.
+     */
+    private final class MarkPainter implements ColorValuesCache.FirstColorVisitor {
+
+        private Graphics graphics;
+        private int top;
+        private int height;
+        private int lastY;
+        private int lastRGB;
+
+        void start(Graphics graphics, int top, int height) {
+            this.graphics = graphics;
+            this.top = top;
+            this.height = height;
+            this.lastY = -1;
+        }
+
+        void finish() {
+            graphics = null;
+        }
+
+        @Override
+        public void visit(int line, int lineCount, int argb) {
+            int y = top + getY(line, lineCount, height);
+            if (y == lastY && argb == lastRGB) {
+                return;
+            }
+            graphics.setColor(getColor(argb));
+            graphics.fillRect(1, y, DEFAULT_WIDTH - 2, MARK_HEIGHT);
+            lastY = y;
+            lastRGB = argb;
+        }
+    }
+
+    /**
+     * Finder of the mark which is nearest to a y position.
+     */
+    private static final class MarkFinder implements ColorValuesCache.FirstColorVisitor {
+
+        private int stripeY;
+        private int height;
+        private int line;
+        private int distance;
+
+        void start(int stripeY, int height) {
+            this.stripeY = stripeY;
+            this.height = height;
+            this.line = -1;
+            this.distance = Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void visit(int line, int lineCount, int argb) {
+            int markY = getY(line, lineCount, height);
+            int d = stripeY < markY ? markY - stripeY : Math.max(stripeY - markY - MARK_HEIGHT, 0);
+            if (d < distance) {
+                distance = d;
+                this.line = line;
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.awt.NotificationDisplayer;
+import org.openide.util.NbBundle;
+
+/**
+ * Circuit breaker for slow providers of a document. Each invocation of a
+ * provider is timed, and a provider which exceeds the time budget several
+ * times in a row is suspended for the document. The budget is for an
+ * invocation, so a hanging provider blocks the document for only a few budgets
+ * in total. Invocations for a few lines get less time (a few milliseconds per
+ * line). Long lines are counted as several lines.
+ *
+ * A running provider can't be stopped, so this only prevents a slow provider
+ * from blocking the document again and again.
+ *
+ * @author junichi11
+ */
+final class ProviderGuard {
+
+    // the number of consecutive invocations over the budget to suspend a provider
+    static final int MAX_OVERRUNS = 3;
+    // the number of characters which are counted as a line
+    static final int LINE_LENGTH = 1000;
+    // the time for a line in milliseconds, invocations for a few lines get less time than the budget
+    static final int LINE_BUDGET = 2;
+    // the minimum time of an invocation in milliseconds (e.g. for the first invocation)
+    static final int MIN_BUDGET = 50;
+    private static final Logger LOGGER = Logger.getLogger(ProviderGuard.class.getName());
+
+    private final Map<ColorCodesProvider, Integer> overruns = new HashMap<>();
+    private final Set<ColorCodesProvider> suspendedProviders = new HashSet<>();
+
+    /**
+     * Get providers which are not suspended.
+     *
+     * @param providers the providers
+     * @return the providers which are not suspended
+     */
+    synchronized List<ColorCodesProvider> filter(List<ColorCodesProvider> providers) {
+        if (suspendedProviders.isEmpty()) {
+            return providers;
+        }
+        List<ColorCodesProvider> result = new ArrayList<>(providers.size());
+        for (ColorCodesProvider provider : providers) {
+            if (!suspendedProviders.contains(provider)) {
+                result.add(provider);
+            }
+        }
+        return result;
+    }
+
+    synchronized boolean isSuspended(ColorCodesProvider provider) {
+        return suspendedProviders.contains(provider);
+    }
+
+    /**
+     * Get the start time of an invocation.
+     *
+     * @return the start time
+     */
+    static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the time of an invocation. This may be called on several
+     * threads.
+     *
+     * @param provider the invoked provider
+     * @param startTime the result of {@link #start()}
+     * @param lineCount the number of scanned lines
+     * @param length the number of scanned characters
+     * @return {@code true} if the provider is suspended by this invocation,
+     * otherwise {@code false}
+     */
+    boolean finish(ColorCodesProvider provider, long startTime, int lineCount, int length) {
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        int budget = ColorCodesPreviewOptions.getInstance().getProviderTimeBudget();
+        if (budget <= 0) {
+            // disabled
+            return false;
+        }
+        int lines = Math.max(Math.max(lineCount, 1), (int) ((length + (long) LINE_LENGTH - 1) / LINE_LENGTH));
+        long allowed = Math.min(budget, Math.max(MIN_BUDGET, (long) LINE_BUDGET * lines));
+        synchronized (this) {
+            if (elapsed <= allowed) {
+                overruns.remove(provider);
+                return false;
+            }
+            if (suspendedProviders.contains(provider)) {
+                return false;
+            }
+            if (overruns.merge(provider, 1, Integer::sum) < MAX_OVERRUNS) {
+                return false;
+            }
+            overruns.remove(provider);
+            suspendedProviders.add(provider);
+        }
+        suspended(provider, budget);
+        return true;
+    }
+
+    @NbBundle.Messages({
+        "# {0} - provider name",
+        "ProviderGuard.suspended.title=Color Codes Preview: {0} was suspended",
+        "# {0} - time budget",
+        "# {1} - count",
+        "ProviderGuard.suspended.details=It exceeded the time budget ({0} ms per call) {1} times in a row. It is enabled again when the file is reopened."
+    })
+    private static void suspended(ColorCodesProvider provider, int budget) {
+        LOGGER.log(Level.WARNING, "{0} is suspended for the document because it exceeded the time budget ({1} ms per call) {2} times in a row.", // NOI18N
+                new Object[]{provider.getId(), budget, MAX_OVERRUNS});
+        NotificationDisplayer.getDefault().notify(
+                Bundle.ProviderGuard_suspended_title(provider.getDisplayName()),
+                NotificationDisplayer.Priority.NORMAL.getIcon(),
+                Bundle.ProviderGuard_suspended_details(budget, MAX_OVERRUNS),
+                null
+        );
+    }
+}
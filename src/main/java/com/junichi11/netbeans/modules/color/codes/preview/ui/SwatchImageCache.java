@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.netbeans.api.annotations.common.NullAllowed;
+
+/**
+ * Cache of rendered color swatches of the side bar. Swatches are keyed by
+ * their colors and size, so a line is drawn with a cached image unless its
+ * colors are changed. Cached images are looked up without creating objects.
+ * Images are rendered with the scale of the graphics (e.g. HiDPI displays).
+ *
+ * This must be used in the event dispatch thread.
+ *
+ * @author junichi11
+ */
+final class SwatchImageCache {
+
+    // the number of colors of a line which are drawn
+    static final int MAX_COLORS = 2;
+    private static final int MAX_SIZE = 256;
+    private static final int MARGIN = 2;
+    private static final Stroke BORDER_STROKE = new BasicStroke(1);
+
+    private final Map<Key, Image> images = new LinkedHashMap<Key, Image>(16, 0.75f, true) {
+        private static final long serialVersionUID = 4087235016718286541L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Image> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    // reused for looking up images
+    private final Key lookupKey = new Key();
+
+    /**
+     * Draw a swatch of a line. The first color and the second one (if
+     * multiple colors exist) are drawn.
+     *
+     * @param g2d graphics
+     * @param colors the colors of the line, it must not be empty
+     * @param width the width of the side bar
+     * @param lineHeight the height of the line
+     * @param y the y position of the line
+     */
+    void draw(Graphics2D g2d, LineColors colors, int width, int lineHeight, int y) {
+        boolean hasSecondColor = colors.size() >= 2;
+        draw(g2d, colors.getRGB(0), hasSecondColor ? colors.getRGB(1) : 0, hasSecondColor, width, lineHeight, y);
+    }
+
+    /**
+     * Draw a swatch of a line.
+     *
+     * @param g2d graphics
+     * @param argb the first color
+     * @param secondArgb the second color, it is ignored unless hasSecondColor
+     * is {@code true}
+     * @param hasSecondColor {@code true} if the line has multiple colors
+     * @param width the width of the side bar
+     * @param lineHeight the height of the line
+     * @param y the y position of the line
+     */
+    void draw(Graphics2D g2d, int argb, int secondArgb, boolean hasSecondColor, int width, int lineHeight, int y) {
+        int recHeight = lineHeight > 8 ? lineHeight - MARGIN * 2 : lineHeight;
+        // includes the border
+        int imageWidth = width - MARGIN * 2 + 1;
+        int imageHeight = recHeight + 1;
+        double scaleX = g2d.getTransform().getScaleX();
+        double scaleY = g2d.getTransform().getScaleY();
+        lookupKey.set(argb, hasSecondColor ? secondArgb : 0, hasSecondColor, width, recHeight, scaleX, scaleY);
+        Image image = images.get(lookupKey);
+        if (image == null) {
+            Color secondColor = hasSecondColor ? new Color(secondArgb, true) : null;
+            image = createImage(new Color(argb, true), secondColor, width, recHeight, imageWidth, imageHeight, scaleX, scaleY);
+            Key key = new Key();
+            key.set(lookupKey.color, lookupKey.secondColor, hasSecondColor, width, recHeight, scaleX, scaleY);
+            images.put(key, image);
+        }
+        g2d.drawImage(image, MARGIN, y + MARGIN, imageWidth, imageHeight, null);
+    }
+
+    private static Image createImage(Color color, @NullAllowed Color secondColor, int width, int recHeight, int imageWidth, int imageHeight, double scaleX, double scaleY) {
+        BufferedImage image = new BufferedImage(
+                Math.max((int) Math.ceil(imageWidth * scaleX), 1),
+                Math.max((int) Math.ceil(imageHeight * scaleY), 1),
+                BufferedImage.TYPE_INT_ARGB
+        );
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.scale(scaleX, scaleY);
+            int recWidth = width - MARGIN * 2;
+            g2d.setColor(color);
+            if (secondColor == null) {
+                g2d.fillRect(0, 0, recWidth, recHeight);
+            } else {
+                // show the second color if mulitiple color values exist
+                g2d.fillRect(0, 0, recWidth / 2, recHeight);
+                g2d.setColor(secondColor);
+                g2d.fillRect(recWidth / 2, 0, recWidth / 2, recHeight);
+            }
+            g2d.setColor(Color.GRAY);
+            g2d.setStroke(BORDER_STROKE);
+            g2d.drawRect(0, 0, recWidth, recHeight);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    //~ Inner class
+    private static final class Key {
+
+        private int color;
+        private int secondColor;
+        private boolean hasSecondColor;
+        private int width;
+        private int height;
+        private double scaleX;
+        private double scaleY;
+
+        void set(int color, int secondColor, boolean hasSecondColor, int width, int height, double scaleX, double scaleY) {
+            this.color = color;
+            this.secondColor = secondColor;
+            this.hasSecondColor = hasSecondColor;
+            this.width = width;
+            this.height = height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 29 * hash + this.color;
+            hash = 29 * hash + this.secondColor;
+            hash = 29 * hash + Boolean.hashCode(this.hasSecondColor);
+            hash = 29 * hash + this.width;
+            hash = 29 * hash + this.height;
+            hash = 29 * hash + Double.hashCode(this.scaleX);
+            hash = 29 * hash + Double.hashCode(this.scaleY);
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.width == other.width
+                    && this.height == other.height
+                    && Double.compare(this.scaleX, other.scaleX) == 0
+                    && Double.compare(this.scaleY, other.scaleY) == 0
+                    && this.color == other.color
+                    && this.secondColor == other.secondColor
+                    && this.hasSecondColor == other.hasSecondColor;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.swing.text.Document;
+
+/**
+ * Pre-screen of lines with trigger literals of providers. Text is searched
+ * once for the literals of all providers, then providers which can't find
+ * colors in it are skipped.
+ *
+ * Literals are grouped by their first character, so each character of the text
+ * is checked with only literals which start with it.
+ *
+ * @see ColorCodesProvider#getTriggers(Document)
+ * @author junichi11
+ */
+final class TriggerFilter {
+
+    // providers are represented by bits of long values
+    private static final int MAX_PROVIDERS = Long.SIZE;
+    private static final int ASCII_SIZE = 128;
+
+    // literals by the first character (ASCII)
+    private final Trigger[][] triggers = new Trigger[ASCII_SIZE][];
+    // providers which don't have triggers
+    private final long alwaysMask;
+    private final long allMask;
+
+    private TriggerFilter(long alwaysMask, long allMask) {
+        this.alwaysMask = alwaysMask;
+        this.allMask = allMask;
+    }
+
+    /**
+     * Create the filter for providers.
+     *
+     * @param providers the providers
+     * @param document the document
+     * @return the filter
+     */
+    static TriggerFilter create(List<ColorCodesProvider> providers, Document document) {
+        int size = Math.min(providers.size(), MAX_PROVIDERS);
+        long allMask = size == MAX_PROVIDERS ? -1L : (1L << size) - 1;
+        long alwaysMask = 0;
+        List<List<Trigger>> triggers = new ArrayList<>(ASCII_SIZE);
+        for (int i = 0; i < ASCII_SIZE; i++) {
+            triggers.add(null);
+        }
+        for (int i = 0; i < size; i++) {
+            long mask = 1L << i;
+            List<String> literals = providers.get(i).getTriggers(document);
+            if (literals.isEmpty() || !isAscii(literals)) {
+                alwaysMask |= mask;
+                continue;
+            }
+            for (String literal : literals) {
+                String lowerCase = literal.toLowerCase(Locale.ROOT);
+                Trigger trigger = new Trigger(lowerCase, mask);
+                addTrigger(triggers, lowerCase.charAt(0), trigger);
+                char upperCase = Character.toUpperCase(lowerCase.charAt(0));
+                if (upperCase != lowerCase.charAt(0)) {
+                    addTrigger(triggers, upperCase, trigger);
+                }
+            }
+        }
+        TriggerFilter filter = new TriggerFilter(alwaysMask, allMask);
+        for (int i = 0; i < ASCII_SIZE; i++) {
+            List<Trigger> list = triggers.get(i);
+            if (list != null) {
+                filter.triggers[i] = list.toArray(new Trigger[list.size()]);
+            }
+        }
+        return filter;
+    }
+
+    private static boolean isAscii(List<String> literals) {
+        for (String literal : literals) {
+            if (literal.isEmpty() || literal.charAt(0) >= ASCII_SIZE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addTrigger(List<List<Trigger>> triggers, char c, Trigger trigger) {
+        List<Trigger> list = triggers.get(c);
+        if (list == null) {
+            list = new ArrayList<>();
+            triggers.set(c, list);
+        }
+        list.add(trigger);
+    }
+
+    /**
+     * Get providers which may find colors in the range of the text.
+     *
+     * @param text the text
+     * @param start the start offset
+     * @param end the end offset (exclusive)
+     * @return the bits of the provider indices, check them with
+     * {@link #accepts(long, int)}
+     */
+    long filter(CharSequence text, int start, int end) {
+        long mask = alwaysMask;
+        for (int i = start; i < end && mask != allMask; i++) {
+            char c = text.charAt(i);
+            if (c >= ASCII_SIZE || triggers[c] == null) {
+                continue;
+            }
+            for (Trigger trigger : triggers[c]) {
+                if ((mask & trigger.mask) == 0 && trigger.matches(text, i, end)) {
+                    mask |= trigger.mask;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Check whether the provider may find colors.
+     *
+     * @param mask the result of {@link #filter(CharSequence, int, int)}
+     * @param index the index of the provider
+     * @return {@code true} if the provider may find colors, otherwise
+     * {@code false}
+     */
+    static boolean accepts(long mask, int index) {
+        return index >= MAX_PROVIDERS || (mask & (1L << index)) != 0;
+    }
+
+    //~ Inner class
+    private static final class Trigger {
+
+        private final String literal;
+        private final long mask;
+
+        Trigger(String literal, long mask) {
+            this.literal = literal;
+            this.mask = mask;
+        }
+
+        boolean matches(CharSequence text, int offset, int end) {
+            if (offset + literal.length() > end) {
+                return false;
+            }
+            // the first character is already matched
+            for (int i = 1; i < literal.length(); i++) {
+                if (Character.toLowerCase(text.charAt(offset + i)) != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Variable definitions (e.g. Sass and Less variables) keyed by the definition
+ * line. Lines are shifted with document changes, so only edited lines have to
+ * be scanned again.
+ *
+ * This is not thread safe. It must be accessed under the document lock.
+ *
+ * @author junichi11
+ */
+final class VariableSymbolTable {
+
+    private final TreeMap<Integer, Map<ColorCodesProvider, Map<String, List<ColorValue>>>> definitions = new TreeMap<>();
+    // lines which are edited after they are scanned
+    private final TreeSet<Integer> dirtyLines = new TreeSet<>();
+    // lines before this are scanned except dirty lines
+    private int scannedLineCount;
+
+    void clear() {
+        definitions.clear();
+        dirtyLines.clear();
+        scannedLineCount = 0;
+    }
+
+    boolean isScanned(int line) {
+        return line < scannedLineCount && !dirtyLines.contains(line);
+    }
+
+    /**
+     * Get lines which have to be scanned to resolve variables of the range.
+     *
+     * @param startLine the first line index
+     * @param endLine the last line index (exclusive)
+     * @return lines which are not scanned yet
+     */
+    SortedSet<Integer> getUnscannedLines(int startLine, int endLine) {
+        TreeSet<Integer> lines = new TreeSet<>();
+        if (startLine >= endLine) {
+            return lines;
+        }
+        lines.addAll(dirtyLines.subSet(startLine, endLine));
+        for (int i = Math.max(startLine, scannedLineCount); i < endLine; i++) {
+            lines.add(i);
+        }
+        return lines;
+    }
+
+    SortedSet<Integer> getDefinitionLines(int startLine, int endLine) {
+        if (startLine >= endLine) {
+            return Collections.emptySortedSet();
+        }
+        return new TreeSet<>(definitions.subMap(startLine, endLine).keySet());
+    }
+
+    Map<ColorCodesProvider, Map<String, List<ColorValue>>> getDefinitions(int line) {
+        Map<ColorCodesProvider, Map<String, List<ColorValue>>> lineDefinitions = definitions.get(line);
+        return lineDefinitions == null ? Collections.emptyMap() : lineDefinitions;
+    }
+
+    /**
+     * Set definitions of the scanned line.
+     *
+     * @param line the line index
+     * @param lineDefinitions the definitions of the line
+     * @return {@code true} if the definitions are changed, otherwise
+     * {@code false}
+     */
+    boolean setDefinitions(int line, Map<ColorCodesProvider, Map<String, List<ColorValue>>> lineDefinitions) {
+        dirtyLines.remove(line);
+        if (line == scannedLineCount) {
+            scannedLineCount++;
+        }
+        Map<ColorCodesProvider, Map<String, List<ColorValue>>> oldDefinitions = getDefinitions(line);
+        if (lineDefinitions.isEmpty()) {
+            definitions.remove(line);
+        } else {
+            definitions.put(line, lineDefinitions);
+        }
+        return !isSame(oldDefinitions, lineDefinitions);
+    }
+
+    /**
+     * Mark the edited line as not scanned.
+     *
+     * @param line the line index
+     */
+    void invalidate(int line) {
+        if (line < scannedLineCount) {
+            dirtyLines.add(line);
+        }
+    }
+
+    /**
+     * Shift lines with a structural change of the document.
+     *
+     * @param index the first changed line index
+     * @param removed the number of removed lines
+     * @param added the number of added lines
+     * @return {@code true} if removed lines have definitions, otherwise
+     * {@code false}
+     */
+    boolean replaceLines(int index, int removed, int added) {
+        int delta = added - removed;
+        // the first line is just edited if lines are not only added or removed
+        // keep its definitions to compare them with new ones when it is scanned again
+        Map<ColorCodesProvider, Map<String, List<ColorValue>>> editedLineDefinitions = null;
+        if (removed > 0 && added > 0) {
+            editedLineDefinitions = definitions.remove(index);
+        }
+        SortedMap<Integer, Map<ColorCodesProvider, Map<String, List<ColorValue>>>> removedDefinitions = definitions.subMap(index, index + removed);
+        boolean hasDefinitions = !removedDefinitions.isEmpty();
+        removedDefinitions.clear();
+        dirtyLines.subSet(index, index + removed).clear();
+        if (delta != 0) {
+            SortedMap<Integer, Map<ColorCodesProvider, Map<String, List<ColorValue>>>> tail = definitions.tailMap(index + removed);
+            TreeMap<Integer, Map<ColorCodesProvider, Map<String, List<ColorValue>>>> shifted = new TreeMap<>();
+            tail.forEach((line, lineDefinitions) -> shifted.put(line + delta, lineDefinitions));
+            tail.clear();
+            definitions.putAll(shifted);
+
+            SortedSet<Integer> dirtyTail = dirtyLines.tailSet(index + removed);
+            List<Integer> shiftedLines = new ArrayList<>(dirtyTail.size());
+            dirtyTail.forEach(line -> shiftedLines.add(line + delta));
+            dirtyTail.clear();
+            dirtyLines.addAll(shiftedLines);
+        }
+        if (editedLineDefinitions != null) {
+            definitions.put(index, editedLineDefinitions);
+        }
+
+        if (scannedLineCount >= index + removed) {
+            scannedLineCount += delta;
+        } else if (scannedLineCount > index) {
+            scannedLineCount = index;
+        }
+        for (int i = index; i < index + added && i < scannedLineCount; i++) {
+            dirtyLines.add(i);
+        }
+        return hasDefinitions;
+    }
+
+    private static boolean isSame(Map<ColorCodesProvider, Map<String, List<ColorValue>>> definitions1, Map<ColorCodesProvider, Map<String, List<ColorValue>>> definitions2) {
+        if (!definitions1.keySet().equals(definitions2.keySet())) {
+            return false;
+        }
+        for (Map.Entry<ColorCodesProvider, Map<String, List<ColorValue>>> entry : definitions1.entrySet()) {
+            Map<String, List<ColorValue>> variables1 = entry.getValue();
+            Map<String, List<ColorValue>> variables2 = definitions2.get(entry.getKey());
+            if (!variables1.keySet().equals(variables2.keySet())) {
+                return false;
+            }
+            for (Map.Entry<String, List<ColorValue>> variable : variables1.entrySet()) {
+                if (!getColors(variable.getValue()).equals(getColors(variables2.get(variable.getKey())))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static List<Color> getColors(List<ColorValue> colorValues) {
+        List<Color> colors = new ArrayList<>(colorValues.size());
+        colorValues.forEach(colorValue -> colors.add(colorValue.getColor()));
+        return colors;
+    }
+}
@@ -19,11 +19,14 @@ import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
 import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.HexColorValue;
 import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
 import java.awt.Color;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Supplier;
 import javax.swing.text.BadLocationException;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -204,6 +207,81 @@ public class HexCssColorCodesProviderTest {
         assertEquals(true, result.get(0).isEditable());
     }
 
+    @Test
+    public void testGetColorValuesInRange() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/less");
+        document.insertString(0, "test", null);
+        HexCssColorCodesProvider provider = new HexCssColorCodesProvider();
+        ColorCodesPreviewOptions.getInstance().setNamedColors(false);
+        String text = "@red: #f00;\ncolor: #000000  ;\n#fff";
+        int start = text.indexOf('\n') + 1;
+        int end = text.lastIndexOf('\n');
+        List<ColorValue> result = provider.getColorValues(document, text, start, end, 1, Collections.emptyMap());
+        assertEquals(1, result.size());
+        assertEquals(Color.decode("#000000"), result.get(0).getColor());
+        assertEquals(7, result.get(0).getStartOffset());
+        assertEquals(14, result.get(0).getEndOffset());
+
+        // variables
+        HashMap<String, List<ColorValue>> variablesMap = new HashMap<>();
+        result = provider.getColorValues(document, text, 0, start - 1, 0, variablesMap);
+        assertEquals(1, result.size());
+        assertEquals(result, variablesMap.get("@red"));
+        text = "@red: #f00;\nborder: @red;";
+        result = provider.getColorValues(document, text, start, text.length(), 1, variablesMap);
+        assertEquals(1, result.size());
+        assertEquals(Color.RED, result.get(0).getColor());
+    }
+
+    @Test
+    public void testScan() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\n  color: #ff0000;\n  background: rgb(0, 0, 255);\n}\n", null);
+        HexCssColorCodesProvider provider = new HexCssColorCodesProvider();
+        String text = document.getText(0, document.getLength());
+        List<ColorValue> colorValues = new ArrayList<>();
+        List<Integer> startOffsets = new ArrayList<>();
+        List<Integer> colors = new ArrayList<>();
+        provider.scan(document, text.indexOf('\n') + 1, document.getLength(), (startOffset, endOffset, argb, colorValue) -> {
+            colorValues.add(colorValue.get());
+            startOffsets.add(startOffset);
+            colors.add(argb);
+        });
+        assertEquals(2, colorValues.size());
+        assertEquals(Integer.valueOf(Color.RED.getRGB()), colors.get(0));
+        assertEquals(Integer.valueOf(Color.BLUE.getRGB()), colors.get(1));
+        assertEquals(Color.RED, colorValues.get(0).getColor());
+        assertEquals(1, colorValues.get(0).getLine());
+        assertEquals(9, colorValues.get(0).getStartOffset());
+        assertEquals(Integer.valueOf(text.indexOf("#ff0000")), startOffsets.get(0)); // NOI18N
+        assertEquals(Color.BLUE, colorValues.get(1).getColor());
+        assertEquals(2, colorValues.get(1).getLine());
+        assertEquals(14, colorValues.get(1).getStartOffset());
+        assertEquals(Integer.valueOf(text.indexOf("rgb")), startOffsets.get(1)); // NOI18N
+    }
+
+    @Test
+    public void testScanSkip() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "#f00 #0f0 rgb(0, 0, 255)\n#fff rgb(0, 0, 0)\n", null);
+        HexCssColorCodesProvider provider = new HexCssColorCodesProvider();
+        int secondLineStartOffset = document.getText(0, document.getLength()).indexOf('\n') + 1;
+        List<Integer> startOffsets = new ArrayList<>();
+        provider.scan(document, 0, document.getLength(), new ColorValueSink() {
+            @Override
+            public void accept(int startOffset, int endOffset, int argb, Supplier<ColorValue> colorValue) {
+                startOffsets.add(startOffset);
+            }
+
+            @Override
+            public int skip(int offset) {
+                // only the first color of the first line
+                return startOffsets.contains(0) && offset > 0 && offset < secondLineStartOffset ? secondLineStartOffset : offset;
+            }
+        });
+        assertEquals(Arrays.asList(0, secondLineStartOffset, secondLineStartOffset + 5), startOffsets);
+    }
+
     @Test
     public void testGetStartIndex() throws BadLocationException {
         BaseDocument document = new BaseDocument(false, "text/javascript");
@@ -16,15 +16,19 @@
 package com.junichi11.netbeans.modules.color.codes.preview.impl;
 
 import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.utils.Utils;
 import java.awt.Color;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import javax.swing.text.BadLocationException;
 import org.junit.After;
 import org.junit.AfterClass;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.netbeans.editor.BaseDocument;
 
 /**
  *
@@ -411,4 +415,41 @@ public class JavaColorCodesProviderTest {
         assertEquals(64, result.get(1).getEndOffset());
     }
 
+
+    @Test
+    public void testScan() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/x-java");
+        document.insertString(0, "import java.awt.Color; // Color.RED\n"
+                + "Color c = new Color(\n"
+                + "    0, 0xff,\n"
+                + "    0); Color d = Color.BLUE;\n"
+                + "Color e = Color.CYAN;\n", null);
+        JavaColorCodesProvider provider = new JavaColorCodesProvider();
+        String text = document.getText(0, document.getLength());
+        int startOffset = 0;
+        int endOffset = text.indexOf("Color e"); // NOI18N
+        List<ColorValue> colorValues = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        provider.scan(document, startOffset, endOffset, (colorStartOffset, colorEndOffset, argb, colorValue) -> {
+            colorValues.add(colorValue.get());
+            offsets.add(colorStartOffset);
+            offsets.add(colorEndOffset);
+        });
+        Utils.sort(colorValues);
+        assertEquals(2, colorValues.size());
+        assertTrue(offsets.contains(text.indexOf("new Color"))); // NOI18N
+        assertTrue(offsets.contains(text.indexOf("0);") + 2)); // NOI18N
+
+        // several lines
+        ColorValue colorValue = colorValues.get(0);
+        assertEquals(Color.GREEN, colorValue.getColor());
+        assertEquals(1, colorValue.getLine());
+        assertEquals("Color c = ".length(), colorValue.getStartOffset()); // NOI18N
+        assertEquals("new Color(\n    0, 0xff,\n    0)", colorValue.getValue()); // NOI18N
+
+        colorValue = colorValues.get(1);
+        assertEquals(Color.BLUE, colorValue.getColor());
+        assertEquals(3, colorValue.getLine());
+        assertEquals("    0); Color d = ".length(), colorValue.getStartOffset()); // NOI18N
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.colors;
+
+import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.ColorsUtils;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.RegexColorsUtils;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.HexCssColorType;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class HexCssColorValueTest {
+
+    public HexCssColorValueTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testGetColor() {
+        HexColorValue colorValue = new HexColorValue("#ff0000", new OffsetRange(0, 7), 0); // NOI18N
+        assertEquals(Color.RED, colorValue.getColor());
+        assertEquals(Color.RED.getRGB(), colorValue.getRGB());
+        // decoded once
+        assertSame(colorValue.getColor(), colorValue.getColor());
+
+        CssHSLAColorValue hsla = new CssHSLAColorValue("hsla(120, 100%, 50%, 0.5)", new OffsetRange(0, 25), 0, 0x8000ff00); // NOI18N
+        assertEquals(new Color(0, 255, 0, 128), hsla.getColor());
+        assertSame(hsla.getColor(), hsla.getColor());
+
+        // invalid value
+        colorValue = new HexColorValue("#ff00", new OffsetRange(0, 5), 0); // NOI18N
+        assertNull(colorValue.getColor());
+    }
+
+    @Test
+    public void testScannedColors() {
+        // packed colors of scanned values are the same as decoded values
+        List<ColorValue> colorValues = new ArrayList<>();
+        colorValues.addAll(RegexColorsUtils.getHexColorCodes("#f0a #00ff7f", 0)); // NOI18N
+        colorValues.addAll(RegexColorsUtils.getCssIntRGBAs("rgba(10, 20, 30, 0.3)", 0)); // NOI18N
+        colorValues.addAll(RegexColorsUtils.getCssPercentRGBs("rgb(10%, 20%, 30%)", 0)); // NOI18N
+        colorValues.addAll(RegexColorsUtils.getCssHSLs("hsl(200, 50%, 25%)", 0)); // NOI18N
+        colorValues.addAll(RegexColorsUtils.getNamedColors(" darkorange ", 0)); // NOI18N
+        assertEquals(6, colorValues.size());
+        for (ColorValue colorValue : colorValues) {
+            HexCssColorValue value = (HexCssColorValue) colorValue;
+            assertEquals(value.getValue(), ColorsUtils.decode(value.getValue(), value.getType()), value.getColor());
+        }
+    }
+}
@@ -454,30 +454,30 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetHexColorCodesStrings() {
-        List<String> result = ColorsUtils.getHexColorCodes("#000000");
+        List<String> result = RegexColorsUtils.getHexColorCodes("#000000");
         Assert.assertEquals(1, result.size());
 
-        result = ColorsUtils.getHexColorCodes("#000");
+        result = RegexColorsUtils.getHexColorCodes("#000");
         Assert.assertEquals(1, result.size());
 
-        result = ColorsUtils.getHexColorCodes("hex#ffffffhex");
+        result = RegexColorsUtils.getHexColorCodes("hex#ffffffhex");
         Assert.assertEquals(1, result.size());
 
-        result = ColorsUtils.getHexColorCodes("hex#ffffff#000");
+        result = RegexColorsUtils.getHexColorCodes("hex#ffffff#000");
         Assert.assertEquals(2, result.size());
 
-        result = ColorsUtils.getHexColorCodes("hex #ffffff #000 #1");
+        result = RegexColorsUtils.getHexColorCodes("hex #ffffff #000 #1");
         Assert.assertEquals(2, result.size());
 
-        result = ColorsUtils.getHexColorCodes("#1");
+        result = RegexColorsUtils.getHexColorCodes("#1");
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#22");
+        result = RegexColorsUtils.getHexColorCodes("#22");
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#4444");
+        result = RegexColorsUtils.getHexColorCodes("#4444");
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#55555");
+        result = RegexColorsUtils.getHexColorCodes("#55555");
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#7777777");
+        result = RegexColorsUtils.getHexColorCodes("#7777777");
         Assert.assertEquals(0, result.size());
     }
 
@@ -486,51 +486,85 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetHexColorCodesColorValues() {
-        List<ColorValue> result = ColorsUtils.getHexColorCodes("#000000", 1);
+        List<ColorValue> result = RegexColorsUtils.getHexColorCodes("#000000", 1);
         Assert.assertEquals(1, result.size());
 
-        result = ColorsUtils.getHexColorCodes("#000", 1);
+        result = RegexColorsUtils.getHexColorCodes("#000", 1);
         Assert.assertEquals(1, result.size());
 
-        result = ColorsUtils.getHexColorCodes("hex#ffffffhex", 1);
+        result = RegexColorsUtils.getHexColorCodes("hex#ffffffhex", 1);
         Assert.assertEquals(1, result.size());
 
-        result = ColorsUtils.getHexColorCodes("hex#ffffff#000", 1);
+        result = RegexColorsUtils.getHexColorCodes("hex#ffffff#000", 1);
         Assert.assertEquals(2, result.size());
 
-        result = ColorsUtils.getHexColorCodes("hex #ffffff #000 #1", 1);
+        result = RegexColorsUtils.getHexColorCodes("hex #ffffff #000 #1", 1);
         Assert.assertEquals(2, result.size());
 
-        result = ColorsUtils.getHexColorCodes("#1", 1);
+        result = RegexColorsUtils.getHexColorCodes("#1", 1);
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#22", 1);
+        result = RegexColorsUtils.getHexColorCodes("#22", 1);
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#4444", 1);
+        result = RegexColorsUtils.getHexColorCodes("#4444", 1);
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#55555", 1);
+        result = RegexColorsUtils.getHexColorCodes("#55555", 1);
         Assert.assertEquals(0, result.size());
-        result = ColorsUtils.getHexColorCodes("#7777777", 1);
+        result = RegexColorsUtils.getHexColorCodes("#7777777", 1);
         Assert.assertEquals(0, result.size());
     }
 
+    /**
+     * Test of getHexColorCodes method with a range, of class ColorsUtils.
+     */
+    @Test
+    public void testGetHexColorCodesInRange() {
+        String text = "#111\ncolor: #ff0000; #00f\n#222";
+        int start = text.indexOf("color"); // NOI18N
+        int end = text.lastIndexOf('\n');
+        List<ColorValue> result = RegexColorsUtils.getHexColorCodes(text, start, end, 1);
+        assertEquals(2, result.size());
+        assertEquals(Color.RED, result.get(0).getColor());
+        assertEquals(7, result.get(0).getStartOffset());
+        assertEquals(14, result.get(0).getEndOffset());
+        assertEquals(Color.BLUE, result.get(1).getColor());
+        assertEquals(16, result.get(1).getStartOffset());
+        assertEquals(20, result.get(1).getEndOffset());
+
+        // the code is cut at the end of the range
+        result = RegexColorsUtils.getHexColorCodes(text, start, end - 1, 1);
+        assertEquals(1, result.size());
+
+        result = RegexColorsUtils.getNamedColors(" red blue ", 4, 10, 1);
+        assertEquals(1, result.size());
+        assertEquals(Color.BLUE, result.get(0).getColor());
+        assertEquals(1, result.get(0).getStartOffset());
+    }
+
+    @Test
+    public void testIndexOf() {
+        assertEquals(2, ColorsUtils.indexOf("a Color.RED", 0, 11, "Color")); // NOI18N
+        assertEquals(-1, ColorsUtils.indexOf("a Color.RED", 3, 11, "Color")); // NOI18N
+        assertEquals(-1, ColorsUtils.indexOf("a Color.RED", 0, 6, "Color")); // NOI18N
+    }
+
     /**
      * Test of getCssIntRGBs method, of class ColorsUtils.
      */
     @Test
     public void testGetCssIntRGBStrings() {
-        List<String> result = ColorsUtils.getCssIntRGBs("rgb(0, 0, 0)");
+        List<String> result = RegexColorsUtils.getCssIntRGBs("rgb(0, 0, 0)");
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBs("rgb(100 , 100 , 100)");
+        result = RegexColorsUtils.getCssIntRGBs("rgb(100 , 100 , 100)");
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBs("rgb(255, 255, 255)");
+        result = RegexColorsUtils.getCssIntRGBs("rgb(255, 255, 255)");
         assertEquals(1, result.size());
 
-        result = ColorsUtils.getCssIntRGBs("rgb(255, 255, 255) rgb(0,0,0)");
+        result = RegexColorsUtils.getCssIntRGBs("rgb(255, 255, 255) rgb(0,0,0)");
         assertEquals(2, result.size());
 
-        result = ColorsUtils.getCssIntRGBs("test");
+        result = RegexColorsUtils.getCssIntRGBs("test");
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBs("rgb(-1,255,255)");
+        result = RegexColorsUtils.getCssIntRGBs("rgb(-1,255,255)");
         assertEquals(0, result.size());
     }
 
@@ -539,19 +573,19 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetCssIntRGBColorValues() {
-        List<ColorValue> result = ColorsUtils.getCssIntRGBs("rgb(0, 0, 0)", -1);
+        List<ColorValue> result = RegexColorsUtils.getCssIntRGBs("rgb(0, 0, 0)", -1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBs("rgb(100 , 100 , 100)", 1);
+        result = RegexColorsUtils.getCssIntRGBs("rgb(100 , 100 , 100)", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBs("rgb(255, 255, 255)", 1);
+        result = RegexColorsUtils.getCssIntRGBs("rgb(255, 255, 255)", 1);
         assertEquals(1, result.size());
 
-        result = ColorsUtils.getCssIntRGBs("rgb(255, 255, 255) rgb(0,0,0)", 1);
+        result = RegexColorsUtils.getCssIntRGBs("rgb(255, 255, 255) rgb(0,0,0)", 1);
         assertEquals(2, result.size());
 
-        result = ColorsUtils.getCssIntRGBs("test", 1);
+        result = RegexColorsUtils.getCssIntRGBs("test", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBs("rgb(-1, 255, 255)", 1);
+        result = RegexColorsUtils.getCssIntRGBs("rgb(-1, 255, 255)", 1);
         assertEquals(0, result.size());
     }
 
@@ -560,23 +594,23 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetCssPercentRGBColorValues() {
-        List<ColorValue> result = ColorsUtils.getCssPercentRGBs("rgb(0%, 0%, 0%)", -1);
+        List<ColorValue> result = RegexColorsUtils.getCssPercentRGBs("rgb(0%, 0%, 0%)", -1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssPercentRGBs("rgb(50% , 50% , 50%)", 1);
+        result = RegexColorsUtils.getCssPercentRGBs("rgb(50% , 50% , 50%)", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssPercentRGBs("rgb(100%, 100%, 100%)", 1);
+        result = RegexColorsUtils.getCssPercentRGBs("rgb(100%, 100%, 100%)", 1);
         assertEquals(1, result.size());
 
-        result = ColorsUtils.getCssPercentRGBs("rgb(100%, 100%, 100%) rgb(0%,0%,0%)", 1);
+        result = RegexColorsUtils.getCssPercentRGBs("rgb(100%, 100%, 100%) rgb(0%,0%,0%)", 1);
         assertEquals(2, result.size());
 
-        result = ColorsUtils.getCssPercentRGBs("test", 1);
+        result = RegexColorsUtils.getCssPercentRGBs("test", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBs("rgb(-1%, 100%, 100%)", 1);
+        result = RegexColorsUtils.getCssPercentRGBs("rgb(-1%, 100%, 100%)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBs("rgb(100, 100, 100)", 1);
+        result = RegexColorsUtils.getCssPercentRGBs("rgb(100, 100, 100)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBs("rgba(100%, 100%, 100%, 1)", 1);
+        result = RegexColorsUtils.getCssPercentRGBs("rgba(100%, 100%, 100%, 1)", 1);
         assertEquals(0, result.size());
     }
 
@@ -585,26 +619,26 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetCssIntRGBAStrings() {
-        List<String> result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0)");
+        List<String> result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0)");
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(100 , 100 , 100 , 0.5)");
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(100 , 100 , 100 , 0.5)");
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1)");
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1)");
         assertEquals(1, result.size());
 
-        result = ColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 0.1) rgba(0,0,0, 0.8)");
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 0.1) rgba(0,0,0, 0.8)");
         assertEquals(2, result.size());
 
-        result = ColorsUtils.getCssIntRGBAs("rgba(255,255,255,1) test rgba(0,0,0, -1)");
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(255,255,255,1) test rgba(0,0,0, -1)");
         assertEquals(1, result.size());
 
-        result = ColorsUtils.getCssIntRGBAs("test");
+        result = RegexColorsUtils.getCssIntRGBAs("test");
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(-1, 255, 255, 1)");
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(-1, 255, 255, 1)");
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 1.5)");
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 1.5)");
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, -1)");
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, -1)");
         assertEquals(0, result.size());
     }
 
@@ -613,33 +647,33 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetCssIntRGBAColorValues() {
-        List<ColorValue> result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0)", -1);
+        List<ColorValue> result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0)", -1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(100, 100, 100, 0.5)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(100, 100, 100, 0.5)", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1)", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1)", 1);
         assertEquals(1, result.size());
 
         // multiple values
-        result = ColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 0.1) rgba(0,0,0, 0.8)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 0.1) rgba(0,0,0, 0.8)", 1);
         assertEquals(2, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1) test rgba(0,0,0, -1)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(255, 255, 255, 1) test rgba(0,0,0, -1)", 1);
         assertEquals(1, result.size());
 
         // no colors
-        result = ColorsUtils.getCssIntRGBAs("test", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("test", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(-1, 255, 255, 1)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(-1, 255, 255, 1)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 1.5)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 1.5)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, -1)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, -1)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0.0)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0.0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0.50)", 1);
+        result = RegexColorsUtils.getCssIntRGBAs("rgba(0, 0, 0, 0.50)", 1);
         assertEquals(0, result.size());
     }
 
@@ -648,35 +682,35 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetCssPercentRGBAColorValues() {
-        List<ColorValue> result = ColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 0)", -1);
+        List<ColorValue> result = RegexColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 0)", -1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 0.5)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 0.5)", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 1)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 1)", 1);
         assertEquals(1, result.size());
 
         // multiple values
-        result = ColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 0.1) rgba(0%,0%,0%, 0.8)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 0.1) rgba(0%,0%,0%, 0.8)", 1);
         assertEquals(2, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 1) test rgba(0%,0%,0%, -1)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(100%, 100%, 100%, 1) test rgba(0%,0%,0%, -1)", 1);
         assertEquals(1, result.size());
 
         // no colors
-        result = ColorsUtils.getCssPercentRGBAs("test", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("test", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(-1%, 100%, 100%, 1)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(-1%, 100%, 100%, 1)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 1.5)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 1.5)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, -1)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, -1)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 0.0)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 0.0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 0.50)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(0%, 0%, 0%, 0.50)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgba(0, 0, 0, 0.50)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgba(0, 0, 0, 0.50)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssPercentRGBAs("rgb(0, 0, 0)", 1);
+        result = RegexColorsUtils.getCssPercentRGBAs("rgb(0, 0, 0)", 1);
         assertEquals(0, result.size());
     }
 
@@ -685,38 +719,38 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetCssHSLColorValues() {
-        List<ColorValue> result = ColorsUtils.getCssHSLs("hsl(0, 0%, 0%)", -1);
+        List<ColorValue> result = RegexColorsUtils.getCssHSLs("hsl(0, 0%, 0%)", -1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(180, 50%, 50%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(180, 50%, 50%)", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(360, 100%, 100%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(360, 100%, 100%)", 1);
         assertEquals(1, result.size());
 
         // multiple values
-        result = ColorsUtils.getCssHSLs("hsl(0, 100%, 100%) hsl(0,0%,0%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(0, 100%, 100%) hsl(0,0%,0%)", 1);
         assertEquals(2, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(-1, 100%, 100%) test hsl(0,0%,0%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(-1, 100%, 100%) test hsl(0,0%,0%)", 1);
         assertEquals(1, result.size());
 
         // no colors
-        result = ColorsUtils.getCssHSLs("test", 1);
+        result = RegexColorsUtils.getCssHSLs("test", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(-1, 100%, 100%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(-1, 100%, 100%)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(361, 100%, 100%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(361, 100%, 100%)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(0, -1%, 0%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(0, -1%, 0%)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(0, 101%, 0%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(0, 101%, 0%)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(0, 0%, -1%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(0, 0%, -1%)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLs("hsl(0, 0%, 101%)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(0, 0%, 101%)", 1);
         assertEquals(0, result.size());
 
-        result = ColorsUtils.getCssHSLs("hsl(0, 0%, 0%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsl(0, 0%, 0%, 0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLs("hsla(0, 0%, 0%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLs("hsla(0, 0%, 0%, 0)", 1);
         assertEquals(0, result.size());
     }
 
@@ -725,46 +759,46 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetCssHSLAColorValues() {
-        List<ColorValue> result = ColorsUtils.getCssHSLAs("hsla(0, 0%, 0%, 0)", -1);
+        List<ColorValue> result = RegexColorsUtils.getCssHSLAs("hsla(0, 0%, 0%, 0)", -1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(180, 50%, 50%, 0.5)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(180, 50%, 50%, 0.5)", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(360, 100%, 100%, 1)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(360, 100%, 100%, 1)", 1);
         assertEquals(1, result.size());
 
         // multiple values
-        result = ColorsUtils.getCssHSLAs("hsla(0, 100%, 100%, 1) hsla(0,0%,0%, 0.8)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, 100%, 100%, 1) hsla(0,0%,0%, 0.8)", 1);
         assertEquals(2, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(180, 100%, 100%, -1) test hsla(0,0%,0%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(180, 100%, 100%, -1) test hsla(0,0%,0%, 0)", 1);
         assertEquals(1, result.size());
 
         // no colors
-        result = ColorsUtils.getCssHSLAs("test", 1);
+        result = RegexColorsUtils.getCssHSLAs("test", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(-1, 100%, 100%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(-1, 100%, 100%, 0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(361, 100%, 100%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(361, 100%, 100%, 0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(0, -1%, 0%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, -1%, 0%, 0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(0, 101%, 0%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, 101%, 0%, 0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(0, 0%, -1%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, 0%, -1%, 0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(0, 0%, 101%, 0)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, 0%, 101%, 0)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(0, 0%, 100%, -0.1)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, 0%, 100%, -0.1)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsla(0, 0%, 100%, 1.1)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, 0%, 100%, 1.1)", 1);
         assertEquals(0, result.size());
 
-        result = ColorsUtils.getCssHSLAs("hsla(0, 0%, 0%)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(0, 0%, 0%)", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getCssHSLAs("hsl(0, 0%, 0%)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsl(0, 0%, 0%)", 1);
         assertEquals(0, result.size());
 
         // #47
-        result = ColorsUtils.getCssHSLAs("hsla(60, 100%, 50%, 0.5)", 1);
+        result = RegexColorsUtils.getCssHSLAs("hsla(60, 100%, 50%, 0.5)", 1);
         assertEquals(1, result.size());
         Color color = result.get(0).getColor();
         assertEquals(255, color.getRed());
@@ -775,128 +809,128 @@ public class ColorsUtilsTest {
      */
     @Test
     public void testGetNamedColorValues() {
-        List<ColorValue> result = ColorsUtils.getNamedColors(" black ", -1);
+        List<ColorValue> result = RegexColorsUtils.getNamedColors(" black ", -1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" BLACK ", 1);
+        result = RegexColorsUtils.getNamedColors(" BLACK ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" yellow ", 1);
+        result = RegexColorsUtils.getNamedColors(" yellow ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" green ", 1);
+        result = RegexColorsUtils.getNamedColors(" green ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" yellowgreen ", 1);
+        result = RegexColorsUtils.getNamedColors(" yellowgreen ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" greenyellow ", 1);
+        result = RegexColorsUtils.getNamedColors(" greenyellow ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" orangered ", 1);
+        result = RegexColorsUtils.getNamedColors(" orangered ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" red ", 1);
+        result = RegexColorsUtils.getNamedColors(" red ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" orange ", 1);
+        result = RegexColorsUtils.getNamedColors(" orange ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" mediumslateblue ", 1);
+        result = RegexColorsUtils.getNamedColors(" mediumslateblue ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" blue ", 1);
+        result = RegexColorsUtils.getNamedColors(" blue ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" mediumblue ", 1);
+        result = RegexColorsUtils.getNamedColors(" mediumblue ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" aquamarine ", 1);
+        result = RegexColorsUtils.getNamedColors(" aquamarine ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" aqua ", 1);
+        result = RegexColorsUtils.getNamedColors(" aqua ", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(" aqua\"", 1);
+        result = RegexColorsUtils.getNamedColors(" aqua\"", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(":red;", 1);
+        result = RegexColorsUtils.getNamedColors(":red;", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getNamedColors(": red;", 1);
+        result = RegexColorsUtils.getNamedColors(": red;", 1);
         assertEquals(1, result.size());
 
-        result = ColorsUtils.getNamedColors(" green, yellow ", 1);
+        result = RegexColorsUtils.getNamedColors(" green, yellow ", 1);
         assertEquals(2, result.size());
 
-        result = ColorsUtils.getNamedColors("invalidName", 1);
+        result = RegexColorsUtils.getNamedColors("invalidName", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getNamedColors("white-space", 1);
+        result = RegexColorsUtils.getNamedColors("white-space", 1);
         assertEquals(0, result.size());
     }
 
     @Test
     public void testGetJavaStandardColors() {
-        List<ColorValue> result = ColorsUtils.getJavaStandardColors("Color color = Color.black;", 1);
+        List<ColorValue> result = RegexColorsUtils.getJavaStandardColors("Color color = Color.black;", 1);
         assertEquals(1, result.size());
-        result = ColorsUtils.getJavaStandardColors("Color color = Color.WHITE;", 1);
+        result = RegexColorsUtils.getJavaStandardColors("Color color = Color.WHITE;", 1);
         assertEquals(1, result.size());
 
-        result = ColorsUtils.getJavaStandardColors("Color color = Color.Black;", 1);
+        result = RegexColorsUtils.getJavaStandardColors("Color color = Color.Black;", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaStandardColors("Color color = Color.WhiTE;", 1);
+        result = RegexColorsUtils.getJavaStandardColors("Color color = Color.WhiTE;", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaStandardColors("Color color = Color.FOO;", 1);
+        result = RegexColorsUtils.getJavaStandardColors("Color color = Color.FOO;", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaStandardColors("Color color = new Color(255, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaStandardColors("Color color = new Color(255, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaStandardColors("Color color = new Color(255, 255, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaStandardColors("Color color = new Color(255, 255, 255, 255);", 1);
         assertEquals(0, result.size());
     }
 
     @Test
     public void testGetJavaIntRGBColors() {
-        List<ColorValue> result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, 0);", 1);
+        List<ColorValue> result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, 0);", 1);
         assertEquals(1, result.size());
         assertEquals(new Color(255, 255, 0), result.get(0).getColor());
         assertEquals("new Color(255, 255, 0)", result.get(0).getValue());
         assertEquals(14, result.get(0).getStartOffset());
         assertEquals(36, result.get(0).getEndOffset());
 
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = Color.WHITE;", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = Color.WHITE;", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = Color.FOO;", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = Color.FOO;", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(256, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(256, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(-1, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(-1, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 256, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 256, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, -1, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, -1, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, 256);", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, 256);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, -1);", 1);
+        result = RegexColorsUtils.getJavaIntRGBsColors("Color color = new Color(255, 255, -1);", 1);
         assertEquals(0, result.size());
     }
 
     @Test
     public void testGetJavaIntRGBAColors() {
-        List<ColorValue> result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255, 100);", 1);
+        List<ColorValue> result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255, 100);", 1);
         assertEquals(1, result.size());
         assertEquals(new Color(255, 255, 255, 100), result.get(0).getColor());
         assertEquals("new Color(255, 255, 255, 100)", result.get(0).getValue());
         assertEquals(14, result.get(0).getStartOffset());
         assertEquals(43, result.get(0).getEndOffset());
 
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = Color.WHITE;", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = Color.WHITE;", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = Color.FOO;", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = Color.FOO;", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(256, 255, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(256, 255, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(-1, 255, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(-1, 255, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 256, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 256, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, -1, 255, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, -1, 255, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 256, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 256, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, -1, 255);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, -1, 255);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255, 256);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255, 256);", 1);
         assertEquals(0, result.size());
-        result = ColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255, -1);", 1);
+        result = RegexColorsUtils.getJavaIntRGBAsColors("Color color = new Color(255, 255, 255, -1);", 1);
         assertEquals(0, result.size());
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compare the throughput of the single-pass scanner with the regex patterns
+ * of the color types (eight scans per line). This is not a unit test. Run it
+ * after the test classes are compiled, e.g.
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     com.junichi11.netbeans.modules.color.codes.preview.impl.utils.HexCssColorScannerBenchmark
+ * </pre>
+ *
+ * @author junichi11
+ */
+public final class HexCssColorScannerBenchmark {
+
+    private static final int LINE_COUNT = 20000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 15;
+    private static final String[] COLORS = {
+        "#fff", "#a0b1c2", "#A0B1C2", "rgb(255, 0, 0)", "rgba(0, 128, 255, 0.5)", // NOI18N
+        "rgb(10%, 20%, 30%)", "rgba(10%, 20%, 30%, .25)", "hsl(120, 50%, 50%)", // NOI18N
+        "hsla(240, 100%, 25%, 0.75)", "red", "darkslategray", // NOI18N
+        "linear-gradient(to right, #000 0%, rgba(255, 255, 255, 0.8) 100%)" // NOI18N
+    };
+    private static final String[] PLAIN_LINES = {
+        "}", "", ".container > .item:first-child {", "  margin: 0 auto;", // NOI18N
+        "  font-family: \"Helvetica Neue\", Arial, sans-serif;", // NOI18N
+        "  transition: opacity 0.3s ease-in-out, transform 0.3s;", // NOI18N
+        "/* layout of the header and the navigation */", "  padding: 4px 8px 4px 8px;" // NOI18N
+    };
+    private static final String[] PROPERTIES = {
+        "color", "background", "border", "outline-color", "box-shadow" // NOI18N
+    };
+
+    private HexCssColorScannerBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        List<String> lines = createCorpus(new Random(0));
+        int length = lines.stream().mapToInt(String::length).sum();
+        System.out.println(String.format("corpus: %d lines, %d chars", lines.size(), length)); // NOI18N
+
+        int regexCount = scanWithRegex(lines);
+        int scannerCount = scanWithScanner(lines);
+        if (regexCount != scannerCount) {
+            throw new AssertionError("regex: " + regexCount + ", scanner: " + scannerCount); // NOI18N
+        }
+        System.out.println(String.format("colors: %d", scannerCount)); // NOI18N
+
+        double regexMillis = measure(() -> scanWithRegex(lines));
+        double scannerMillis = measure(() -> scanWithScanner(lines));
+        print("regex patterns", regexMillis, length); // NOI18N
+        print("scanner", scannerMillis, length); // NOI18N
+        System.out.println(String.format("speedup: %.1fx", regexMillis / scannerMillis)); // NOI18N
+    }
+
+    private static List<String> createCorpus(Random random) {
+        List<String> lines = new ArrayList<>(LINE_COUNT);
+        for (int i = 0; i < LINE_COUNT; i++) {
+            if (random.nextInt(10) < 3) {
+                // 30% of lines contain colors
+                StringBuilder sb = new StringBuilder("  "); // NOI18N
+                sb.append(PROPERTIES[random.nextInt(PROPERTIES.length)]).append(": "); // NOI18N
+                int count = 1 + random.nextInt(2);
+                for (int j = 0; j < count; j++) {
+                    if (j > 0) {
+                        sb.append(' ');
+                    }
+                    sb.append(COLORS[random.nextInt(COLORS.length)]);
+                }
+                lines.add(sb.append(';').toString());
+            } else {
+                lines.add(PLAIN_LINES[random.nextInt(PLAIN_LINES.length)]);
+            }
+        }
+        return lines;
+    }
+
+    private static int scanWithRegex(List<String> lines) {
+        int count = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            count += RegexColorsUtils.getHexColorCodes(line, i).size();
+            count += RegexColorsUtils.getCssIntRGBs(line, i).size();
+            count += RegexColorsUtils.getCssIntRGBAs(line, i).size();
+            count += RegexColorsUtils.getCssPercentRGBs(line, i).size();
+            count += RegexColorsUtils.getCssPercentRGBAs(line, i).size();
+            count += RegexColorsUtils.getCssHSLs(line, i).size();
+            count += RegexColorsUtils.getCssHSLAs(line, i).size();
+            count += RegexColorsUtils.getNamedColors(line, i).size();
+        }
+        return count;
+    }
+
+    private static int scanWithScanner(List<String> lines) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            // create color values as the regex path does
+            ColorsUtils.scanHexCssColors(line, 0, line.length(), LineLocator.singleLine(i, 0), true,
+                    (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        }
+        return colorValues.size();
+    }
+
+    private static double measure(Runnable task) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        double[] millis = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[ROUNDS / 2];
+    }
+
+    private static void print(String name, double millis, int length) {
+        System.out.println(String.format("%-16s %8.1f ms (median of %d) %6.1f MB/s", // NOI18N
+                name, millis, ROUNDS, length / millis / 1000.0));
+    }
+
+}
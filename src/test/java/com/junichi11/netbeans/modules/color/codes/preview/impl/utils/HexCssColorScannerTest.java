@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.NamedColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class HexCssColorScannerTest {
+
+    public HexCssColorScannerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testScanInOrder() {
+        String text = "color: red; background: rgba(0, 0, 0, 0.5) #fff, hsl(0, 100%, 50%) \"blue\" #00ff00";
+        List<ColorValue> result = scan(text, 0, text.length(), true);
+        assertEquals(6, result.size());
+        assertEquals("red", result.get(0).getValue());
+        assertEquals("rgba(0, 0, 0, 0.5)", result.get(1).getValue());
+        assertEquals("#ffffff", result.get(2).getValue());
+        assertEquals("hsl(0, 100%, 50%)", result.get(3).getValue());
+        assertEquals("blue", result.get(4).getValue());
+        assertEquals("#00ff00", result.get(5).getValue());
+
+        result = scan(text, 0, text.length(), false);
+        assertEquals(4, result.size());
+        assertEquals("rgba(0, 0, 0, 0.5)", result.get(0).getValue());
+    }
+
+    @Test
+    public void testScanSameAsRegex() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i <= 361; i++) {
+            values.add(String.valueOf(i));
+            values.add(i + "%");
+        }
+        values.add("-1");
+        values.add("00");
+        values.add("01%");
+        values.add("1000");
+        for (int i = 0; i < 10; i++) {
+            values.add("0." + i);
+            values.add("." + i);
+            for (int j = 0; j < 10; j++) {
+                values.add("0." + i + j);
+                values.add("." + i + j);
+            }
+        }
+        values.add("1.0");
+        values.add("0.555");
+        for (String value : values) {
+            assertSameAsRegex(String.format(" rgb(%s, 0, 0) rgb(0%%, 0%%,%s)", value, value));
+            assertSameAsRegex(String.format(" rgba(%s,0,0,%s) rgba(100%%, %s, 0%%, 1)", value, value, value));
+            assertSameAsRegex(String.format(" hsl(%s, 0%%, 0%%) hsla(0,%s,0%%,%s)", value, value, value));
+        }
+        assertSameAsRegex("#fff #ffff #fffff #ffffff #fffffff #ff #FfF ##abc #ABCDEF0 #12g");
+        assertSameAsRegex("RGB(0, 0, 0) Rgba(0 ,0 , 0 , .5) HSL(0, 0%, 0%) hSlA(0, 0%, 0%, 0) rgb( 0, 0, 0) rgb(0, 0, 0 ) rgb(0,\t0, 0)");
+        assertSameAsRegex("rgb(rgb(0, 0, 0)) hsla(hsl(0, 0%, 0%), 0) rgb(0%, 0, 0) rgb(0, 0%, 0)");
+        assertSameAsRegex("color: red; color:Red; \"blue\",black, reds; darkred\" red:red, red\" red");
+        assertSameAsRegex(",red,red, red red \"red\"red\" #fff,red, rgb(0, 0, 0) red;");
+    }
+
+    @Test
+    public void testScanRandomTextSameAsRegex() {
+        String[] tokens = {"#", "f", "0", "1", "5", "9", "a", "rgb(", "rgba(", "hsl(", "hsla(", "RGB", "(", ")", ",", " ", ";", ":", "\"", "%", ".", "red", "Blue", "x"};
+        Random random = new Random(0);
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int count = random.nextInt(30);
+            for (int j = 0; j < count; j++) {
+                sb.append(tokens[random.nextInt(tokens.length)]);
+            }
+            assertSameAsRegex(sb.toString());
+        }
+    }
+
+    @Test
+    public void testScanRange() {
+        String text = "#fff red;\n rgb(0, 0, 0) #000000 blue;";
+        int start = text.indexOf('\n') + 1;
+        List<ColorValue> result = scan(text, start, text.length() - 1, true);
+        // ";" is out of the range
+        assertEquals(2, result.size());
+        assertEquals("rgb(0, 0, 0)", result.get(0).getValue());
+        assertEquals(1, result.get(0).getStartOffset());
+        assertEquals(1, result.get(0).getLine());
+        assertEquals("#000000", result.get(1).getValue());
+        assertEquals(14, result.get(1).getStartOffset());
+    }
+
+    @Test
+    public void testScanSkip() {
+        String text = "#fff #000 rgb(0, 0, 0) red;";
+        List<String> values = new ArrayList<>();
+        new HexCssColorScanner(text, 0, text.length(), LineLocator.singleLine(0, 0), true, new ColorValueSink() {
+            @Override
+            public void accept(int startOffset, int endOffset, int argb, Supplier<ColorValue> colorValue) {
+                values.add(colorValue.get().getValue());
+            }
+
+            @Override
+            public int skip(int offset) {
+                // skip #000
+                return 4 <= offset && offset < 10 ? 10 : offset;
+            }
+        }).scan();
+        assertEquals(3, values.size());
+        assertEquals("#ffffff", values.get(0));
+        assertEquals("rgb(0, 0, 0)", values.get(1));
+        assertEquals("red", values.get(2));
+    }
+
+    private static List<ColorValue> scan(String text, int start, int end, boolean namedColors) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        new HexCssColorScanner(text, start, end, LineLocator.singleLine(1, start), namedColors, (startOffset, endOffset, argb, colorValue) -> {
+            ColorValue value = colorValue.get();
+            assertEquals(startOffset - start, value.getStartOffset());
+            assertEquals(endOffset - start, value.getEndOffset());
+            assertEquals(argb, value.getColor().getRGB());
+            colorValues.add(value);
+        }).scan();
+        return colorValues;
+    }
+
+    private static void assertSameAsRegex(String text) {
+        List<ColorValue> expected = new ArrayList<>();
+        expected.addAll(RegexColorsUtils.getHexColorCodes(text, 0));
+        expected.addAll(RegexColorsUtils.getCssIntRGBs(text, 0));
+        expected.addAll(RegexColorsUtils.getCssIntRGBAs(text, 0));
+        expected.addAll(RegexColorsUtils.getCssPercentRGBs(text, 0));
+        expected.addAll(RegexColorsUtils.getCssPercentRGBAs(text, 0));
+        expected.addAll(RegexColorsUtils.getCssHSLs(text, 0));
+        expected.addAll(RegexColorsUtils.getCssHSLAs(text, 0));
+        // named colors are not scanned with the pattern
+        Matcher matcher = HexCssColorType.NAMED_COLORS.getPattern().matcher(text);
+        while (matcher.find()) {
+            expected.add(new NamedColorValue(matcher.group("colorname"), new OffsetRange(matcher.start() + 1, matcher.end() - 1), 0)); // NOI18N
+        }
+        expected.sort(Comparator.comparingInt(ColorValue::getStartOffset));
+        List<ColorValue> result = scan(text, 0, text.length(), true);
+        assertEquals(text, toString(expected), toString(result));
+    }
+
+    private static String toString(List<ColorValue> colorValues) {
+        StringBuilder sb = new StringBuilder();
+        for (ColorValue colorValue : colorValues) {
+            sb.append(colorValue.getClass().getSimpleName())
+                    .append('[').append(colorValue.getValue())
+                    .append(',').append(colorValue.getStartOffset())
+                    .append(',').append(colorValue.getEndOffset())
+                    .append(',').append(Integer.toHexString(colorValue.getColor().getRGB()))
+                    .append(']');
+        }
+        return sb.toString();
+    }
+}
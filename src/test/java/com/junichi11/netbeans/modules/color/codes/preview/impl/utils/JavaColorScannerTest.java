@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class JavaColorScannerTest {
+
+    public JavaColorScannerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testScanInOrder() {
+        String text = "new Color(0f, 0f, 0f); Color.red; new java.awt.Color(0x123456); new Color(1, 2, 3, 4); new Color(0xff123456, true)";
+        List<ColorValue> result = scan(text, 0, text.length());
+        assertEquals(5, result.size());
+        assertEquals("new Color(0f, 0f, 0f)", result.get(0).getValue());
+        assertEquals("Color.red", result.get(1).getValue());
+        assertEquals("new java.awt.Color(0x123456)", result.get(2).getValue());
+        assertEquals("new Color(1, 2, 3, 4)", result.get(3).getValue());
+        assertEquals("new Color(0xff123456, true)", result.get(4).getValue());
+    }
+
+    @Test
+    public void testScanSameAsRegex() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i <= 256; i++) {
+            values.add(String.valueOf(i));
+            values.add(String.format("0x%x", i));
+            values.add(String.format("0X%02X", i));
+        }
+        String[] others = {"00", "-1", "+1", "0x", "0x123", "1.0", "0f", "1f", "1F", ".5f", "0.5f", "00.5f", "1.f", "1.00f", "1.5f", "0.f", ".f", "2f", "f",
+            "0x123456", "0xFF123456", "0x1234567", "123456789", "1234567890", "-123456789", "+0", "true", "FALSE", "truee", ""};
+        for (String other : others) {
+            values.add(other);
+        }
+        for (String value : values) {
+            assertSameAsRegex(String.format("new Color(%s, 0, 0x0) new Color(0,%s,0,0)", value, value));
+            assertSameAsRegex(String.format("new Color(0f, %s, 1f) new Color( .5f ,0f,\n0f, %s )", value, value));
+            assertSameAsRegex(String.format("new Color(%s) NEW COLOR(%s, true) new Color(0x123456,%s)", value, value, value));
+        }
+        assertSameAsRegex("Color.red Color.RED Color.Red Color.darkGray Color.DARK_GRAY Color.blackish myColor.red color.red Color. red");
+        assertSameAsRegex("new Color(new Color(0, 0, 0)) new  Color(0, 0, 0) new java.awt.Color(0, 0, 0) renew java.awt.color(0,0,0) new Color(0, 0, 0, 0, 0)");
+        assertSameAsRegex("new Color(\n0,\t0,\r\n0\n) new Color(0, 0, 0,) new Color(,0, 0, 0) new Color() new Color(0 0, 0)");
+    }
+
+    @Test
+    public void testScanRandomTextSameAsRegex() {
+        String[] tokens = {"new ", "java.awt.", "Color", "color", "(", ")", ".", ",", " ", "\n", "0", "1", "5", "25", "0x", "ff", "f", "true", "red", "RED", "-", "x"};
+        Random random = new Random(0);
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int count = random.nextInt(30);
+            for (int j = 0; j < count; j++) {
+                sb.append(tokens[random.nextInt(tokens.length)]);
+            }
+            assertSameAsRegex(sb.toString());
+        }
+    }
+
+    @Test
+    public void testScanRange() {
+        String text = "new Color(0, 0, 0) Color.red";
+        // "new " is out of the range
+        List<ColorValue> result = scan(text, 1, text.length());
+        assertEquals(1, result.size());
+        assertEquals("Color.red", result.get(0).getValue());
+        result = scan(text, 0, text.length() - 1);
+        assertEquals(1, result.size());
+        assertEquals("new Color(0, 0, 0)", result.get(0).getValue());
+    }
+
+    private static List<ColorValue> scan(String text, int start, int end) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        new JavaColorScanner(text, start, end, LineLocator.singleLine(0, start), (startOffset, endOffset, argb, colorValue) -> {
+            ColorValue value = colorValue.get();
+            assertEquals(startOffset - start, value.getStartOffset());
+            assertEquals(endOffset - start, value.getEndOffset());
+            assertEquals(argb, value.getColor().getRGB());
+            colorValues.add(value);
+        }).scan();
+        return colorValues;
+    }
+
+    private static void assertSameAsRegex(String text) {
+        List<ColorValue> expected = new ArrayList<>();
+        expected.addAll(RegexColorsUtils.getJavaStandardColors(text, 0));
+        expected.addAll(RegexColorsUtils.getJavaIntRGBsColors(text, 0));
+        expected.addAll(RegexColorsUtils.getJavaIntRGBAsColors(text, 0));
+        expected.addAll(RegexColorsUtils.getJavaIntRGBColors(text, 0));
+        expected.addAll(RegexColorsUtils.getJavaIntRGBAColors(text, 0));
+        expected.addAll(RegexColorsUtils.getJavaFloatRGBsColors(text, 0));
+        expected.addAll(RegexColorsUtils.getJavaFloatRGBAsColors(text, 0));
+        expected.sort(Comparator.comparingInt(ColorValue::getStartOffset));
+        List<ColorValue> result = scan(text, 0, text.length());
+        assertEquals(text, toString(expected), toString(result));
+    }
+
+    private static String toString(List<ColorValue> colorValues) {
+        StringBuilder sb = new StringBuilder();
+        for (ColorValue colorValue : colorValues) {
+            sb.append(colorValue.getClass().getSimpleName())
+                    .append('[').append(colorValue.getValue())
+                    .append(',').append(colorValue.getStartOffset())
+                    .append(',').append(colorValue.getEndOffset())
+                    .append(',').append(Integer.toHexString(colorValue.getColor().getRGB()))
+                    .append(',').append(colorValue)
+                    .append(']');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class NamedColorTableTest {
+
+    public NamedColorTableTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testGet() {
+        Map<String, String> hexCodes = new HashMap<>();
+        hexCodes.put("red", "#ff0000");
+        hexCodes.put("darkred", "#8b0000");
+        hexCodes.put("blue", "#0000ff");
+        NamedColorTable table = new NamedColorTable(hexCodes);
+        assertEquals(0xffff0000, table.get("red", 0, 3));
+        assertEquals(0xffff0000, table.get("ReD", 0, 3));
+        assertEquals(0xff8b0000, table.get(" darkred;", 1, 8));
+        assertEquals(0xff0000ff, table.get("BLUE", 0, 4));
+        assertEquals(0, table.get("reds", 0, 4));
+        assertEquals(0, table.get("re", 0, 2));
+        assertEquals(0, table.get("green", 0, 5));
+        assertEquals(0, table.get("", 0, 0));
+    }
+
+    @Test
+    public void testGetAllNames() {
+        for (String name : ColorsUtils.getColorNames()) {
+            Color color = ColorsUtils.decode(name, HexCssColorType.NAMED_COLORS);
+            assertEquals(name, color.getRGB(), ColorsUtils.getNamedColorRGB(name.toUpperCase(), 0, name.length()));
+        }
+    }
+
+    @Test
+    public void testGetNameEnd() {
+        assertEquals(4, NamedColorTable.getNameEnd(" red;", 0, 5));
+        assertEquals(4, NamedColorTable.getNameEnd(":red,", 0, 5));
+        assertEquals(4, NamedColorTable.getNameEnd("\"red\"", 0, 5));
+        assertEquals(5, NamedColorTable.getNameEnd(",hoge ", 0, 6));
+        // no prefix
+        assertEquals(-1, NamedColorTable.getNameEnd("red;", 0, 4));
+        // no suffix
+        assertEquals(-1, NamedColorTable.getNameEnd(" red:", 0, 5));
+        assertEquals(-1, NamedColorTable.getNameEnd(" red;", 0, 4));
+        assertEquals(-1, NamedColorTable.getNameEnd(" re1;", 0, 5));
+        assertEquals(-1, NamedColorTable.getNameEnd(" ;", 0, 2));
+    }
+}
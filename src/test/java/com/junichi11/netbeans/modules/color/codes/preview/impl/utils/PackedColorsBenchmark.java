@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Compare the throughput of {@link ColorsUtils#decode(String)}, which decodes
+ * codes to packed ARGB values, with the decoder which uses the patterns of the
+ * types. This is not a unit test. Run it after the test classes are compiled,
+ * e.g.
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+ *     com.junichi11.netbeans.modules.color.codes.preview.impl.utils.PackedColorsBenchmark
+ * </pre>
+ *
+ * @author junichi11
+ */
+public final class PackedColorsBenchmark {
+
+    private static final int DECODE_COUNT = 200000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 15;
+    private static final String[] CODES = {
+        "#fff", "#a0b1c2", "#A0B1C2", "rgb(255, 0, 0)", "rgba(0, 128, 255, 0.5)", // NOI18N
+        "rgb(10%, 20%, 30%)", "rgba(10%, 20%, 30%, .25)", "hsl(120, 50%, 50%)", // NOI18N
+        "hsla(240, 100%, 25%, 0.75)", "red", "darkslategray" // NOI18N
+    };
+
+    private PackedColorsBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        for (String code : CODES) {
+            Color expected = RegexColorsUtils.decode(code);
+            Color result = ColorsUtils.decode(code);
+            if (expected == null || !expected.equals(result)) {
+                throw new AssertionError(code + ": " + expected + ", " + result); // NOI18N
+            }
+        }
+
+        double regexMillis = measure(true);
+        double packedMillis = measure(false);
+        print("regex decoder", regexMillis); // NOI18N
+        print("packed decoder", packedMillis); // NOI18N
+        System.out.println(String.format("speedup: %.1fx", regexMillis / packedMillis)); // NOI18N
+    }
+
+    private static int decode(boolean regex) {
+        int checksum = 0;
+        for (int i = 0; i < DECODE_COUNT; i++) {
+            String code = CODES[i % CODES.length];
+            Color color = regex ? RegexColorsUtils.decode(code) : ColorsUtils.decode(code);
+            checksum += color.getRGB();
+        }
+        return checksum;
+    }
+
+    private static double measure(boolean regex) {
+        int checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += decode(regex);
+        }
+        double[] millis = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            checksum += decode(regex);
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        // keep the results alive
+        System.out.println(String.format("checksum: %08x", checksum)); // NOI18N
+        Arrays.sort(millis);
+        return millis[ROUNDS / 2];
+    }
+
+    private static void print(String name, double millis) {
+        System.out.println(String.format("%-16s %8.1f ms (median of %d) %6.0f ns/code", // NOI18N
+                name, millis, ROUNDS, millis * 1_000_000.0 / DECODE_COUNT));
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import java.awt.Color;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class PackedColorsTest {
+
+    public PackedColorsTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testGetAlpha() {
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                assertEquals(Float.parseFloat("0." + i + j), PackedColors.getAlpha(i * 10 + j), 0.0f);
+                assertEquals(Float.parseFloat("." + i + j), PackedColors.getAlpha(i * 10 + j), 0.0f);
+            }
+            assertEquals(Float.parseFloat("0." + i), PackedColors.getAlpha(i * 10), 0.0f);
+        }
+        assertEquals(Float.parseFloat("1"), PackedColors.getAlpha(100), 0.0f);
+    }
+
+    @Test
+    public void testToRGB() {
+        assertEquals(new Color(1, 2, 3, 4).getRGB(), PackedColors.toRGB(1, 2, 3, 4));
+        assertEquals(new Color(255, 0, 128, 255).getRGB(), PackedColors.toRGB(255, 0, 128, 255));
+        for (int i = 0; i <= 100; i++) {
+            float value = i * 0.01f;
+            assertEquals(new Color(value, value, value).getRGB(), PackedColors.toRGB(value, value, value, 1.0f));
+            assertEquals(new Color(value, 0.0f, 1.0f, value).getRGB(), PackedColors.toRGB(value, 0.0f, 1.0f, value));
+        }
+    }
+
+    @Test
+    public void testHslToRGB() {
+        for (int h = 0; h <= 360; h++) {
+            for (int s = 0; s <= 100; s++) {
+                for (int l = 0; l <= 100; l++) {
+                    float[] rgb = hslToRgb(h / 360.0f, s * 0.01f, l * 0.01f);
+                    int expected = new Color(rgb[0], rgb[1], rgb[2]).getRGB();
+                    assertEquals(h + "," + s + "," + l, expected, PackedColors.hslToRGB(h / 360.0f, s * 0.01f, l * 0.01f));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParseHexRGB() {
+        assertEquals(Color.decode("#ffffff").getRGB(), PackedColors.parseHexRGB("#fff", 1, 3));
+        assertEquals(Color.decode("#aabbcc").getRGB(), PackedColors.parseHexRGB("ABC", 0, 3));
+        assertEquals(Color.decode("#12a0Ef").getRGB(), PackedColors.parseHexRGB("x12a0Ef", 1, 6));
+    }
+
+    @Test
+    public void testToHexCode() {
+        assertEquals("#ffffff", PackedColors.toHexCode("#fff", 1, 3));
+        assertEquals("#AABBCC", PackedColors.toHexCode("ABC", 0, 3));
+        assertEquals("#12a0Ef", PackedColors.toHexCode("x12a0Ef", 1, 6));
+    }
+
+    // the conversion with float arrays before colors are packed
+    private static float[] hslToRgb(float h, float s, float l) {
+        if (s == 0.0f) {
+            return new float[]{l, l, l};
+        }
+        float m2 = l <= 0.5f ? l * (s + 1.0f) : l + s - l * s;
+        float m1 = l * 2.0f - m2;
+        return new float[]{
+            Math.max(0.0f, Math.min(1.0f, hueToRgb(m1, m2, h + 1.0f / 3.0f))),
+            Math.max(0.0f, Math.min(1.0f, hueToRgb(m1, m2, h))),
+            Math.max(0.0f, Math.min(1.0f, hueToRgb(m1, m2, h - 1.0f / 3.0f)))
+        };
+    }
+
+    private static float hueToRgb(float m1, float m2, float h) {
+        if (h < 0.0f) {
+            h = h + 1.0f;
+        }
+        if (h > 1.0f) {
+            h = h - 1.0f;
+        }
+        if (h * 6.0f < 1.0f) {
+            return m1 + (m2 - m1) * h * 6.0f;
+        }
+        if (h * 2.0f < 1.0f) {
+            return m2;
+        }
+        if (h * 3.0f < 2.0f) {
+            return m1 + (m2 - m1) * (2.0f / 3.0f - h) * 6.0f;
+        }
+        return m1;
+    }
+}
@@ -0,0 +1,873 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.impl.utils;
+
+import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.HexColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.IntType;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaFloatRGBAsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaFloatRGBsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBAColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBAsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaIntRGBsColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaStandardColor;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.JavaStandardColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.NamedColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.RGBAIntTypes;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import org.openide.util.Pair;
+
+/**
+ * Reference implementation of the color scanners with regex patterns of the
+ * color types. Tests compare the results of the scanners with this.
+ *
+ * @author junichi11
+ */
+public final class RegexColorsUtils {
+
+    private static final int SHORT_HEX_COLOR_CODE_LENGTH = 3;
+    private static final int HEX_COLOR_CODE_LENGTH = 6;
+
+    // group names
+    private static final String GROUP_CODENUMBER = "codenumber"; // NOI18N
+    private static final String GROUP_CSS_RGB = "cssrgb"; // NOI18N
+    private static final String GROUP_CSS_RGBA = "cssrgba"; // NOI18N
+    private static final String GROUP_CSS_HSL = "csshsl"; // NOI18N
+    private static final String GROUP_CSS_HSLA = "csshsla"; // NOI18N
+    private static final String GROUP_JAVA_STANDARD = "javastandard";// NOI18N
+    private static final String GROUP_JAVA_RGB = "javargb";// NOI18N
+    private static final String GROUP_JAVA_RGBA = "javargba";// NOI18N
+    private static final String GROUP_RED = "r"; // NOI18N
+    private static final String GROUP_GREEN = "g"; // NOI18N
+    private static final String GROUP_BLUE = "b"; // NOI18N
+    private static final String GROUP_ALPHA = "a"; // NOI18N
+    private static final String GROUP_RGBA = "intrgba"; // NOI18N
+    private static final String GROUP_HEX_RED = "hexr"; // NOI18N
+    private static final String GROUP_HEX_GREEN = "hexg"; // NOI18N
+    private static final String GROUP_HEX_BLUE = "hexb"; // NOI18N
+    private static final String GROUP_HEX_ALPHA = "hexa"; // NOI18N
+    private static final String GROUP_HEX_RGBA = "hexrgba"; // NOI18N
+    private static final String GROUP_HUE = "h"; // NOI18N
+    private static final String GROUP_SATURATION = "s"; // NOI18N
+    private static final String GROUP_LIGHTNESS = "l"; // NOI18N
+    private static final String GROUP_BOOL = "bool"; // NOI18N
+    private static final String GROUP_COLOR_NAME = "colorname"; // NOI18N
+
+    private RegexColorsUtils() {
+    }
+
+    /**
+     * Get hex color codes. (e.g. #ffffff)
+     *
+     * @param line target text
+     * @return hex color codes
+     */
+    public static List<String> getHexColorCodes(String line) {
+        Matcher matcher = getColorMatcher(line, HexCssColorType.HEX);
+        ArrayList<String> colorCodes = new ArrayList<>();
+        while (matcher.find()) {
+            int codeStart = matcher.start(GROUP_CODENUMBER);
+            int length = matcher.end(GROUP_CODENUMBER) - codeStart;
+            if (length == SHORT_HEX_COLOR_CODE_LENGTH || length == HEX_COLOR_CODE_LENGTH) {
+                colorCodes.add(PackedColors.toHexCode(line, codeStart, length));
+            }
+        }
+        return colorCodes;
+    }
+
+    /**
+     * Get hex color codes. (e.g. #ffffff)
+     *
+     * @param line target text
+     * @return hex color codes
+     */
+    public static List<ColorValue> getHexColorCodes(String line, int lineNumber) {
+        return getHexColorCodes(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get hex color codes. (e.g. #ffffff)
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return hex color codes
+     */
+    public static List<ColorValue> getHexColorCodes(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanHexColorCodes(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanHexColorCodes(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, HexCssColorType.HEX);
+        // create the value from the current match only if it is needed
+        Supplier<ColorValue> colorValue = () -> {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            int codeStart = matcher.start(GROUP_CODENUMBER);
+            int length = matcher.end(GROUP_CODENUMBER) - codeStart;
+            int argb = PackedColors.parseHexRGB(text, codeStart, length);
+            return new HexColorValue(PackedColors.toHexCode(text, codeStart, length), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, argb);
+        };
+        while (find(matcher, sink)) {
+            int codeStart = matcher.start(GROUP_CODENUMBER);
+            int length = matcher.end(GROUP_CODENUMBER) - codeStart;
+            if (length == SHORT_HEX_COLOR_CODE_LENGTH || length == HEX_COLOR_CODE_LENGTH) {
+                sink.accept(matcher.start(), matcher.end(), PackedColors.parseHexRGB(text, codeStart, length), colorValue);
+            }
+        }
+    }
+
+    /**
+     * Get named colors. (e.g. red)
+     *
+     * @param line target text
+     * @return named colors
+     */
+    public static List<ColorValue> getNamedColors(String line, int lineNumber) {
+        return getNamedColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get named colors. (e.g. red)
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return named colors
+     */
+    public static List<ColorValue> getNamedColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanNamedColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanNamedColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        // the start offset, the end offset and the color of the current name
+        int[] name = new int[3];
+        Supplier<ColorValue> colorValue = () -> {
+            int line = locator.getLine(name[0]);
+            int lineStartOffset = locator.getLineStartOffset(line);
+            return new NamedColorValue(text.subSequence(name[0], name[1]).toString(), new OffsetRange(name[0] - lineStartOffset, name[1] - lineStartOffset), line, name[2]);
+        };
+        int offset = start;
+        while (offset < end) {
+            int nameEnd = NamedColorTable.getNameEnd(text, offset, end);
+            int argb = nameEnd == -1 ? 0 : ColorsUtils.getNamedColorRGB(text, offset + 1, nameEnd);
+            if (argb == 0) {
+                offset++;
+                continue;
+            }
+            int nextOffset = sink.skip(offset);
+            if (nextOffset > offset) {
+                offset = nextOffset;
+                continue;
+            }
+            // exclude the prefix and the suffix
+            name[0] = offset + 1;
+            name[1] = nameEnd;
+            name[2] = argb;
+            sink.accept(name[0], name[1], argb, colorValue);
+            offset = nameEnd + 1;
+        }
+    }
+
+    /**
+     * Get RGBs for int values for a line. (e.g. rgb(0, 0, 0))
+     *
+     * @param line a line
+     * @return RGB codes
+     */
+    public static List<String> getCssIntRGBs(String line) {
+        Matcher matcher = getColorMatcher(line, HexCssColorType.CSS_INT_RGB);
+        ArrayList<String> colorCodes = new ArrayList<>();
+        while (matcher.find()) {
+            final String colorCode = matcher.group(GROUP_CSS_RGB);
+            colorCodes.add(colorCode);
+        }
+        return colorCodes;
+    }
+
+    /**
+     * Get int RGB color values for a line. (e.g. rgb(0, 0, 0))
+     *
+     * @param line a line
+     * @return RGB codes
+     */
+    public static List<ColorValue> getCssIntRGBs(String line, int lineNumber) {
+        return getCssIntRGBs(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get int RGB color values for a line. (e.g. rgb(0, 0, 0))
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return RGB codes
+     */
+    public static List<ColorValue> getCssIntRGBs(CharSequence text, int start, int end, int lineNumber) {
+        return getCssColorValues(text, start, end, lineNumber, HexCssColorType.CSS_INT_RGB);
+    }
+
+    /**
+     * Get % RGB color values for a line. (e.g. rgb(100%, 100%, 100%))
+     *
+     * @param line a line
+     * @return RGB color values
+     */
+    public static List<ColorValue> getCssPercentRGBs(String line, int lineNumber) {
+        return getCssPercentRGBs(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get % RGB color values for a line. (e.g. rgb(100%, 100%, 100%))
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return RGB color values
+     */
+    public static List<ColorValue> getCssPercentRGBs(CharSequence text, int start, int end, int lineNumber) {
+        return getCssColorValues(text, start, end, lineNumber, HexCssColorType.CSS_PERCENT_RGB);
+    }
+
+    /**
+     * Get int RGBA colors for a line. (e.g. rgba(0, 0, 0, 0.1))
+     *
+     * @param line a line
+     * @return RGBA color values
+     */
+    public static List<String> getCssIntRGBAs(String line) {
+        Matcher matcher = getColorMatcher(line, HexCssColorType.CSS_INT_RGBA);
+        ArrayList<String> colorCodes = new ArrayList<>();
+        while (matcher.find()) {
+            final String colorCode = matcher.group(GROUP_CSS_RGBA);
+            colorCodes.add(colorCode);
+        }
+        return colorCodes;
+    }
+
+    /**
+     * Get int RGBA color values for a line. (e.g. rgba(0, 0, 0, 0.1))
+     *
+     * @param line a line
+     * @return RGBA color values
+     */
+    public static List<ColorValue> getCssIntRGBAs(String line, int lineNumber) {
+        return getCssIntRGBAs(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get int RGBA color values for a line. (e.g. rgba(0, 0, 0, 0.1))
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return RGBA color values
+     */
+    public static List<ColorValue> getCssIntRGBAs(CharSequence text, int start, int end, int lineNumber) {
+        return getCssColorValues(text, start, end, lineNumber, HexCssColorType.CSS_INT_RGBA);
+    }
+
+    /**
+     * Get % RGBA color values for a line. (e.g. rgba(0%, 0%, 0%, 0.1))
+     *
+     * @param line a line
+     * @return RGBA color values
+     */
+    public static List<ColorValue> getCssPercentRGBAs(String line, int lineNumber) {
+        return getCssPercentRGBAs(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get % RGBA color values for a line. (e.g. rgba(0%, 0%, 0%, 0.1))
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return RGBA color values
+     */
+    public static List<ColorValue> getCssPercentRGBAs(CharSequence text, int start, int end, int lineNumber) {
+        return getCssColorValues(text, start, end, lineNumber, HexCssColorType.CSS_PERCENT_RGBA);
+    }
+
+    /**
+     * Get HSL color values for a line. (e.g. hsl(0, 100%, 100%))
+     *
+     * @param line a line
+     * @return HSL ColorValues
+     */
+    public static List<ColorValue> getCssHSLs(String line, int lineNumber) {
+        return getCssHSLs(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get HSL color values for a line. (e.g. hsl(0, 100%, 100%))
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return HSL ColorValues
+     */
+    public static List<ColorValue> getCssHSLs(CharSequence text, int start, int end, int lineNumber) {
+        return getCssColorValues(text, start, end, lineNumber, HexCssColorType.CSS_HSL);
+    }
+
+    /**
+     * Get HSLA color values for a line. (e.g. hsla(0, 100%, 100%, 0.1))
+     *
+     * @param line a line
+     * @return HSLA ColorValues
+     */
+    public static List<ColorValue> getCssHSLAs(String line, int lineNumber) {
+        return getCssHSLAs(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get HSLA color values for a line. (e.g. hsla(0, 100%, 100%, 0.1))
+     * Offsets of the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @return HSLA ColorValues
+     */
+    public static List<ColorValue> getCssHSLAs(CharSequence text, int start, int end, int lineNumber) {
+        return getCssColorValues(text, start, end, lineNumber, HexCssColorType.CSS_HSLA);
+    }
+
+    /**
+     * Get css ColorValues.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber line number
+     * @param type HexCssColorType
+     * @return ColorValues
+     */
+    private static List<ColorValue> getCssColorValues(CharSequence text, int start, int end, int lineNumber, HexCssColorType type) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanCssColors(text, start, end, LineLocator.singleLine(lineNumber, start), type, (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanCssColors(CharSequence text, int start, int end, LineLocator locator, HexCssColorType type, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, type);
+        String groupName = getCssColorGroupName(type);
+        // the color of the current match
+        int[] argb = new int[1];
+        Supplier<ColorValue> colorValue = () -> {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            return ColorsUtils.createCssColorValue(matcher.group(groupName), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, type, argb[0]);
+        };
+        while (find(matcher, sink)) {
+            argb[0] = decodeCssColor(matcher, type);
+            sink.accept(matcher.start(), matcher.end(), argb[0], colorValue);
+        }
+    }
+
+    /**
+     * Get Java standard colors.
+     *
+     * @param line the line text
+     * @param lineNumber the line number
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaStandardColors(String line, int lineNumber) {
+        return getJavaStandardColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get Java standard colors. Offsets of
+     * the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaStandardColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanJavaStandardColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanJavaStandardColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, JavaColorType.JAVA_STANDARD_COLOR);
+        while (find(matcher, sink)) {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            final String colorName = matcher.group(GROUP_COLOR_NAME);
+            Color color = JavaStandardColor.valueOf(colorName).getColor();
+            sink.accept(matcher.start(), matcher.end(), color.getRGB(), () -> new JavaStandardColorValue(matcher.group(GROUP_JAVA_STANDARD), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, color));
+        }
+    }
+
+    /**
+     * Get Java int RGB colors.
+     *
+     * @param line the line text
+     * @param lineNumber the line number
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBColors(String line, int lineNumber) {
+        return getJavaIntRGBColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get Java int RGB colors. Offsets of
+     * the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanJavaIntRGBColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanJavaIntRGBColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, JavaColorType.JAVA_INT_RGB);
+        while (find(matcher, sink)) {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            Pair<String, IntType> rgbaPair = getJavaIntRGBAValue(matcher, GROUP_RGBA);
+            // prevent NubmerFormatException
+            int rgba = (int) Long.parseLong(rgbaPair.first(), rgbaPair.second().getRadix());
+            Color color = new Color(rgba);
+            sink.accept(matcher.start(), matcher.end(), color.getRGB(), () -> new JavaIntRGBColorValue(matcher.group(GROUP_JAVA_RGB), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, color, new RGBAIntTypes(rgbaPair.second())));
+        }
+    }
+
+    /**
+     * Get Java int RGBA colors.
+     *
+     * @param line the line text
+     * @param lineNumber the line number
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBAColors(String line, int lineNumber) {
+        return getJavaIntRGBAColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get Java int RGBA colors. Offsets of
+     * the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBAColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanJavaIntRGBAColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanJavaIntRGBAColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, JavaColorType.JAVA_INT_RGBA);
+        while (find(matcher, sink)) {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            Pair<String, IntType> rgbaPair = getJavaIntRGBAValue(matcher, GROUP_RGBA);
+            // prevent NubmerFormatException
+            int rgba = (int) Long.parseLong(rgbaPair.first(), rgbaPair.second().getRadix());
+            String bool = matcher.group(GROUP_BOOL);
+            boolean hasAlpha = Boolean.parseBoolean(bool);
+            Color color = new Color(rgba, hasAlpha);
+            sink.accept(matcher.start(), matcher.end(), color.getRGB(), () -> new JavaIntRGBAColorValue(matcher.group(GROUP_JAVA_RGBA), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, color, hasAlpha, new RGBAIntTypes(rgbaPair.second())));
+        }
+    }
+
+    /**
+     * Get Java int RGB colors.
+     *
+     * @param line the line text
+     * @param lineNumber the line number
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBsColors(String line, int lineNumber) {
+        return getJavaIntRGBsColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get Java int RGB colors. Offsets of
+     * the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBsColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanJavaIntRGBsColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanJavaIntRGBsColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, JavaColorType.JAVA_INT_R_G_B);
+        while (find(matcher, sink)) {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            Pair<String, IntType> red = getJavaIntRGBAValue(matcher, GROUP_RED);
+            Pair<String, IntType> green = getJavaIntRGBAValue(matcher, GROUP_GREEN);
+            Pair<String, IntType> blue = getJavaIntRGBAValue(matcher, GROUP_BLUE);
+            int r = Integer.parseInt(red.first(), red.second().getRadix());
+            int g = Integer.parseInt(green.first(), green.second().getRadix());
+            int b = Integer.parseInt(blue.first(), blue.second().getRadix());
+            Color color = new Color(r, g, b);
+            sink.accept(matcher.start(), matcher.end(), color.getRGB(), () -> new JavaIntRGBsColorValue(matcher.group(GROUP_JAVA_RGB), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, color, new RGBAIntTypes(red.second(), green.second(), blue.second())));
+        }
+    }
+
+    /**
+     * Get Java int RGBA colors.
+     *
+     * @param line the line text
+     * @param lineNumber the line number
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBAsColors(String line, int lineNumber) {
+        return getJavaIntRGBAsColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get Java int RGBA colors. Offsets of
+     * the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaIntRGBAsColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanJavaIntRGBAsColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanJavaIntRGBAsColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, JavaColorType.JAVA_INT_R_G_B_A);
+        while (find(matcher, sink)) {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            Pair<String, IntType> red = getJavaIntRGBAValue(matcher, GROUP_RED);
+            Pair<String, IntType> green = getJavaIntRGBAValue(matcher, GROUP_GREEN);
+            Pair<String, IntType> blue = getJavaIntRGBAValue(matcher, GROUP_BLUE);
+            Pair<String, IntType> alpha = getJavaIntRGBAValue(matcher, GROUP_ALPHA);
+            int r = Integer.parseInt(red.first(), red.second().getRadix());
+            int g = Integer.parseInt(green.first(), green.second().getRadix());
+            int b = Integer.parseInt(blue.first(), blue.second().getRadix());
+            int a = Integer.parseInt(alpha.first(), alpha.second().getRadix());
+            Color color = new Color(r, g, b, a);
+            sink.accept(matcher.start(), matcher.end(), color.getRGB(), () -> new JavaIntRGBAsColorValue(matcher.group(GROUP_JAVA_RGBA), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, color, new RGBAIntTypes(red.second(), green.second(), blue.second(), alpha.second())));
+        }
+    }
+
+    /**
+     * Get Java float RGB colors.
+     *
+     * @param line the line text
+     * @param lineNumber the line number
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaFloatRGBsColors(String line, int lineNumber) {
+        return getJavaFloatRGBsColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get Java float RGB colors. Offsets of
+     * the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaFloatRGBsColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanJavaFloatRGBsColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanJavaFloatRGBsColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, JavaColorType.JAVA_FLOAT_R_G_B);
+        while (find(matcher, sink)) {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            float r = Float.parseFloat(matcher.group(GROUP_RED));
+            float g = Float.parseFloat(matcher.group(GROUP_GREEN));
+            float b = Float.parseFloat(matcher.group(GROUP_BLUE));
+            Color color = new Color(r, g, b);
+            sink.accept(matcher.start(), matcher.end(), color.getRGB(), () -> new JavaFloatRGBsColorValue(matcher.group(GROUP_JAVA_RGB), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, color));
+        }
+    }
+
+    /**
+     * Get Java float RGBA colors.
+     *
+     * @param line the line text
+     * @param lineNumber the line number
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaFloatRGBAsColors(String line, int lineNumber) {
+        return getJavaFloatRGBAsColors(line, 0, line.length(), lineNumber);
+    }
+
+    /**
+     * Get Java float RGBA colors. Offsets of
+     * the values are relative to the start offset.
+     *
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @param lineNumber the line number
+     * @param text the text
+     * @param start the start offset of the line in the text
+     * @param end the end offset of the line in the text
+     * @return ColorValues
+     */
+    public static List<ColorValue> getJavaFloatRGBAsColors(CharSequence text, int start, int end, int lineNumber) {
+        List<ColorValue> colorValues = new ArrayList<>();
+        scanJavaFloatRGBAsColors(text, start, end, LineLocator.singleLine(lineNumber, start), (startOffset, endOffset, argb, colorValue) -> colorValues.add(colorValue.get()));
+        return colorValues;
+    }
+
+    private static void scanJavaFloatRGBAsColors(CharSequence text, int start, int end, LineLocator locator, ColorValueSink sink) {
+        Matcher matcher = getColorMatcher(text, start, end, JavaColorType.JAVA_FLOAT_R_G_B_A);
+        while (find(matcher, sink)) {
+            int line = locator.getLine(matcher.start());
+            int lineStartOffset = locator.getLineStartOffset(line);
+            float r = Float.parseFloat(matcher.group(GROUP_RED));
+            float g = Float.parseFloat(matcher.group(GROUP_GREEN));
+            float b = Float.parseFloat(matcher.group(GROUP_BLUE));
+            float a = Float.parseFloat(matcher.group(GROUP_ALPHA));
+            Color color = new Color(r, g, b, a);
+            sink.accept(matcher.start(), matcher.end(), color.getRGB(), () -> new JavaFloatRGBAsColorValue(matcher.group(GROUP_JAVA_RGBA), new OffsetRange(matcher.start() - lineStartOffset, matcher.end() - lineStartOffset), line, color));
+        }
+    }
+
+    private static Pair<String, IntType> getJavaIntRGBAValue(Matcher matcher, String decimalIntGroup) {
+        String value = matcher.group(decimalIntGroup);
+        IntType intType = IntType.Decimal;
+        if (value == null || value.isEmpty()) {
+            switch (decimalIntGroup) {
+                case GROUP_RED:
+                    value = matcher.group(GROUP_HEX_RED);
+                    break;
+                case GROUP_GREEN:
+                    value = matcher.group(GROUP_HEX_GREEN);
+                    break;
+                case GROUP_BLUE:
+                    value = matcher.group(GROUP_HEX_BLUE);
+                    break;
+                case GROUP_ALPHA:
+                    value = matcher.group(GROUP_HEX_ALPHA);
+                    break;
+                case GROUP_RGBA:
+                    value = matcher.group(GROUP_HEX_RGBA);
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+            intType = IntType.Hex;
+        }
+        assert value != null;
+        return Pair.of(value, intType);
+    }
+
+    /**
+     * Find the next match which the sink needs.
+     *
+     * @param matcher the matcher
+     * @param sink the sink
+     * @return {@code true} if a match is found, otherwise {@code false}
+     */
+    private static boolean find(Matcher matcher, ColorValueSink sink) {
+        while (matcher.find()) {
+            int offset = sink.skip(matcher.start());
+            if (offset <= matcher.start()) {
+                return true;
+            }
+            if (offset >= matcher.regionEnd()) {
+                return false;
+            }
+            // the sink skips to the start of a line, so bounds of the region are still correct
+            matcher.region(offset, matcher.regionEnd());
+        }
+        return false;
+    }
+
+    /**
+     * Convert a String to a Color with the patterns of the types. Hex colors
+     * are converted by {@link Color#decode(String)}.
+     *
+     * @param code the color code
+     * @return the color, {@code null} if the code is not a color
+     */
+    public static Color decode(String code) {
+        for (HexCssColorType type : HexCssColorType.values()) {
+            Color color = decode(code, type);
+            if (color != null) {
+                return color;
+            }
+        }
+        return null;
+    }
+
+    private static Color decode(String code, HexCssColorType type) {
+        switch (type) {
+            case HEX: {
+                Matcher matcher = getColorMatcher(code, type);
+                if (!matcher.matches()) {
+                    return null;
+                }
+                String codeNumber = matcher.group(GROUP_CODENUMBER);
+                if (codeNumber.length() == SHORT_HEX_COLOR_CODE_LENGTH) {
+                    StringBuilder sb = new StringBuilder("#"); // NOI18N
+                    for (int i = 0; i < codeNumber.length(); i++) {
+                        sb.append(codeNumber.charAt(i)).append(codeNumber.charAt(i));
+                    }
+                    return Color.decode(sb.toString());
+                }
+                return codeNumber.length() == HEX_COLOR_CODE_LENGTH ? Color.decode(code) : null;
+            }
+            case NAMED_COLORS: {
+                int argb = ColorsUtils.getNamedColorRGB(code, 0, code.length());
+                return argb == 0 ? null : new Color(argb);
+            }
+            default: {
+                Matcher matcher = getColorMatcher(code, type);
+                return matcher.matches() ? new Color(decodeCssColor(matcher, type), true) : null;
+            }
+        }
+    }
+
+    private static Matcher getColorMatcher(String line, ColorType type) {
+        return type.getPattern().matcher(line);
+    }
+
+    private static Matcher getColorMatcher(CharSequence text, int start, int end, ColorType type) {
+        // lookarounds and anchors don't see outside of the region
+        return type.getPattern().matcher(text).region(start, end);
+    }
+
+    private static String getCssColorGroupName(HexCssColorType type) {
+        switch (type) {
+            case CSS_INT_RGB:
+                return GROUP_CSS_RGB;
+            case CSS_INT_RGBA:
+                return GROUP_CSS_RGBA;
+            case CSS_PERCENT_RGB:
+                return GROUP_CSS_RGB;
+            case CSS_PERCENT_RGBA:
+                return GROUP_CSS_RGBA;
+            case CSS_HSL:
+                return GROUP_CSS_HSL;
+            case CSS_HSLA:
+                return GROUP_CSS_HSLA;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    /**
+     * Convert the current match of the css color pattern to a color.
+     *
+     * @param matcher the matcher of the type
+     * @param type HexCssColorType
+     * @return the color in the default sRGB
+     */
+    private static int decodeCssColor(Matcher matcher, HexCssColorType type) {
+        switch (type) {
+            case CSS_INT_RGB:
+                return ColorsUtils.toCssRGB(type, Integer.parseInt(matcher.group(GROUP_RED)), Integer.parseInt(matcher.group(GROUP_GREEN)), Integer.parseInt(matcher.group(GROUP_BLUE)), 1.0f);
+            case CSS_PERCENT_RGB:
+                return ColorsUtils.toCssRGB(type, parsePercent(matcher.group(GROUP_RED)), parsePercent(matcher.group(GROUP_GREEN)), parsePercent(matcher.group(GROUP_BLUE)), 1.0f);
+            case CSS_INT_RGBA:
+                return ColorsUtils.toCssRGB(type, Integer.parseInt(matcher.group(GROUP_RED)), Integer.parseInt(matcher.group(GROUP_GREEN)), Integer.parseInt(matcher.group(GROUP_BLUE)), Float.parseFloat(matcher.group(GROUP_ALPHA)));
+            case CSS_PERCENT_RGBA:
+                return ColorsUtils.toCssRGB(type, parsePercent(matcher.group(GROUP_RED)), parsePercent(matcher.group(GROUP_GREEN)), parsePercent(matcher.group(GROUP_BLUE)), Float.parseFloat(matcher.group(GROUP_ALPHA)));
+            case CSS_HSL:
+                return ColorsUtils.toCssRGB(type, Integer.parseInt(matcher.group(GROUP_HUE)), parsePercent(matcher.group(GROUP_SATURATION)), parsePercent(matcher.group(GROUP_LIGHTNESS)), 1.0f);
+            case CSS_HSLA:
+                return ColorsUtils.toCssRGB(type, Integer.parseInt(matcher.group(GROUP_HUE)), parsePercent(matcher.group(GROUP_SATURATION)), parsePercent(matcher.group(GROUP_LIGHTNESS)), Float.parseFloat(matcher.group(GROUP_ALPHA)));
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    private static int parsePercent(String value) {
+        // remove "%"
+        return Integer.parseInt(value.substring(0, value.length() - 1));
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.spi;
+
+import com.junichi11.netbeans.modules.color.codes.preview.api.OffsetRange;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.HexCssColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.colors.HexColorValue;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.text.BadLocationException;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.netbeans.editor.BaseDocument;
+
+/**
+ *
+ * @author junichi11
+ */
+public class PositionColorValueTest {
+
+    public PositionColorValueTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testCreate() throws BadLocationException {
+        BaseDocument document = createDocument();
+        PositionColorValue colorValue = PositionColorValue.create(document, new HexColorValue("#ff0000", new OffsetRange(9, 16), 1)); // NOI18N
+        assertSame(document, colorValue.getDocument());
+        assertEquals(1, colorValue.getLine());
+        assertEquals(9, colorValue.getStartOffset());
+        assertEquals(16, colorValue.getEndOffset());
+        assertEquals(16, colorValue.getStartPosition().getOffset());
+        assertEquals(23, colorValue.getEndPosition().getOffset());
+        assertEquals("#ff0000", colorValue.getValue()); // NOI18N
+        assertTrue(colorValue.isValid());
+        assertSame(colorValue, PositionColorValue.create(document, colorValue));
+    }
+
+    @Test(expected = BadLocationException.class)
+    public void testCreateInvalidLine() throws BadLocationException {
+        BaseDocument document = createDocument();
+        PositionColorValue.create(document, new HexColorValue("#ff0000", new OffsetRange(9, 16), 5)); // NOI18N
+    }
+
+    @Test
+    public void testEdits() throws BadLocationException {
+        BaseDocument document = createDocument();
+        PositionColorValue colorValue = PositionColorValue.create(document, new HexColorValue("#ff0000", new OffsetRange(9, 16), 1)); // NOI18N
+
+        // insert lines before the color
+        document.insertString(0, "\n\n", null); // NOI18N
+        assertEquals(3, colorValue.getLine());
+        assertEquals(9, colorValue.getStartOffset());
+        assertEquals(16, colorValue.getEndOffset());
+        assertTrue(colorValue.isValid());
+
+        // insert text at the start of the color
+        int startOffset = colorValue.getStartPosition().getOffset();
+        document.insertString(startOffset, "  ", null); // NOI18N
+        assertEquals(11, colorValue.getStartOffset());
+        assertEquals(18, colorValue.getEndOffset());
+        assertTrue(colorValue.isValid());
+
+        // insert text at the end of the color
+        document.insertString(colorValue.getEndPosition().getOffset(), "ff", null); // NOI18N
+        assertEquals(18, colorValue.getEndOffset());
+        assertTrue(colorValue.isValid());
+
+        // edit the color
+        document.replace(colorValue.getStartPosition().getOffset() + 1, 2, "00", null); // NOI18N
+        assertFalse(colorValue.isValid());
+    }
+
+    @Test
+    public void testShortHexColor() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css"); // NOI18N
+        document.insertString(0, "a { color: #fff; }\n", null); // NOI18N
+        List<ColorValue> colorValues = new HexCssColorCodesProvider().getColorValues(document, "a { color: #fff; }", 0, Collections.emptyMap()); // NOI18N
+        assertEquals(1, colorValues.size());
+        PositionColorValue colorValue = PositionColorValue.create(document, colorValues.get(0));
+        // the value is normalized
+        assertEquals("#ffffff", colorValue.getValue()); // NOI18N
+        assertEquals(11, colorValue.getStartPosition().getOffset());
+        assertEquals(15, colorValue.getEndPosition().getOffset());
+        assertTrue(colorValue.isValid());
+
+        // edit the color
+        document.replace(12, 1, "0", null); // NOI18N
+        assertFalse(colorValue.isValid());
+    }
+
+    private static BaseDocument createDocument() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css"); // NOI18N
+        document.insertString(0, "body {\n  color: #ff0000;\n}\n", null); // NOI18N
+        return document;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import java.awt.Color;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class ColorIndexTest {
+
+    public ColorIndexTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testSet() {
+        ColorIndex index = new ColorIndex(2);
+        index.reset(3);
+        assertEquals(3, index.size());
+        assertNull(index.get(0));
+        assertFalse(index.isUpToDate(0));
+
+        index.set(0, colors(Color.RED, Color.GREEN, Color.BLUE));
+        index.set(1, LineColors.EMPTY);
+        assertTrue(index.isUpToDate(0));
+        // only leftmost colors are kept
+        assertEquals(colors(Color.RED, Color.GREEN), index.get(0));
+        assertEquals(2, index.getColorCount(0));
+        assertEquals(Color.GREEN.getRGB(), index.getRGB(0, 1));
+        assertEquals(17, index.getEndOffset(0, 1));
+        assertSame(LineColors.EMPTY, index.get(1));
+        assertTrue(index.hasSameColors(0, colors(Color.RED, Color.GREEN, Color.BLACK)));
+        assertFalse(index.hasSameColors(0, colors(Color.RED)));
+        assertTrue(index.hasSameColors(2, LineColors.EMPTY));
+        assertFalse(index.hasSameColors(2, colors(Color.RED)));
+
+        // outdated colors are still available
+        index.invalidate(0);
+        assertFalse(index.isUpToDate(0));
+        assertEquals(colors(Color.RED, Color.GREEN), index.get(0));
+    }
+
+    @Test
+    public void testReplaceLines() {
+        ColorIndex index = new ColorIndex(2);
+        index.reset(20);
+        for (int i = 0; i < 20; i++) {
+            index.set(i, colors(new Color(i, i, i)));
+        }
+
+        // insert lines
+        index.replaceLines(5, 0, 30);
+        assertEquals(50, index.size());
+        assertEquals(colors(new Color(4, 4, 4)), index.get(4));
+        assertNull(index.get(5));
+        assertNull(index.get(34));
+        assertEquals(colors(new Color(5, 5, 5)), index.get(35));
+        assertEquals(colors(new Color(19, 19, 19)), index.get(49));
+
+        // remove lines
+        index.replaceLines(3, 33, 1);
+        assertEquals(18, index.size());
+        assertEquals(colors(new Color(2, 2, 2)), index.get(2));
+        assertNull(index.get(3));
+        assertEquals(colors(new Color(6, 6, 6)), index.get(4));
+        assertEquals(colors(new Color(19, 19, 19)), index.get(17));
+    }
+
+    private static LineColors colors(Color... colors) {
+        LineColors.Builder builder = new LineColors.Builder();
+        for (int i = 0; i < colors.length; i++) {
+            builder.add(i * 10, i * 10 + 7, colors[i].getRGB());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,629 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.impl.HexCssColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.JavaColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValue;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorValueSink;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.netbeans.editor.BaseDocument;
+
+/**
+ *
+ * @author junichi11
+ */
+public class ColorValuesCacheTest {
+
+    public ColorValuesCacheTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testGetColorValues() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\n  color: #ff0000;\n}\n  background: #00f;\n", null);
+        CountingProvider provider = new CountingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        assertSame(cache, ColorValuesCache.get(document));
+
+        // not parsed yet
+        assertNull(cache.getLineColors(1));
+
+        parse(cache, 1, 1, provider);
+        LineColors result = cache.getLineColors(1);
+        assertEquals(1, result.size());
+        assertEquals(Color.RED, result.getColor(0));
+        assertEquals(1, provider.count);
+        assertNull(cache.getLineColors(3));
+
+        // cached
+        parse(cache, 1, 1, provider);
+        assertEquals(result, cache.getLineColors(1));
+        assertEquals(1, provider.count);
+
+        parse(cache, 0, 3, provider);
+        result = cache.getLineColors(3);
+        assertEquals(1, result.size());
+        assertEquals(Color.BLUE, result.getColor(0));
+        assertEquals(0, cache.getLineColors(0).size());
+        assertEquals(4, provider.count);
+    }
+
+    @Test
+    public void testInsertLines() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\n  color: #ff0000;\n}\n  background: #00f;\n", null);
+        CountingProvider provider = new CountingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        parse(cache, 1, 3, provider);
+        LineColors red = cache.getLineColors(1);
+        LineColors blue = cache.getLineColors(3);
+        assertEquals(3, provider.count);
+
+        // insert new lines above the colors
+        document.insertString(0, "/* comment */\n\n", null);
+        cache.waitFinished();
+        assertEquals(red, cache.getLineColors(3));
+        assertEquals(blue, cache.getLineColors(5));
+        // only inserted lines are parsed
+        assertEquals(5, provider.count);
+
+        // edit a line
+        int offset = document.getText(0, document.getLength()).indexOf("#00f"); // NOI18N
+        document.remove(offset + 1, 3);
+        document.insertString(offset + 1, "0f0", null);
+        cache.waitFinished();
+        LineColors result = cache.getLineColors(5);
+        assertEquals(Color.GREEN, result.getColor(0));
+        assertEquals(6, provider.count);
+        assertEquals(red, cache.getLineColors(3));
+    }
+
+    @Test
+    public void testRemoveLines() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\n  color: #ff0000;\n}\n  background: #00f;\n", null);
+        CountingProvider provider = new CountingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        parse(cache, 0, 3, provider);
+        LineColors blue = cache.getLineColors(3);
+        assertEquals(4, provider.count);
+
+        // remove "a {\n  color: #ff0000;\n"
+        document.remove(0, "a {\n  color: #ff0000;\n".length());
+        cache.waitFinished();
+        assertEquals(blue, cache.getLineColors(1));
+        assertEquals(0, cache.getLineColors(0).size());
+        assertEquals(5, provider.count);
+    }
+
+    @Test
+    public void testClear() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "color: #ff0000;\n", null);
+        CountingProvider provider = new CountingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        parse(cache, 0, 0, provider);
+        LineColors red = cache.getLineColors(0);
+        cache.clear();
+        // outdated values are available until the line is parsed again
+        assertEquals(red, cache.getLineColors(0));
+        parse(cache, 0, 0, provider);
+        assertEquals(2, provider.count);
+    }
+
+    @Test
+    public void testColorValuesChangeListener() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\ncolor: #ff0000;\ncolor: #00ff00;\n}\n", null);
+        CountingProvider provider = new CountingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        List<int[]> changes = new ArrayList<>();
+        ColorValuesChangeListener listener = (startLine, endLine) -> changes.add(new int[]{startLine, endLine});
+        cache.addColorValuesChangeListener(listener);
+        // notified once per batch
+        parse(cache, 0, 3, provider);
+        assertEquals(1, changes.size());
+        assertArrayEquals(new int[]{1, 2}, changes.get(0));
+
+        // nothing to parse
+        parse(cache, 0, 3, provider);
+        assertEquals(1, changes.size());
+
+        // colors are not changed
+        document.insertString(document.getText(0, document.getLength()).indexOf("#00ff00"), " ", null); // NOI18N
+        cache.waitFinished();
+        assertEquals(1, changes.size());
+
+        // colors are changed
+        int offset = document.getText(0, document.getLength()).indexOf("#00ff00"); // NOI18N
+        document.replace(offset, 7, "#0000ff", null); // NOI18N
+        cache.waitFinished();
+        assertEquals(2, changes.size());
+        assertArrayEquals(new int[]{2, 2}, changes.get(1));
+        cache.removeColorValuesChangeListener(listener);
+    }
+
+    @Test
+    public void testRequestAll() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\n  color: #ff0000;\n}\n  background: #00f;\n", null);
+        CountingProvider provider = new CountingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        cache.requestAll(Collections.singletonList(provider));
+        cache.waitFinished();
+        Color[] colors = getFirstColors(cache, document);
+        assertEquals(5, colors.length);
+        assertNull(colors[0]);
+        assertEquals(Color.RED, colors[1]);
+        assertNull(colors[2]);
+        assertEquals(Color.BLUE, colors[3]);
+        assertNull(colors[4]);
+        assertEquals(4, provider.count);
+
+        // edited lines are kept up to date
+        int offset = document.getText(0, document.getLength()).indexOf("#00f"); // NOI18N
+        document.replace(offset, 4, "#0f0", null); // NOI18N
+        cache.waitFinished();
+        assertEquals(Color.GREEN, getFirstColors(cache, document)[3]);
+    }
+
+    @Test
+    public void testRemoveIndexClient() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\n  color: #ff0000;\n}\n  background: #00f;\n", null);
+        CountingProvider provider = new CountingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        cache.addIndexClient();
+        cache.requestAll(Collections.singletonList(provider));
+        cache.waitFinished();
+        assertEquals(4, provider.count);
+
+        // other lines are not parsed after the last client is removed
+        cache.removeIndexClient();
+        cache.clear();
+        parse(cache, 1, 1, provider);
+        assertEquals(5, provider.count);
+    }
+
+    @Test
+    public void testRequestAllInParallel() throws BadLocationException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 900; i++) {
+            text.append(i % 3 == 0 ? "  color: #ff0000;\n" : i % 3 == 1 ? "  background: #00f;\n" : "}\n"); // NOI18N
+        }
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, text.toString(), null);
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        // thread-safe providers scan chunks of lines on the fork join pool if it has several workers
+        cache.requestAll(Collections.singletonList(new HexCssColorCodesProvider()));
+        cache.waitFinished();
+        Color[] colors = getFirstColors(cache, document);
+        assertEquals(901, colors.length);
+        for (int i = 0; i < 900; i++) {
+            assertEquals(i % 3 == 0 ? Color.RED : i % 3 == 1 ? Color.BLUE : null, colors[i]);
+        }
+        assertNull(colors[900]);
+    }
+
+    @Test
+    public void testParallelScanWithCopiedLines() throws BadLocationException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 900; i++) {
+            text.append(i % 2 == 0 ? "  color: #ff0000;\n" : "  background: #00f;\n"); // NOI18N
+        }
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, text.toString(), null);
+        DocumentRecordingProvider provider = new DocumentRecordingProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        cache.requestAll(Collections.singletonList(provider));
+        cache.waitFinished();
+        Color[] colors = getFirstColors(cache, document);
+        for (int i = 0; i < 900; i++) {
+            assertEquals(i % 2 == 0 ? Color.RED : Color.BLUE, colors[i]);
+        }
+        // all lines are scanned in parallel, so chunks of lines are scanned as copies
+        // they may be scanned on this thread of the cache while it waits for them
+        assertTrue(provider.documents.size() > 1);
+        for (Document scannedDocument : provider.documents) {
+            assertNotSame(document, scannedDocument);
+            assertEquals("text/css", scannedDocument.getProperty("mimeType")); // NOI18N
+        }
+    }
+
+    @Test
+    public void testLeftmostColors() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "  background: linear-gradient(#f00, #0f0, rgb(0, 0, 255), #000);\n", null);
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        cache.request(0, 1, Collections.singletonList(new HexCssColorCodesProvider()));
+        cache.waitFinished();
+        // only drawn colors are kept
+        LineColors colors = cache.getLineColors(0);
+        assertEquals(SwatchImageCache.MAX_COLORS, colors.size());
+        assertEquals(Color.RED, colors.getColor(0));
+        assertEquals(Color.GREEN, colors.getColor(1));
+        // colors for painting
+        int[] argbs = new int[SwatchImageCache.MAX_COLORS];
+        assertEquals(SwatchImageCache.MAX_COLORS, cache.getDrawnColors(0, argbs));
+        assertArrayEquals(new int[]{Color.RED.getRGB(), Color.GREEN.getRGB()}, argbs);
+        assertEquals(0, cache.getDrawnColors(1, argbs));
+    }
+
+    @Test
+    public void testVariables() throws BadLocationException {
+        ColorCodesPreviewOptions.getInstance().setResolveCssVariables(true);
+        try {
+            BaseDocument document = new BaseDocument(false, "text/scss");
+            document.insertString(0, "$red: #f00;\n$blue: #00f;\n\na {\n  color: $red;\n  background: $blue;\n}\n", null);
+            CountingProvider provider = new CountingProvider(true);
+            ColorValuesCache cache = ColorValuesCache.get(document);
+            parse(cache, 4, 4, provider);
+            assertEquals(Color.RED, cache.getLineColors(4).getColor(0));
+            // previous lines are scanned once (except for the empty line)
+            assertEquals(4, provider.count);
+
+            // variables are taken from the symbol table
+            parse(cache, 5, 5, provider);
+            assertEquals(Color.BLUE, cache.getLineColors(5).getColor(0));
+            assertEquals(5, provider.count);
+
+            // insert a line into the document
+            document.insertString(document.getText(0, document.getLength()).indexOf("a {"), "\n", null); // NOI18N
+            cache.waitFinished();
+            parse(cache, 5, 6, provider);
+            assertEquals(Color.RED, cache.getLineColors(5).getColor(0));
+            assertEquals(Color.BLUE, cache.getLineColors(6).getColor(0));
+            // only edited lines are parsed
+            assertEquals(5, provider.count);
+            document.remove(document.getText(0, document.getLength()).indexOf("\na {"), 1); // NOI18N
+
+            // insert lines above the definitions
+            document.insertString(0, "// colors\n", null);
+            cache.waitFinished();
+            parse(cache, 5, 6, provider);
+            assertEquals(Color.RED, cache.getLineColors(5).getColor(0));
+            assertEquals(Color.BLUE, cache.getLineColors(6).getColor(0));
+
+            // change a definition
+            List<int[]> changes = new ArrayList<>();
+            ColorValuesChangeListener listener = (startLine, endLine) -> changes.add(new int[]{startLine, endLine});
+            cache.addColorValuesChangeListener(listener);
+            int offset = document.getText(0, document.getLength()).indexOf("#f00"); // NOI18N
+            document.remove(offset + 1, 3);
+            document.insertString(offset + 1, "0f0", null);
+            cache.waitFinished();
+            // lines after the definition are notified to be requested again
+            assertEquals(1, changes.size());
+            assertArrayEquals(new int[]{1, document.getDefaultRootElement().getElementCount() - 1}, changes.get(0));
+            cache.removeColorValuesChangeListener(listener);
+            parse(cache, 5, 6, provider);
+            assertEquals(Color.GREEN, cache.getLineColors(5).getColor(0));
+            assertEquals(Color.BLUE, cache.getLineColors(6).getColor(0));
+
+            // remove a definition
+            document.remove(0, "// colors\n$red: #0f0;\n".length());
+            cache.waitFinished();
+            parse(cache, 3, 4, provider);
+            assertEquals(0, cache.getLineColors(3).size());
+            assertEquals(Color.BLUE, cache.getLineColors(4).getColor(0));
+        } finally {
+            ColorCodesPreviewOptions.getInstance().setResolveCssVariables(false);
+        }
+    }
+
+    @Test
+    public void testVariableOffsets() throws BadLocationException {
+        ColorCodesPreviewOptions.getInstance().setResolveCssVariables(true);
+        try {
+            BaseDocument document = new BaseDocument(false, "text/scss");
+            document.insertString(0, "$x: #f00;\n\n\n\na {\n  color: $x;\n}\n", null);
+            ColorValuesCache cache = ColorValuesCache.get(document);
+            parse(cache, 5, 5, new CountingProvider(true));
+            // offsets of the reference in the line
+            LineColors colors = cache.getLineColors(5);
+            assertEquals(1, colors.size());
+            assertEquals(Color.RED, colors.getColor(0));
+            assertEquals("  color: ".length(), colors.getStartOffset(0)); // NOI18N
+            assertEquals("  color: $x".length(), colors.getEndOffset(0)); // NOI18N
+            // the definition
+            colors = cache.getLineColors(0);
+            assertEquals("$x: ".length(), colors.getStartOffset(0)); // NOI18N
+            assertEquals("$x: #f00".length(), colors.getEndOffset(0)); // NOI18N
+        } finally {
+            ColorCodesPreviewOptions.getInstance().setResolveCssVariables(false);
+        }
+    }
+
+    @Test
+    public void testRepeatedVariableOffsets() throws BadLocationException {
+        ColorCodesPreviewOptions.getInstance().setResolveCssVariables(true);
+        try {
+            BaseDocument document = new BaseDocument(false, "text/scss");
+            document.insertString(0, "$x: #f00;\n$xy: #00f;\n\n\na {\n  border: $xy $x;\n  outline: $x $x;\n}\n", null);
+            ColorValuesCache cache = ColorValuesCache.get(document);
+            parse(cache, 5, 6, new CountingProvider(true));
+            LineColors colors = cache.getLineColors(5);
+            assertEquals(2, colors.size());
+            assertEquals(Color.BLUE, colors.getColor(0));
+            assertEquals("  border: ".length(), colors.getStartOffset(0)); // NOI18N
+            assertEquals("  border: $xy".length(), colors.getEndOffset(0)); // NOI18N
+            // $x is not found in $xy
+            assertEquals(Color.RED, colors.getColor(1));
+            assertEquals("  border: $xy ".length(), colors.getStartOffset(1)); // NOI18N
+            assertEquals("  border: $xy $x".length(), colors.getEndOffset(1)); // NOI18N
+
+            // a variable used twice
+            colors = cache.getLineColors(6);
+            assertEquals(2, colors.size());
+            assertEquals("  outline: ".length(), colors.getStartOffset(0)); // NOI18N
+            assertEquals("  outline: $x".length(), colors.getEndOffset(0)); // NOI18N
+            assertEquals("  outline: $x ".length(), colors.getStartOffset(1)); // NOI18N
+            assertEquals("  outline: $x $x".length(), colors.getEndOffset(1)); // NOI18N
+        } finally {
+            ColorCodesPreviewOptions.getInstance().setResolveCssVariables(false);
+        }
+    }
+
+    @Test
+    public void testColorsInSeveralLines() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/x-java");
+        document.insertString(0, "Color c = new Color(\n    255,\n    0,\n    0);\n", null);
+        ColorCodesProvider provider = new JavaColorCodesProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        parse(cache, 0, 4, provider);
+        LineColors result = cache.getLineColors(0);
+        assertEquals(1, result.size());
+        assertEquals(Color.RED, result.getColor(0));
+        assertEquals(0, cache.getLineColors(1).size());
+
+        // edit an argument
+        int offset = document.getText(0, document.getLength()).indexOf("255"); // NOI18N
+        document.replace(offset, 3, "0", null); // NOI18N
+        cache.waitFinished();
+        assertEquals(Color.BLACK, cache.getLineColors(0).getColor(0));
+    }
+
+    @Test
+    public void testTriggers() throws BadLocationException {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, "a {\n  color: #ff0000;\n}\n  background: rgb(0, 0, 255);\n", null);
+        CountingProvider provider = new CountingProvider();
+        provider.useTriggers = true;
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        parse(cache, 0, 4, provider);
+        // lines without triggers are not parsed
+        assertEquals(2, provider.count);
+        assertEquals(0, cache.getLineColors(0).size());
+        assertEquals(Color.RED, cache.getLineColors(1).getColor(0));
+        assertEquals(0, cache.getLineColors(2).size());
+        assertEquals(Color.BLUE, cache.getLineColors(3).getColor(0));
+    }
+
+    @Test
+    public void testLongLine() throws BadLocationException {
+        // minified CSS
+        StringBuilder sb = new StringBuilder("a{color:#f00}b{color:#0f0}"); // NOI18N
+        while (sb.length() < 60000) {
+            sb.append(".c{margin:0 auto;padding:0}"); // NOI18N
+        }
+        sb.append("d{color:#00f}\n"); // NOI18N
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, sb.toString(), null);
+        ScannedLengthProvider provider = new ScannedLengthProvider();
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        parse(cache, 0, 1, provider);
+        LineColors colors = cache.getLineColors(0);
+        assertEquals(2, colors.size());
+        assertEquals(Color.RED, colors.getColor(0));
+        assertEquals(Color.GREEN, colors.getColor(1));
+        // only the first chunk is scanned
+        assertTrue(provider.length < 20000);
+
+        // a color in a later chunk
+        document.remove(0, "a{color:#f00}b{color:#0f0}".length()); // NOI18N
+        cache.waitFinished();
+        colors = cache.getLineColors(0);
+        assertEquals(1, colors.size());
+        assertEquals(Color.BLUE, colors.getColor(0));
+        assertEquals(document.getLength() - "#00f}\n".length(), colors.getStartOffset(0));
+    }
+
+    @Test
+    public void testColorsAcrossChunks() throws BadLocationException {
+        int chunkSize = ColorValuesCache.LONG_LINE_CHUNK_SIZE;
+        StringBuilder sb = new StringBuilder();
+        appendPadding(sb, chunkSize - 3);
+        sb.append("#ffffff"); // NOI18N
+        appendPadding(sb, chunkSize * 2 - 5);
+        sb.append("rgb(1, 2, 3)"); // NOI18N
+        appendPadding(sb, chunkSize * 3 + 100);
+        sb.append("\n"); // NOI18N
+        BaseDocument document = new BaseDocument(false, "text/css");
+        document.insertString(0, sb.toString(), null);
+        ColorValuesCache cache = ColorValuesCache.get(document);
+        parse(cache, 0, 1, new HexCssColorCodesProvider());
+        // colors are not cut at the end of chunks
+        LineColors colors = cache.getLineColors(0);
+        assertEquals(2, colors.size());
+        assertEquals(Color.WHITE, colors.getColor(0));
+        assertEquals(chunkSize - 3, colors.getStartOffset(0));
+        assertEquals(chunkSize + 4, colors.getEndOffset(0));
+        assertEquals(new Color(1, 2, 3), colors.getColor(1));
+        assertEquals(chunkSize * 2 - 5, colors.getStartOffset(1));
+        assertEquals(chunkSize * 2 + 7, colors.getEndOffset(1));
+    }
+
+    @Test
+    public void testLineScanLimit() throws BadLocationException {
+        ColorCodesPreviewOptions options = ColorCodesPreviewOptions.getInstance();
+        int limit = options.getLineScanLimit();
+        options.setLineScanLimit(1000);
+        try {
+            StringBuilder sb = new StringBuilder("a{color:#f00}"); // NOI18N
+            while (sb.length() < 2000) {
+                sb.append(".c{margin:0}"); // NOI18N
+            }
+            sb.append("d{color:#00f}\n"); // NOI18N
+            BaseDocument document = new BaseDocument(false, "text/css");
+            document.insertString(0, sb.toString(), null);
+            ScannedLengthProvider provider = new ScannedLengthProvider();
+            ColorValuesCache cache = ColorValuesCache.get(document);
+            parse(cache, 0, 1, provider);
+            // the rest of the line is not scanned
+            LineColors colors = cache.getLineColors(0);
+            assertEquals(1, colors.size());
+            assertEquals(Color.RED, colors.getColor(0));
+            assertEquals(1000 + ColorValuesCache.CHUNK_OVERLAP, provider.length);
+        } finally {
+            options.setLineScanLimit(limit);
+        }
+    }
+
+    private static void appendPadding(StringBuilder sb, int length) {
+        while (sb.length() < length) {
+            // no end of statements
+            sb.append(' ');
+        }
+    }
+
+    private static Color[] getFirstColors(ColorValuesCache cache, Document document) {
+        Color[] colors = new Color[document.getDefaultRootElement().getElementCount()];
+        cache.visitFirstColors((line, lineCount, argb) -> colors[line] = new Color(argb, true));
+        return colors;
+    }
+
+    private static void parse(ColorValuesCache cache, int startLine, int endLine, ColorCodesProvider provider) {
+        cache.request(startLine, endLine, Collections.singletonList(provider));
+        cache.waitFinished();
+    }
+
+    private static class ScannedLengthProvider extends HexCssColorCodesProvider {
+
+        private int length = 0;
+
+        @Override
+        public boolean isThreadSafe() {
+            return false;
+        }
+
+        @Override
+        public void scan(Document document, int startOffset, int endOffset, ColorValueSink sink) {
+            length += endOffset - startOffset;
+            super.scan(document, startOffset, endOffset, sink);
+        }
+    }
+
+    private static class DocumentRecordingProvider extends HexCssColorCodesProvider {
+
+        private final Set<Document> documents = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        @Override
+        public void scan(Document document, int startOffset, int endOffset, ColorValueSink sink) {
+            documents.add(document);
+            super.scan(document, startOffset, endOffset, sink);
+        }
+    }
+
+    private static class CountingProvider extends HexCssColorCodesProvider {
+
+        private int count = 0;
+        private final boolean resolveVariables;
+        private boolean useTriggers = false;
+
+        public CountingProvider() {
+            this(false);
+        }
+
+        public CountingProvider(boolean resolveVariables) {
+            this.resolveVariables = resolveVariables;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            // the count is not synchronized
+            return false;
+        }
+
+        @Override
+        public List<String> getTriggers(Document document) {
+            // parse all lines unless triggers are tested
+            return useTriggers ? super.getTriggers(document) : Collections.emptyList();
+        }
+
+        @Override
+        public List<ColorValue> getColorValues(Document document, CharSequence text, int start, int end, int lineNumber, Map<String, List<ColorValue>> variableColorValues) {
+            count++;
+            return super.getColorValues(document, text, start, end, lineNumber, variableColorValues);
+        }
+
+        @Override
+        public void scan(Document document, int startOffset, int endOffset, ColorValueSink sink) {
+            // count lines which have text like parsing them one by one
+            Element root = document.getDefaultRootElement();
+            for (int i = root.getElementIndex(startOffset); i <= root.getElementIndex(endOffset - 1); i++) {
+                Element line = root.getElement(i);
+                if (line.getEndOffset() - line.getStartOffset() > 1) {
+                    count++;
+                }
+            }
+            super.scan(document, startOffset, endOffset, sink);
+        }
+
+        @Override
+        public int getStartIndex(Document document, int currentIndex) {
+            return resolveVariables ? super.getStartIndex(document, currentIndex) : currentIndex;
+        }
+    }
+}
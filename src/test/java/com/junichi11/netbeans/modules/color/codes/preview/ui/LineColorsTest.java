@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.impl.utils.RegexColorsUtils;
+import java.awt.Color;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class LineColorsTest {
+
+    public LineColorsTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testBuild() {
+        LineColors.Builder builder = new LineColors.Builder();
+        assertSame(LineColors.EMPTY, builder.build());
+
+        // not in order
+        builder.add(20, 24, Color.BLUE.getRGB());
+        builder.add(0, 7, Color.RED.getRGB());
+        builder.add(10, 17, new Color(0, 255, 0, 128).getRGB());
+        LineColors colors = builder.build();
+        assertEquals(3, colors.size());
+        assertEquals(0, colors.getStartOffset(0));
+        assertEquals(7, colors.getEndOffset(0));
+        assertEquals(Color.RED, colors.getColor(0));
+        assertEquals(10, colors.getStartOffset(1));
+        assertEquals(new Color(0, 255, 0, 128), colors.getColor(1));
+        assertEquals(20, colors.getStartOffset(2));
+        assertEquals(Color.BLUE.getRGB(), colors.getRGB(2));
+    }
+
+    @Test
+    public void testBuildWithLimit() {
+        LineColors.Builder builder = new LineColors.Builder(2);
+        builder.add(20, 24, Color.BLUE.getRGB());
+        assertFalse(builder.isFull(30));
+        builder.add(10, 17, Color.GREEN.getRGB());
+        assertTrue(builder.isFull(30));
+        assertTrue(builder.isFull(20));
+        assertFalse(builder.isFull(19));
+        // the rightmost color is dropped
+        builder.add(0, 7, Color.RED.getRGB());
+        builder.add(30, 37, Color.BLACK.getRGB());
+        assertTrue(builder.isFull(11));
+        LineColors colors = builder.build();
+        assertEquals(2, colors.size());
+        assertEquals(Color.RED, colors.getColor(0));
+        assertEquals(10, colors.getStartOffset(1));
+        assertEquals(Color.GREEN, colors.getColor(1));
+
+        colors = LineColors.of(RegexColorsUtils.getHexColorCodes("#000 #111 #222", 0), 1); // NOI18N
+        assertEquals(1, colors.size());
+        assertEquals(Color.BLACK, colors.getColor(0));
+    }
+
+    @Test
+    public void testOf() {
+        LineColors colors = LineColors.of(RegexColorsUtils.getHexColorCodes("color: #fff; background: #000000;", 0));
+        assertEquals(2, colors.size());
+        assertEquals(7, colors.getStartOffset(0));
+        assertEquals(11, colors.getEndOffset(0));
+        assertEquals(Color.WHITE, colors.getColor(0));
+        assertEquals(Color.BLACK, colors.getColor(1));
+    }
+
+    @Test
+    public void testHasSameColors() {
+        LineColors.Builder builder = new LineColors.Builder();
+        builder.add(0, 7, Color.RED.getRGB());
+        LineColors red = builder.build();
+        builder = new LineColors.Builder();
+        builder.add(2, 9, Color.RED.getRGB());
+        // offsets are not compared
+        assertTrue(red.hasSameColors(builder.build()));
+        builder.add(10, 17, Color.BLUE.getRGB());
+        assertFalse(red.hasSameColors(builder.build()));
+        assertFalse(red.hasSameColors(LineColors.EMPTY));
+    }
+
+}
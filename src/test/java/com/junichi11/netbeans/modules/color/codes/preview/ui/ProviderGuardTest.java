@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.impl.HexCssColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.JavaColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class ProviderGuardTest {
+
+    private int budget;
+
+    public ProviderGuardTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+        budget = ColorCodesPreviewOptions.getInstance().getProviderTimeBudget();
+        ColorCodesPreviewOptions.getInstance().setProviderTimeBudget(100);
+    }
+
+    @After
+    public void tearDown() {
+        ColorCodesPreviewOptions.getInstance().setProviderTimeBudget(budget);
+    }
+
+    @Test
+    public void testSuspend() {
+        ProviderGuard guard = new ProviderGuard();
+        ColorCodesProvider slowProvider = new HexCssColorCodesProvider();
+        ColorCodesProvider fastProvider = new JavaColorCodesProvider();
+        List<ColorCodesProvider> providers = Arrays.asList(slowProvider, fastProvider);
+        for (int i = 0; i < ProviderGuard.MAX_OVERRUNS - 1; i++) {
+            assertFalse(guard.finish(slowProvider, slowStartTime(), 1, 100));
+        }
+        assertFalse(guard.isSuspended(slowProvider));
+        assertSame(providers, guard.filter(providers));
+
+        assertTrue(guard.finish(slowProvider, slowStartTime(), 1, 100));
+        assertTrue(guard.isSuspended(slowProvider));
+        assertFalse(guard.isSuspended(fastProvider));
+        assertEquals(Collections.singletonList(fastProvider), guard.filter(providers));
+
+        // already suspended
+        assertFalse(guard.finish(slowProvider, slowStartTime(), 1, 100));
+    }
+
+    @Test
+    public void testConsecutiveOverruns() {
+        ProviderGuard guard = new ProviderGuard();
+        ColorCodesProvider provider = new HexCssColorCodesProvider();
+        for (int i = 0; i < ProviderGuard.MAX_OVERRUNS * 2; i++) {
+            assertFalse(guard.finish(provider, slowStartTime(), 1, 100));
+            // reset
+            assertFalse(guard.finish(provider, ProviderGuard.start(), 1, 100));
+        }
+        assertFalse(guard.isSuspended(provider));
+    }
+
+    @Test
+    public void testDisabled() {
+        ColorCodesPreviewOptions.getInstance().setProviderTimeBudget(0);
+        ProviderGuard guard = new ProviderGuard();
+        ColorCodesProvider provider = new HexCssColorCodesProvider();
+        for (int i = 0; i < ProviderGuard.MAX_OVERRUNS; i++) {
+            assertFalse(guard.finish(provider, slowStartTime(), 1, 100));
+        }
+        assertFalse(guard.isSuspended(provider));
+    }
+
+    @Test
+    public void testBatchBudget() {
+        ProviderGuard guard = new ProviderGuard();
+        ColorCodesProvider provider = new HexCssColorCodesProvider();
+        // the budget is not multiplied by the number of lines
+        for (int i = 0; i < ProviderGuard.MAX_OVERRUNS - 1; i++) {
+            assertFalse(guard.finish(provider, slowStartTime(), 1000, 40000));
+        }
+        assertTrue(guard.finish(provider, slowStartTime(), 1000, 40000));
+        assertTrue(guard.isSuspended(provider));
+    }
+
+    @Test
+    public void testLineBudget() {
+        ProviderGuard guard = new ProviderGuard();
+        ColorCodesProvider provider = new HexCssColorCodesProvider();
+        for (int i = 0; i < ProviderGuard.MAX_OVERRUNS; i++) {
+            // a few milliseconds per line
+            assertFalse(guard.finish(provider, startTime(80), 60, 6000));
+            // long lines are counted as several lines
+            assertFalse(guard.finish(provider, startTime(80), 1, ProviderGuard.LINE_LENGTH * 60));
+        }
+        assertFalse(guard.isSuspended(provider));
+        for (int i = 0; i < ProviderGuard.MAX_OVERRUNS; i++) {
+            guard.finish(provider, startTime(80), 2, ProviderGuard.LINE_LENGTH * 2);
+        }
+        assertTrue(guard.isSuspended(provider));
+    }
+
+    private static long slowStartTime() {
+        return startTime(1000);
+    }
+
+    private static long startTime(long elapsedMillis) {
+        return ProviderGuard.start() - TimeUnit.MILLISECONDS.toNanos(elapsedMillis);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author junichi11
+ */
+public class SwatchImageCacheTest {
+
+    public SwatchImageCacheTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testDraw() {
+        SwatchImageCache cache = new SwatchImageCache();
+        BufferedImage image = new BufferedImage(16, 40, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            LineColors.Builder red = new LineColors.Builder();
+            red.add(0, 7, Color.RED.getRGB());
+            cache.draw(g2d, red.build(), 16, 20, 0);
+            LineColors.Builder redAndBlue = new LineColors.Builder();
+            redAndBlue.add(8, 15, Color.BLUE.getRGB());
+            redAndBlue.add(0, 7, Color.RED.getRGB());
+            cache.draw(g2d, redAndBlue.build(), 16, 20, 20);
+        } finally {
+            g2d.dispose();
+        }
+        // one color
+        assertEquals(Color.GRAY.getRGB(), image.getRGB(2, 2));
+        assertEquals(Color.RED.getRGB(), image.getRGB(5, 10));
+        assertEquals(Color.RED.getRGB(), image.getRGB(12, 10));
+        assertEquals(0, image.getRGB(0, 10));
+        assertEquals(0, image.getRGB(15, 10));
+
+        // two colors
+        assertEquals(Color.RED.getRGB(), image.getRGB(5, 30));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(12, 30));
+    }
+
+}
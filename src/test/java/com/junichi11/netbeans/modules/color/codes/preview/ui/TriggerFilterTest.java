@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 junichi11.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.junichi11.netbeans.modules.color.codes.preview.ui;
+
+import com.junichi11.netbeans.modules.color.codes.preview.impl.HexCssColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.impl.JavaColorCodesProvider;
+import com.junichi11.netbeans.modules.color.codes.preview.options.ColorCodesPreviewOptions;
+import com.junichi11.netbeans.modules.color.codes.preview.spi.ColorCodesProvider;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.text.Document;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.netbeans.editor.BaseDocument;
+
+/**
+ *
+ * @author junichi11
+ */
+public class TriggerFilterTest {
+
+    public TriggerFilterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    @Before
+    public void setUp() {
+    }
+
+    @After
+    public void tearDown() {
+    }
+
+    @Test
+    public void testFilter() {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        List<ColorCodesProvider> providers = Arrays.asList(new HexCssColorCodesProvider(), new JavaColorCodesProvider());
+        TriggerFilter filter = TriggerFilter.create(providers, document);
+        assertEquals(0, filter.filter("a {", 0, 3));
+        long mask = filter.filter("  background: #fff;", 0, 19);
+        assertTrue(TriggerFilter.accepts(mask, 0));
+        assertFalse(TriggerFilter.accepts(mask, 1));
+        // case-insensitive
+        mask = filter.filter("  color: RGB(0, 0, 0);", 0, 22);
+        assertTrue(TriggerFilter.accepts(mask, 0));
+        mask = filter.filter("Color c = new Color(0, 0, 0);", 0, 29);
+        assertFalse(TriggerFilter.accepts(mask, 0));
+        assertTrue(TriggerFilter.accepts(mask, 1));
+        // range
+        mask = filter.filter("#fff hsl", 1, 7);
+        assertFalse(TriggerFilter.accepts(mask, 0));
+        mask = filter.filter("#fff hsl", 1, 8);
+        assertTrue(TriggerFilter.accepts(mask, 0));
+    }
+
+    @Test
+    public void testFilterNamedColors() {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        List<ColorCodesProvider> providers = Arrays.asList(new HexCssColorCodesProvider());
+        ColorCodesPreviewOptions options = ColorCodesPreviewOptions.getInstance();
+        boolean useNamedColors = options.useNamedColors();
+        try {
+            options.setNamedColors(false);
+            TriggerFilter filter = TriggerFilter.create(providers, document);
+            assertFalse(TriggerFilter.accepts(filter.filter("color: Red;", 0, 11), 0));
+            options.setNamedColors(true);
+            filter = TriggerFilter.create(providers, document);
+            assertTrue(TriggerFilter.accepts(filter.filter("color: Red;", 0, 11), 0));
+            assertFalse(TriggerFilter.accepts(filter.filter("width: 100%;", 0, 12), 0));
+        } finally {
+            options.setNamedColors(useNamedColors);
+        }
+    }
+
+    @Test
+    public void testFilterWithoutTriggers() {
+        BaseDocument document = new BaseDocument(false, "text/css");
+        ColorCodesProvider provider = new HexCssColorCodesProvider() {
+            @Override
+            public List<String> getTriggers(Document document) {
+                return Collections.emptyList();
+            }
+        };
+        TriggerFilter filter = TriggerFilter.create(Arrays.asList(new JavaColorCodesProvider(), provider), document);
+        long mask = filter.filter("a {", 0, 3);
+        assertFalse(TriggerFilter.accepts(mask, 0));
+        assertTrue(TriggerFilter.accepts(mask, 1));
+    }
+
+}